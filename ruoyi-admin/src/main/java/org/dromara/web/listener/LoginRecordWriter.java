@@ -0,0 +1,176 @@
+package org.dromara.web.listener;
+
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.batch.BatchBuffer;
+import org.dromara.common.core.domain.dto.UserOnlineDTO;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.core.utils.ip.AddressUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.satoken.utils.OnlineUserHelper;
+import org.dromara.common.tenant.helper.TenantHelper;
+import org.dromara.system.domain.SysUser;
+import org.dromara.web.service.SysLoginService;
+import org.redisson.api.RBatch;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 登录附带操作异步写入器
+ * <p>
+ * 登录线程只采集请求中的原始信息并入队, 后台线程按批完成
+ * User-Agent 解析与 IP 归属地查询, 再用一次 redis 批处理登记在线用户,
+ * 用一次 jdbc 批处理更新 sys_user 的 login_ip / login_date
+ * <p>
+ * 队列满时由登录线程直接处理 不丢失记录
+ * <p>
+ * 登记完成前注销的 token 由写入线程在登记后补充注销 避免残留在线记录
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@Component
+public class LoginRecordWriter {
+
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private static final int BATCH_SIZE = 200;
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(200);
+
+    private final SysLoginService loginService;
+
+    private final BatchBuffer<LoginRecord> buffer;
+
+    /**
+     * 已提交但尚未登记完成的 token 值为 true 表示期间已注销
+     */
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+
+    public LoginRecordWriter(SysLoginService loginService) {
+        this.loginService = loginService;
+        this.buffer = new BatchBuffer<>("login-record-writer", QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL,
+            BatchBuffer.OverflowPolicy.CALLER_RUNS, this::write);
+    }
+
+    /**
+     * 提交登录记录
+     *
+     * @param record 登录记录
+     */
+    public void submit(LoginRecord record) {
+        pending.put(record.tokenValue(), Boolean.FALSE);
+        buffer.offer(record);
+    }
+
+    /**
+     * 标记 token 已注销 尚在缓冲中的登记将被跳过 正在登记的由写入线程补充注销
+     *
+     * @param tokenValue token值
+     */
+    public void cancel(String tokenValue) {
+        pending.computeIfPresent(tokenValue, (k, v) -> Boolean.TRUE);
+    }
+
+    private void write(List<LoginRecord> records) {
+        List<LoginRecord> registered = new ArrayList<>(records.size());
+        try {
+            register(records, registered);
+        } finally {
+            // 登记期间注销的 token 此时在线信息已写入 需补充注销
+            for (LoginRecord record : records) {
+                Boolean cancelled = pending.remove(record.tokenValue());
+                if (Boolean.TRUE.equals(cancelled) && registered.contains(record)) {
+                    TenantHelper.dynamic(record.tenantId(), () -> {
+                        OnlineUserHelper.unregister(record.tokenValue());
+                    });
+                }
+            }
+        }
+    }
+
+    private void register(List<LoginRecord> records, List<LoginRecord> registered) {
+        // 同一批次内相同的 User-Agent 与 IP 只解析一次
+        Map<String, UserAgent> userAgents = new HashMap<>();
+        Map<String, String> locations = new HashMap<>();
+        List<SysUser> users = new ArrayList<>(records.size());
+        RBatch batch = RedisUtils.getClient().createBatch();
+        for (LoginRecord record : records) {
+            UserAgent userAgent = userAgents.computeIfAbsent(StringUtils.blankToDefault(record.userAgent(), StringUtils.EMPTY),
+                UserAgentUtil::parse);
+            UserOnlineDTO dto = new UserOnlineDTO();
+            dto.setIpaddr(record.ip());
+            dto.setLoginLocation(locations.computeIfAbsent(record.ip(), AddressUtils::getRealAddressByIP));
+            if (userAgent != null) {
+                dto.setBrowser(userAgent.getBrowser().getName());
+                dto.setOs(userAgent.getOs().getName());
+            }
+            dto.setLoginTime(record.loginTime());
+            dto.setTokenId(record.tokenValue());
+            dto.setUserName(record.userName());
+            dto.setClientKey(record.clientKey());
+            dto.setDeviceType(record.deviceType());
+            dto.setDeptName(record.deptName());
+            // 缓冲期间已注销的 token 不再登记
+            if (!Boolean.TRUE.equals(pending.get(record.tokenValue()))) {
+                // key 的租户前缀在加入批处理时确定
+                TenantHelper.dynamic(record.tenantId(), () -> {
+                    OnlineUserHelper.register(batch, dto, record.timeout());
+                });
+                registered.add(record);
+            }
+            if (record.userId() != null) {
+                SysUser user = new SysUser();
+                user.setUserId(record.userId());
+                user.setLoginIp(record.ip());
+                user.setLoginDate(new Date(record.loginTime()));
+                user.setUpdateBy(record.userId());
+                users.add(user);
+            }
+        }
+        try {
+            batch.execute();
+        } catch (Exception e) {
+            log.error("批量登记在线用户失败: {} 条", records.size(), e);
+        }
+        loginService.recordLoginInfo(users);
+    }
+
+    /**
+     * 停止时写完缓冲中的登录记录
+     */
+    @PreDestroy
+    public void destroy() {
+        buffer.close();
+    }
+
+    /**
+     * 登录记录 只包含登录线程上采集的原始信息
+     *
+     * @param tenantId   租户ID
+     * @param userId     用户ID
+     * @param userName   用户账号
+     * @param deptName   部门名称
+     * @param clientKey  客户端
+     * @param deviceType 设备类型
+     * @param tokenValue token值
+     * @param timeout    超时时间(秒) -1 为永不过期
+     * @param ip         登录IP
+     * @param userAgent  User-Agent 请求头
+     * @param loginTime  登录时间
+     */
+    public record LoginRecord(String tenantId, Long userId, String userName, String deptName,
+                              String clientKey, String deviceType, String tokenValue, long timeout,
+                              String ip, String userAgent, long loginTime) {
+    }
+
+}
@@ -4,26 +4,19 @@ import cn.dev33.satoken.listener.SaTokenListener;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.dev33.satoken.stp.parameter.SaLoginParameter;
 import cn.hutool.core.convert.Convert;
-import cn.hutool.http.useragent.UserAgent;
-import cn.hutool.http.useragent.UserAgentUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.dromara.common.core.constant.CacheConstants;
 import org.dromara.common.core.constant.Constants;
-import org.dromara.common.core.domain.dto.UserOnlineDTO;
 import org.dromara.common.core.utils.MessageUtils;
 import org.dromara.common.core.utils.ServletUtils;
 import org.dromara.common.core.utils.SpringUtils;
-import org.dromara.common.core.utils.ip.AddressUtils;
 import org.dromara.common.log.event.LogininforEvent;
-import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
+import org.dromara.common.satoken.utils.OnlineUserHelper;
 import org.dromara.common.tenant.helper.TenantHelper;
-import org.dromara.web.service.SysLoginService;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-
 /**
  * 用户行为 侦听器的实现
  *
@@ -34,45 +27,39 @@ import java.time.Duration;
 @Slf4j
 public class UserActionListener implements SaTokenListener {
 
-    private final SysLoginService loginService;
+    private final LoginRecordWriter loginRecordWriter;
 
     /**
      * 每次登录时触发
      */
     @Override
     public void doLogin(String loginType, Object loginId, String tokenValue, SaLoginParameter loginParameter) {
-        UserAgent userAgent = UserAgentUtil.parse(ServletUtils.getRequest().getHeader("User-Agent"));
+        HttpServletRequest request = ServletUtils.getRequest();
         String ip = ServletUtils.getClientIP();
-        UserOnlineDTO dto = new UserOnlineDTO();
-        dto.setIpaddr(ip);
-        dto.setLoginLocation(AddressUtils.getRealAddressByIP(ip));
-        dto.setBrowser(userAgent.getBrowser().getName());
-        dto.setOs(userAgent.getOs().getName());
-        dto.setLoginTime(System.currentTimeMillis());
-        dto.setTokenId(tokenValue);
         String username = (String) loginParameter.getExtra(LoginHelper.USER_NAME_KEY);
         String tenantId = (String) loginParameter.getExtra(LoginHelper.TENANT_KEY);
-        dto.setUserName(username);
-        dto.setClientKey((String) loginParameter.getExtra(LoginHelper.CLIENT_KEY));
-        dto.setDeviceType(loginParameter.getDeviceType());
-        dto.setDeptName((String) loginParameter.getExtra(LoginHelper.DEPT_NAME_KEY));
-        TenantHelper.dynamic(tenantId, () -> {
-            if(loginParameter.getTimeout() == -1) {
-                RedisUtils.setCacheObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue, dto);
-            } else {
-                RedisUtils.setCacheObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue, dto, Duration.ofSeconds(loginParameter.getTimeout()));
-            }
-        });
+        // 在线用户登记与登录信息更新 异步批量处理
+        loginRecordWriter.submit(new LoginRecordWriter.LoginRecord(
+            tenantId,
+            (Long) loginParameter.getExtra(LoginHelper.USER_KEY),
+            username,
+            (String) loginParameter.getExtra(LoginHelper.DEPT_NAME_KEY),
+            (String) loginParameter.getExtra(LoginHelper.CLIENT_KEY),
+            loginParameter.getDeviceType(),
+            tokenValue,
+            loginParameter.getTimeout(),
+            ip,
+            request.getHeader("User-Agent"),
+            System.currentTimeMillis()
+        ));
         // 记录登录日志
         LogininforEvent logininforEvent = new LogininforEvent();
         logininforEvent.setTenantId(tenantId);
         logininforEvent.setUsername(username);
         logininforEvent.setStatus(Constants.LOGIN_SUCCESS);
         logininforEvent.setMessage(MessageUtils.message("user.login.success"));
-        logininforEvent.setRequest(ServletUtils.getRequest());
+        logininforEvent.setRequest(request);
         SpringUtils.context().publishEvent(logininforEvent);
-        // 更新登录信息
-        loginService.recordLoginInfo((Long) loginParameter.getExtra(LoginHelper.USER_KEY), ip);
         log.info("user doLogin, userId:{}, token:{}", loginId, tokenValue);
     }
 
@@ -81,9 +68,10 @@ public class UserActionListener implements SaTokenListener {
      */
     @Override
     public void doLogout(String loginType, Object loginId, String tokenValue) {
+        loginRecordWriter.cancel(tokenValue);
         String tenantId = Convert.toStr(StpUtil.getExtra(tokenValue, LoginHelper.TENANT_KEY));
         TenantHelper.dynamic(tenantId, () -> {
-            RedisUtils.deleteObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+            OnlineUserHelper.unregister(tokenValue);
         });
         log.info("user doLogout, userId:{}, token:{}", loginId, tokenValue);
     }
@@ -93,9 +81,10 @@ public class UserActionListener implements SaTokenListener {
      */
     @Override
     public void doKickout(String loginType, Object loginId, String tokenValue) {
+        loginRecordWriter.cancel(tokenValue);
         String tenantId = Convert.toStr(StpUtil.getExtra(tokenValue, LoginHelper.TENANT_KEY));
         TenantHelper.dynamic(tenantId, () -> {
-            RedisUtils.deleteObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+            OnlineUserHelper.unregister(tokenValue);
         });
         log.info("user doKickout, userId:{}, token:{}", loginId, tokenValue);
     }
@@ -105,9 +94,10 @@ public class UserActionListener implements SaTokenListener {
      */
     @Override
     public void doReplaced(String loginType, Object loginId, String tokenValue) {
+        loginRecordWriter.cancel(tokenValue);
         String tenantId = Convert.toStr(StpUtil.getExtra(tokenValue, LoginHelper.TENANT_KEY));
         TenantHelper.dynamic(tenantId, () -> {
-            RedisUtils.deleteObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+            OnlineUserHelper.unregister(tokenValue);
         });
         log.info("user doReplaced, userId:{}, token:{}", loginId, tokenValue);
     }
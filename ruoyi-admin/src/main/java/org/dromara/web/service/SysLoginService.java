@@ -36,8 +36,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
@@ -172,17 +175,20 @@ public class SysLoginService {
     }
 
     /**
-     * 记录登录信息
+     * 批量记录登录信息 同一用户以最后一次登录为准
      *
-     * @param userId 用户ID
+     * @param users 用户ID、登录IP与登录时间
      */
-    public void recordLoginInfo(Long userId, String ip) {
-        SysUser sysUser = new SysUser();
-        sysUser.setUserId(userId);
-        sysUser.setLoginIp(ip);
-        sysUser.setLoginDate(DateUtils.getNowDate());
-        sysUser.setUpdateBy(userId);
-        DataPermissionHelper.ignore(() -> userMapper.updateById(sysUser));
+    public void recordLoginInfo(Collection<SysUser> users) {
+        if (CollUtil.isEmpty(users)) {
+            return;
+        }
+        Map<Long, SysUser> latest = new LinkedHashMap<>();
+        for (SysUser user : users) {
+            latest.put(user.getUserId(), user);
+        }
+        // 在后台线程执行 没有租户与登录上下文 按主键更新即可
+        TenantHelper.ignore(() -> DataPermissionHelper.ignore(() -> userMapper.updateBatchById(latest.values())));
     }
 
     /**
@@ -0,0 +1,185 @@
+package org.dromara.common.core.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 有界批量缓冲区
+ * <p>
+ * 生产者只把数据放入有界队列, 由单独的后台线程按数量或时间触发批量处理,
+ * 队列满时按 {@link OverflowPolicy} 处理, 关闭时处理完缓冲中的数据
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class BatchBuffer<T> implements AutoCloseable {
+
+    private final String name;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final Consumer<List<T>> handler;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final BlockingQueue<T> queue;
+
+    private final Thread worker;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name           名称 用于线程名与日志
+     * @param capacity       队列容量
+     * @param batchSize      每批最大条数
+     * @param flushInterval  从一批的第一条开始最长等待时间
+     * @param overflowPolicy 队列满时的处理策略
+     * @param handler        批量处理逻辑
+     */
+    public BatchBuffer(String name, int capacity, int batchSize, Duration flushInterval,
+                       OverflowPolicy overflowPolicy, Consumer<List<T>> handler) {
+        this.name = name;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = Math.max(1L, flushInterval.toNanos());
+        this.overflowPolicy = overflowPolicy;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.batchSize, capacity));
+        this.worker = new Thread(this::flushLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 提交数据 不阻塞
+     *
+     * @param item 数据
+     * @return false 表示队列已满且数据被丢弃
+     */
+    public boolean offer(T item) {
+        if (running && queue.offer(item)) {
+            return true;
+        }
+        if (!running || overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            // 已关闭或按策略由调用线程直接处理 保证数据不丢失
+            flush(Collections.singletonList(item));
+            return true;
+        }
+        long count = dropped.incrementAndGet();
+        // 避免日志刷屏 只在 1, 2, 4, 8 ... 条时输出
+        if (Long.bitCount(count) == 1) {
+            log.warn("[{}] 缓冲队列已满, 累计丢弃 {} 条", name, count);
+        }
+        return false;
+    }
+
+    /**
+     * 累计丢弃条数
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 当前排队条数
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private void flushLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 从第一条开始计时 攒满一批或等到超时即处理
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void flush(List<T> batch) {
+        try {
+            handler.accept(batch);
+        } catch (Exception e) {
+            log.error("[{}] 批量处理失败: {} 条", name, batch.size(), e);
+        }
+    }
+
+    /**
+     * 停止后台线程并处理完缓冲中的数据
+     */
+    @Override
+    public void close() {
+        // 后台线程最长等待一个刷新间隔就会发现已停止 不中断以免打断进行中的写入
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<T> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            flush(rest.subList(i, Math.min(i + batchSize, rest.size())));
+        }
+        long count = dropped.get();
+        if (count > 0) {
+            log.warn("[{}] 已关闭, 运行期间因队列已满累计丢弃 {} 条", name, count);
+        }
+    }
+
+    /**
+     * 队列满时的处理策略
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * 丢弃并计数
+         */
+        DROP,
+
+        /**
+         * 由调用线程直接处理
+         */
+        CALLER_RUNS
+
+    }
+
+}
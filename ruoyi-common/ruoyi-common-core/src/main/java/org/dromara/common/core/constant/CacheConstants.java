@@ -12,6 +12,11 @@ public interface CacheConstants {
      */
     String ONLINE_TOKEN_KEY = "online_tokens:";
 
+    /**
+     * 在线用户索引 redis key (有序集合 score 为过期时间)
+     */
+    String ONLINE_TOKEN_INDEX_KEY = "online_token_index:";
+
     /**
      * 参数管理 cache key
      */
@@ -27,4 +32,9 @@ public interface CacheConstants {
      */
     String PWD_ERR_CNT_KEY = "pwd_err_cnt:";
 
+    /**
+     * OSS 分片上传会话 redis key
+     */
+    String SYS_OSS_MULTIPART_KEY = "sys_oss_multipart:";
+
 }
@@ -1,7 +1,9 @@
 package org.dromara.common.encrypt.config;
 
 import jakarta.servlet.DispatcherType;
+import lombok.RequiredArgsConstructor;
 import org.dromara.common.encrypt.filter.CryptoFilter;
+import org.dromara.common.encrypt.interceptor.ApiEncryptInterceptor;
 import org.dromara.common.encrypt.properties.ApiDecryptProperties;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,6 +11,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.web.servlet.FilterRegistration;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * api 解密自动配置
@@ -18,7 +23,10 @@ import org.springframework.context.annotation.Bean;
 @AutoConfiguration
 @EnableConfigurationProperties(ApiDecryptProperties.class)
 @ConditionalOnProperty(value = "api-decrypt.enabled", havingValue = "true")
-public class ApiDecryptAutoConfiguration {
+@RequiredArgsConstructor
+public class ApiDecryptAutoConfiguration implements WebMvcConfigurer {
+
+    private final ApiDecryptProperties properties;
 
     @Bean
     @FilterRegistration(
@@ -31,4 +39,12 @@ public class ApiDecryptAutoConfiguration {
         return new CryptoFilter(properties);
     }
 
+    /**
+     * 接口加密拦截器 需要先于登录校验等拦截器执行
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ApiEncryptInterceptor(properties)).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
 }
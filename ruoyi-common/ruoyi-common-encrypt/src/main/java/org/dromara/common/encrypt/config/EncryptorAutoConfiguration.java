@@ -30,7 +30,7 @@ public class EncryptorAutoConfiguration {
 
     @Bean
     public EncryptorManager encryptorManager(MybatisPlusProperties mybatisPlusProperties) {
-        return new EncryptorManager(mybatisPlusProperties.getTypeAliasesPackage());
+        return new EncryptorManager(mybatisPlusProperties.getTypeAliasesPackage(), properties);
     }
 
     @Bean
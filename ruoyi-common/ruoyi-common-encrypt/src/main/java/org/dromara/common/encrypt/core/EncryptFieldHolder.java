@@ -0,0 +1,14 @@
+package org.dromara.common.encrypt.core;
+
+import java.lang.reflect.Field;
+
+/**
+ * 加密字段 字段与按注解和默认配置解析好的加密器
+ *
+ * @param field     加密字段
+ * @param context   加密相关的配置信息
+ * @param encryptor 加密执行者
+ * @author Lion Li
+ */
+public record EncryptFieldHolder(Field field, EncryptContext context, IEncryptor encryptor) {
+}
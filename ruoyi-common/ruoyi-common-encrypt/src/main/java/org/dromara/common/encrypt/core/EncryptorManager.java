@@ -9,6 +9,9 @@ import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.utils.ObjectUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.encrypt.annotation.EncryptField;
+import org.dromara.common.encrypt.enumd.AlgorithmType;
+import org.dromara.common.encrypt.enumd.EncodeType;
+import org.dromara.common.encrypt.properties.EncryptorProperties;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -18,8 +21,10 @@ import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -36,15 +41,25 @@ import java.util.stream.Collectors;
 public class EncryptorManager {
 
     /**
-     * 缓存加密器
+     * 缓存加密器 以加密配置为key
      */
-    Map<Integer, IEncryptor> encryptorMap = new ConcurrentHashMap<>();
+    Map<EncryptContext, IEncryptor> encryptorMap = new ConcurrentHashMap<>();
 
     /**
      * 类加密字段缓存
      */
     Map<Class<?>, Set<Field>> fieldCache = new ConcurrentHashMap<>();
 
+    /**
+     * 类加密字段与加密器缓存
+     */
+    Map<Class<?>, List<EncryptFieldHolder>> fieldHolderCache = new ConcurrentHashMap<>();
+
+    /**
+     * 默认加密配置
+     */
+    private EncryptorProperties defaultProperties = new EncryptorProperties();
+
     /**
      * 构造方法传入类加密字段缓存
      *
@@ -54,6 +69,17 @@ public class EncryptorManager {
         scanEncryptClasses(typeAliasesPackage);
     }
 
+    /**
+     * 构造方法传入类加密字段缓存与默认加密配置
+     *
+     * @param typeAliasesPackage 实体类包
+     * @param defaultProperties  默认加密配置
+     */
+    public EncryptorManager(String typeAliasesPackage, EncryptorProperties defaultProperties) {
+        this(typeAliasesPackage);
+        this.defaultProperties = defaultProperties;
+    }
+
 
     /**
      * 获取类加密字段缓存
@@ -62,19 +88,50 @@ public class EncryptorManager {
         return ObjectUtils.notNullGetter(fieldCache, f -> f.get(sourceClazz));
     }
 
+    /**
+     * 获取类加密字段与对应的加密器 每个类只按注解解析一次
+     *
+     * @param sourceClazz 实体类
+     * @return 加密字段 不是加密实体时返回 null
+     */
+    public List<EncryptFieldHolder> getFieldHolders(Class<?> sourceClazz) {
+        if (!fieldCache.containsKey(sourceClazz)) {
+            return null;
+        }
+        return fieldHolderCache.computeIfAbsent(sourceClazz, clazz -> {
+            List<EncryptFieldHolder> holders = new ArrayList<>();
+            for (Field field : fieldCache.get(clazz)) {
+                EncryptContext encryptContext = buildContext(field.getAnnotation(EncryptField.class));
+                holders.add(new EncryptFieldHolder(field, encryptContext, registAndGetEncryptor(encryptContext)));
+            }
+            return List.copyOf(holders);
+        });
+    }
+
+    /**
+     * 按字段注解与默认配置生成加密配置
+     *
+     * @param encryptField 字段加密注解
+     * @return 加密相关的配置信息
+     */
+    public EncryptContext buildContext(EncryptField encryptField) {
+        EncryptContext encryptContext = new EncryptContext();
+        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaultProperties.getAlgorithm() : encryptField.algorithm());
+        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaultProperties.getEncode() : encryptField.encode());
+        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaultProperties.getPassword() : encryptField.password());
+        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaultProperties.getPrivateKey() : encryptField.privateKey());
+        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaultProperties.getPublicKey() : encryptField.publicKey());
+        return encryptContext;
+    }
+
     /**
      * 注册加密执行者到缓存
      *
      * @param encryptContext 加密执行者需要的相关配置参数
      */
     public IEncryptor registAndGetEncryptor(EncryptContext encryptContext) {
-        int key = encryptContext.hashCode();
-        if (encryptorMap.containsKey(key)) {
-            return encryptorMap.get(key);
-        }
-        IEncryptor encryptor = ReflectUtil.newInstance(encryptContext.getAlgorithm().getClazz(), encryptContext);
-        encryptorMap.put(key, encryptor);
-        return encryptor;
+        return encryptorMap.computeIfAbsent(encryptContext,
+            context -> ReflectUtil.newInstance(context.getAlgorithm().getClazz(), context));
     }
 
     /**
@@ -83,7 +140,8 @@ public class EncryptorManager {
      * @param encryptContext 加密执行者需要的相关配置参数
      */
     public void removeEncryptor(EncryptContext encryptContext) {
-        this.encryptorMap.remove(encryptContext.hashCode());
+        this.encryptorMap.remove(encryptContext);
+        this.fieldHolderCache.clear();
     }
 
     /**
@@ -101,6 +159,19 @@ public class EncryptorManager {
         return Constants.ENCRYPT_HEADER + encrypt;
     }
 
+    /**
+     * 使用字段已解析的加密器进行加密
+     *
+     * @param value  待加密的值
+     * @param holder 加密字段
+     */
+    public String encrypt(String value, EncryptFieldHolder holder) {
+        if (StringUtils.startsWith(value, Constants.ENCRYPT_HEADER)) {
+            return value;
+        }
+        return Constants.ENCRYPT_HEADER + holder.encryptor().encrypt(value, holder.context().getEncode());
+    }
+
     /**
      * 根据配置进行解密
      *
@@ -116,6 +187,19 @@ public class EncryptorManager {
         return encryptor.decrypt(str);
     }
 
+    /**
+     * 使用字段已解析的加密器进行解密
+     *
+     * @param value  待解密的值
+     * @param holder 加密字段
+     */
+    public String decrypt(String value, EncryptFieldHolder holder) {
+        if (!StringUtils.startsWith(value, Constants.ENCRYPT_HEADER)) {
+            return value;
+        }
+        return holder.encryptor().decrypt(value.substring(Constants.ENCRYPT_HEADER.length()));
+    }
+
     /**
      * 通过 typeAliasesPackage 设置的扫描包 扫描缓存实体
      */
@@ -1,23 +1,38 @@
 package org.dromara.common.encrypt.core.encryptor;
 
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.symmetric.SymmetricCrypto;
+import cn.hutool.crypto.SmUtil;
 import org.dromara.common.encrypt.core.EncryptContext;
 import org.dromara.common.encrypt.enumd.AlgorithmType;
 import org.dromara.common.encrypt.enumd.EncodeType;
-import org.dromara.common.encrypt.utils.EncryptUtils;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * sm4算法实现
+ * <p>
+ * 秘钥在创建时校验一次, 加解密器按线程复用, 避免每个字段值都重新初始化 Cipher
  *
  * @author 老马
  * @version 4.6.0
  */
 public class Sm4Encryptor extends AbstractEncryptor {
 
-    private final EncryptContext context;
+    private final ThreadLocal<SymmetricCrypto> crypto;
 
     public Sm4Encryptor(EncryptContext context) {
         super(context);
-        this.context = context;
+        String password = context.getPassword();
+        if (StrUtil.isBlank(password)) {
+            throw new IllegalArgumentException("SM4需要传入秘钥信息");
+        }
+        // sm4算法的秘钥要求是16位长度
+        if (password.length() != 16) {
+            throw new IllegalArgumentException("SM4秘钥长度要求为16位");
+        }
+        byte[] key = password.getBytes(StandardCharsets.UTF_8);
+        this.crypto = ThreadLocal.withInitial(() -> SmUtil.sm4(key));
     }
 
     /**
@@ -37,9 +52,9 @@ public class Sm4Encryptor extends AbstractEncryptor {
     @Override
     public String encrypt(String value, EncodeType encodeType) {
         if (encodeType == EncodeType.HEX) {
-            return EncryptUtils.encryptBySm4Hex(value, context.getPassword());
+            return crypto.get().encryptHex(value, StandardCharsets.UTF_8);
         } else {
-            return EncryptUtils.encryptBySm4(value, context.getPassword());
+            return crypto.get().encryptBase64(value, StandardCharsets.UTF_8);
         }
     }
 
@@ -50,6 +65,6 @@ public class Sm4Encryptor extends AbstractEncryptor {
      */
     @Override
     public String decrypt(String value) {
-        return EncryptUtils.decryptBySm4(value, context.getPassword());
+        return crypto.get().decryptStr(value, StandardCharsets.UTF_8);
     }
 }
@@ -4,23 +4,19 @@ import cn.hutool.core.util.ObjectUtil;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.dromara.common.core.constant.HttpStatus;
-import org.dromara.common.core.exception.ServiceException;
-import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StringUtils;
-import org.dromara.common.encrypt.annotation.ApiEncrypt;
+import org.dromara.common.encrypt.interceptor.ApiEncryptInterceptor;
 import org.dromara.common.encrypt.properties.ApiDecryptProperties;
 import org.springframework.http.HttpMethod;
-import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.servlet.HandlerExceptionResolver;
-import org.springframework.web.servlet.HandlerExecutionChain;
-import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import java.io.IOException;
 
 
 /**
  * Crypto 过滤器
+ * <p>
+ * 负责请求解密与响应加密的写出, 接口是否强制加密由 {@link ApiEncryptInterceptor}
+ * 在 DispatcherServlet 匹配到处理方法后判断, 避免在过滤器中重复查找处理方法
  *
  * @author wdhcr
  */
@@ -35,12 +31,7 @@ public class CryptoFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         HttpServletRequest servletRequest = (HttpServletRequest) request;
         HttpServletResponse servletResponse = (HttpServletResponse) response;
-        // 获取加密注解
-        ApiEncrypt apiEncrypt = this.getApiEncryptAnnotation(servletRequest);
-        boolean responseFlag = apiEncrypt != null && apiEncrypt.response();
         ServletRequest requestWrapper = null;
-        ServletResponse responseWrapper = null;
-        EncryptResponseBodyWrapper responseBodyWrapper = null;
 
         // 是否为 put 或者 post 请求
         if (HttpMethod.PUT.matches(servletRequest.getMethod()) || HttpMethod.POST.matches(servletRequest.getMethod())) {
@@ -49,59 +40,20 @@ public class CryptoFilter implements Filter {
             if (StringUtils.isNotBlank(headerValue)) {
                 // 请求解密
                 requestWrapper = new DecryptRequestBodyWrapper(servletRequest, properties.getPrivateKey(), properties.getHeaderFlag());
-            } else {
-                // 是否有注解，有就报错，没有放行
-                if (ObjectUtil.isNotNull(apiEncrypt)) {
-                    HandlerExceptionResolver exceptionResolver = SpringUtils.getBean("handlerExceptionResolver", HandlerExceptionResolver.class);
-                    exceptionResolver.resolveException(
-                        servletRequest, servletResponse, null,
-                        new ServiceException("没有访问权限，请联系管理员授权", HttpStatus.FORBIDDEN));
-                    return;
-                }
             }
         }
 
-        // 判断是否响应加密
-        if (responseFlag) {
-            responseBodyWrapper = new EncryptResponseBodyWrapper(servletResponse);
-            responseWrapper = responseBodyWrapper;
-        }
+        // 未开启加密时直接写出原始响应
+        EncryptResponseBodyWrapper responseBodyWrapper = new EncryptResponseBodyWrapper(servletResponse);
 
-        chain.doFilter(
-            ObjectUtil.defaultIfNull(requestWrapper, request),
-            ObjectUtil.defaultIfNull(responseWrapper, response));
+        chain.doFilter(ObjectUtil.defaultIfNull(requestWrapper, request), responseBodyWrapper);
 
-        if (responseFlag) {
+        // 判断是否响应加密
+        if (responseBodyWrapper.isEncrypt()) {
             servletResponse.reset();
-            // 对原始内容加密
-            String encryptContent = responseBodyWrapper.getEncryptContent(
-                servletResponse, properties.getPublicKey(), properties.getHeaderFlag());
             // 对加密后的内容写出
-            servletResponse.getWriter().write(encryptContent);
-        }
-    }
-
-    /**
-     * 获取 ApiEncrypt 注解
-     */
-    private ApiEncrypt getApiEncryptAnnotation(HttpServletRequest servletRequest) {
-        RequestMappingHandlerMapping handlerMapping = SpringUtils.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
-        // 获取注解
-        try {
-            HandlerExecutionChain mappingHandler = handlerMapping.getHandler(servletRequest);
-            if (ObjectUtil.isNotNull(mappingHandler)) {
-                Object handler = mappingHandler.getHandler();
-                if (ObjectUtil.isNotNull(handler)) {
-                    // 从handler获取注解
-                    if (handler instanceof HandlerMethod handlerMethod) {
-                        return handlerMethod.getMethodAnnotation(ApiEncrypt.class);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            return null;
+            responseBodyWrapper.writeEncryptContent(servletResponse, properties.getPublicKey(), properties.getHeaderFlag());
         }
-        return null;
     }
 
     @Override
@@ -7,69 +7,147 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 import org.dromara.common.encrypt.utils.EncryptUtils;
 
+import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * 加密响应参数包装类
+ * <p>
+ * 默认直接写出原始响应, 调用 {@link #enableEncrypt()} 后写出的内容边写边做 AES 加密与 Base64 编码,
+ * 密文写入复用的缓冲区, 请求结束后由 {@link #writeEncryptContent} 写出
  *
  * @author Michelle.Chung
  */
 public class EncryptResponseBodyWrapper extends HttpServletResponseWrapper {
 
-    private final ByteArrayOutputStream byteArrayOutputStream;
-    private final ServletOutputStream servletOutputStream;
-    private final PrintWriter printWriter;
+    /**
+     * 复用的密文缓冲区个数
+     */
+    private static final int BUFFER_POOL_SIZE = 32;
+
+    /**
+     * 超过该大小的缓冲区用完后不再复用 避免长期占用内存
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
 
-    public EncryptResponseBodyWrapper(HttpServletResponse response) throws IOException {
+    private static final BlockingQueue<ByteArrayOutputStream> BUFFER_POOL = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+
+    private boolean encrypt;
+    private String aesPassword;
+    private ByteArrayOutputStream buffer;
+    private OutputStream cipherOutputStream;
+    private ServletOutputStream servletOutputStream;
+    private PrintWriter printWriter;
+
+    public EncryptResponseBodyWrapper(HttpServletResponse response) {
         super(response);
-        this.byteArrayOutputStream = new ByteArrayOutputStream();
-        this.servletOutputStream = this.getOutputStream();
-        this.printWriter = new PrintWriter(new OutputStreamWriter(byteArrayOutputStream));
     }
 
-    @Override
-    public PrintWriter getWriter() {
-        return printWriter;
+    /**
+     * 开启响应加密 需要在写出响应内容前调用
+     */
+    public void enableEncrypt() {
+        if (encrypt) {
+            return;
+        }
+        encrypt = true;
+        // 生成秘钥
+        aesPassword = RandomUtil.randomString(32);
+        buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = new ByteArrayOutputStream();
+        }
+        initCipherStream();
     }
 
-    @Override
-    public void flushBuffer() throws IOException {
-        if (servletOutputStream != null) {
-            servletOutputStream.flush();
-        }
-        if (printWriter != null) {
-            printWriter.flush();
+    public boolean isEncrypt() {
+        return encrypt;
+    }
+
+    private void initCipherStream() {
+        buffer.reset();
+        Cipher cipher;
+        try {
+            cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(aesPassword.getBytes(StandardCharsets.UTF_8), "AES"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES加密初始化失败", e);
         }
+        // 原始内容 -> AES -> Base64 -> 缓冲区
+        cipherOutputStream = new CipherOutputStream(Base64.getEncoder().wrap(buffer), cipher);
+        servletOutputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return false;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                cipherOutputStream.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                cipherOutputStream.write(b, off, len);
+            }
+        };
+        printWriter = new PrintWriter(new OutputStreamWriter(cipherOutputStream, StandardCharsets.UTF_8));
     }
 
     @Override
-    public void reset() {
-        byteArrayOutputStream.reset();
+    public ServletOutputStream getOutputStream() throws IOException {
+        return encrypt ? servletOutputStream : super.getOutputStream();
     }
 
-    public byte[] getResponseData() throws IOException {
-        flushBuffer();
-        return byteArrayOutputStream.toByteArray();
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        return encrypt ? printWriter : super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (!encrypt) {
+            super.flushBuffer();
+            return;
+        }
+        // 密文在请求结束后统一写出 这里只把字符写入加密流
+        printWriter.flush();
     }
 
-    public String getContent() throws IOException {
-        flushBuffer();
-        return byteArrayOutputStream.toString();
+    @Override
+    public void reset() {
+        if (!encrypt) {
+            super.reset();
+            return;
+        }
+        initCipherStream();
     }
 
     /**
-     * 获取加密内容
+     * 写出加密内容
      *
      * @param servletResponse response
      * @param publicKey       RSA公钥 (用于加密 AES 秘钥)
      * @param headerFlag      请求头标志
-     * @return 加密内容
      * @throws IOException
      */
-    public String getEncryptContent(HttpServletResponse servletResponse, String publicKey, String headerFlag) throws IOException {
-        // 生成秘钥
-        String aesPassword = RandomUtil.randomString(32);
+    public void writeEncryptContent(HttpServletResponse servletResponse, String publicKey, String headerFlag) throws IOException {
+        // 结束加密 写入最后的分组与 Base64 填充
+        printWriter.flush();
+        cipherOutputStream.close();
+
         // 秘钥使用 Base64 编码
         String encryptAes = EncryptUtils.encryptByBase64(aesPassword);
         // Rsa 公钥加密 Base64 编码
@@ -83,41 +161,16 @@ public class EncryptResponseBodyWrapper extends HttpServletResponseWrapper {
         servletResponse.setHeader(headerFlag, encryptPassword);
         servletResponse.setCharacterEncoding(StandardCharsets.UTF_8.toString());
 
-
-        // 获取原始内容
-        String originalBody = this.getContent();
-        // 对内容进行加密
-        return EncryptUtils.encryptByAes(originalBody, aesPassword);
-    }
-
-    @Override
-    public ServletOutputStream getOutputStream() throws IOException {
-        return new ServletOutputStream() {
-            @Override
-            public boolean isReady() {
-                return false;
+        try {
+            // Base64 内容为 ASCII 直接写出字节
+            buffer.writeTo(servletResponse.getOutputStream());
+        } finally {
+            if (buffer.size() <= MAX_POOLED_BUFFER_SIZE) {
+                buffer.reset();
+                BUFFER_POOL.offer(buffer);
             }
-
-            @Override
-            public void setWriteListener(WriteListener writeListener) {
-
-            }
-
-            @Override
-            public void write(int b) throws IOException {
-                byteArrayOutputStream.write(b);
-            }
-
-            @Override
-            public void write(byte[] b) throws IOException {
-                byteArrayOutputStream.write(b);
-            }
-
-            @Override
-            public void write(byte[] b, int off, int len) throws IOException {
-                byteArrayOutputStream.write(b, off, len);
-            }
-        };
+            buffer = null;
+        }
     }
 
 }
@@ -0,0 +1,68 @@
+package org.dromara.common.encrypt.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.dromara.common.core.constant.HttpStatus;
+import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.encrypt.annotation.ApiEncrypt;
+import org.dromara.common.encrypt.filter.EncryptResponseBodyWrapper;
+import org.dromara.common.encrypt.properties.ApiDecryptProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 接口加密拦截器
+ * <p>
+ * 使用 DispatcherServlet 已匹配的处理方法判断 {@link ApiEncrypt} 注解, 注解按方法缓存;
+ * 强制加密的接口拒绝未加密的 put 或 post 请求, 需要响应加密时开启 {@link EncryptResponseBodyWrapper} 的加密
+ *
+ * @author wdhcr
+ */
+@RequiredArgsConstructor
+public class ApiEncryptInterceptor implements HandlerInterceptor {
+
+    /**
+     * 处理方法 -> 加密注解
+     */
+    private static final Map<Method, Optional<ApiEncrypt>> API_ENCRYPT_CACHE = new ConcurrentHashMap<>();
+
+    private final ApiDecryptProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        // 未经过 CryptoFilter 的请求不处理
+        EncryptResponseBodyWrapper responseBodyWrapper = WebUtils.getNativeResponse(response, EncryptResponseBodyWrapper.class);
+        if (responseBodyWrapper == null) {
+            return true;
+        }
+        ApiEncrypt apiEncrypt = API_ENCRYPT_CACHE.computeIfAbsent(handlerMethod.getMethod(),
+            method -> Optional.ofNullable(handlerMethod.getMethodAnnotation(ApiEncrypt.class))).orElse(null);
+        if (apiEncrypt == null) {
+            return true;
+        }
+        // put 或者 post 请求没有加密标头 则拒绝访问
+        if (HttpMethod.PUT.matches(request.getMethod()) || HttpMethod.POST.matches(request.getMethod())) {
+            if (StringUtils.isBlank(request.getHeader(properties.getHeaderFlag()))) {
+                throw new ServiceException("没有访问权限，请联系管理员授权", HttpStatus.FORBIDDEN);
+            }
+        }
+        // 判断是否响应加密
+        if (apiEncrypt.response()) {
+            responseBodyWrapper.enableEncrypt();
+        }
+        return true;
+    }
+
+}
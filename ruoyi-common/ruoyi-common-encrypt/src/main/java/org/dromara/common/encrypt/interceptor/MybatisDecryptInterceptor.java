@@ -8,17 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.plugin.*;
-import org.dromara.common.core.utils.StringUtils;
-import org.dromara.common.encrypt.annotation.EncryptField;
-import org.dromara.common.encrypt.core.EncryptContext;
+import org.dromara.common.encrypt.core.EncryptFieldHolder;
 import org.dromara.common.encrypt.core.EncryptorManager;
-import org.dromara.common.encrypt.enumd.AlgorithmType;
-import org.dromara.common.encrypt.enumd.EncodeType;
 import org.dromara.common.encrypt.properties.EncryptorProperties;
 
 import java.lang.reflect.Field;
 import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 出参解密拦截器
@@ -38,13 +35,18 @@ public class MybatisDecryptInterceptor implements Interceptor {
     private final EncryptorManager encryptorManager;
     private final EncryptorProperties defaultProperties;
 
+    /**
+     * 结果集处理器类 -> parameterHandler 字段
+     */
+    private static final Map<Class<?>, Optional<Field>> PARAMETER_HANDLER_FIELDS = new ConcurrentHashMap<>();
+
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         // 开始进行参数解密
         ResultSetHandler resultSetHandler = (ResultSetHandler) invocation.getTarget();
-        Field parameterHandlerField = resultSetHandler.getClass().getDeclaredField("parameterHandler");
-        parameterHandlerField.setAccessible(true);
-        Object target = parameterHandlerField.get(resultSetHandler);
+        Field parameterHandlerField = PARAMETER_HANDLER_FIELDS.computeIfAbsent(resultSetHandler.getClass(),
+            MybatisDecryptInterceptor::findParameterHandlerField).orElse(null);
+        Object target = parameterHandlerField == null ? null : parameterHandlerField.get(resultSetHandler);
         if (target instanceof ParameterHandler parameterHandler) {
             Object parameterObject = parameterHandler.getParameterObject();
             if (ObjectUtil.isNotNull(parameterObject) && !(parameterObject instanceof String)) {
@@ -60,6 +62,16 @@ public class MybatisDecryptInterceptor implements Interceptor {
         return result;
     }
 
+    private static Optional<Field> findParameterHandlerField(Class<?> clazz) {
+        try {
+            Field field = clazz.getDeclaredField("parameterHandler");
+            field.setAccessible(true);
+            return Optional.of(field);
+        } catch (NoSuchFieldException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * 解密对象
      *
@@ -70,7 +82,10 @@ public class MybatisDecryptInterceptor implements Interceptor {
             return;
         }
         if (sourceObject instanceof Map<?, ?> map) {
-            new HashSet<>(map.values()).forEach(this::decryptHandler);
+            // 同一对象可能以多个参数名出现 按对象去重
+            Set<Object> values = Collections.newSetFromMap(new IdentityHashMap<>());
+            values.addAll(map.values());
+            values.forEach(this::decryptHandler);
             return;
         }
         if (sourceObject instanceof List<?> list) {
@@ -82,44 +97,34 @@ public class MybatisDecryptInterceptor implements Interceptor {
             if (ObjectUtil.isNull(firstItem) || CollUtil.isEmpty(encryptorManager.getFieldCache(firstItem.getClass()))) {
                 return;
             }
-            list.forEach(this::decryptHandler);
-            return;
-        }
-        // 不在缓存中的类,就是没有加密注解的类(当然也有可能是typeAliasesPackage写错)
-        Set<Field> fields = encryptorManager.getFieldCache(sourceObject.getClass());
-        if(ObjectUtil.isNull(fields)){
+            int parallelThreshold = defaultProperties.getParallelThreshold();
+            if (parallelThreshold > 0 && list.size() >= parallelThreshold) {
+                // 解密不依赖线程上下文 大结果集并行处理
+                list.parallelStream().forEach(this::decryptHandler);
+            } else {
+                list.forEach(this::decryptHandler);
+            }
             return;
         }
         try {
-            for (Field field : fields) {
-                field.set(sourceObject, this.decryptField(Convert.toStr(field.get(sourceObject)), field));
+            // 不在缓存中的类,就是没有加密注解的类(当然也有可能是typeAliasesPackage写错)
+            // 加密器在此创建 密钥配置错误时与字段处理异常一样记录日志 不中断查询
+            List<EncryptFieldHolder> holders = encryptorManager.getFieldHolders(sourceObject.getClass());
+            if (ObjectUtil.isNull(holders)) {
+                return;
+            }
+            for (EncryptFieldHolder holder : holders) {
+                Field field = holder.field();
+                Object value = field.get(sourceObject);
+                if (value != null) {
+                    field.set(sourceObject, encryptorManager.decrypt(Convert.toStr(value), holder));
+                }
             }
         } catch (Exception e) {
             log.error("处理解密字段时出错", e);
         }
     }
 
-    /**
-     * 字段值进行加密。通过字段的批注注册新的加密算法
-     *
-     * @param value 待加密的值
-     * @param field 待加密字段
-     * @return 加密后结果
-     */
-    private String decryptField(String value, Field field) {
-        if (ObjectUtil.isNull(value)) {
-            return null;
-        }
-        EncryptField encryptField = field.getAnnotation(EncryptField.class);
-        EncryptContext encryptContext = new EncryptContext();
-        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaultProperties.getAlgorithm() : encryptField.algorithm());
-        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaultProperties.getEncode() : encryptField.encode());
-        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaultProperties.getPassword() : encryptField.password());
-        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaultProperties.getPrivateKey() : encryptField.privateKey());
-        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaultProperties.getPublicKey() : encryptField.publicKey());
-        return this.encryptorManager.decrypt(value, encryptContext);
-    }
-
     @Override
     public Object plugin(Object target) {
         return Plugin.wrap(target, this);
@@ -10,12 +10,8 @@ import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
-import org.dromara.common.core.utils.StringUtils;
-import org.dromara.common.encrypt.annotation.EncryptField;
-import org.dromara.common.encrypt.core.EncryptContext;
+import org.dromara.common.encrypt.core.EncryptFieldHolder;
 import org.dromara.common.encrypt.core.EncryptorManager;
-import org.dromara.common.encrypt.enumd.AlgorithmType;
-import org.dromara.common.encrypt.enumd.EncodeType;
 import org.dromara.common.encrypt.properties.EncryptorProperties;
 
 import java.lang.reflect.Field;
@@ -67,7 +63,10 @@ public class MybatisEncryptInterceptor implements Interceptor {
             return;
         }
         if (sourceObject instanceof Map<?, ?> map) {
-            new HashSet<>(map.values()).forEach(this::encryptHandler);
+            // 同一对象可能以多个参数名出现 按对象去重
+            Set<Object> values = Collections.newSetFromMap(new IdentityHashMap<>());
+            values.addAll(map.values());
+            values.forEach(this::encryptHandler);
             return;
         }
         if (sourceObject instanceof List<?> list) {
@@ -82,42 +81,25 @@ public class MybatisEncryptInterceptor implements Interceptor {
             list.forEach(this::encryptHandler);
             return;
         }
-        // 不在缓存中的类,就是没有加密注解的类(当然也有可能是typeAliasesPackage写错)
-        Set<Field> fields = encryptorManager.getFieldCache(sourceObject.getClass());
-        if(ObjectUtil.isNull(fields)){
-            return;
-        }
         try {
-            for (Field field : fields) {
-                field.set(sourceObject, this.encryptField(Convert.toStr(field.get(sourceObject)), field));
+            // 不在缓存中的类,就是没有加密注解的类(当然也有可能是typeAliasesPackage写错)
+            // 加密器在此创建 密钥配置错误时与字段处理异常一样记录日志 不中断查询
+            List<EncryptFieldHolder> holders = encryptorManager.getFieldHolders(sourceObject.getClass());
+            if (ObjectUtil.isNull(holders)) {
+                return;
+            }
+            for (EncryptFieldHolder holder : holders) {
+                Field field = holder.field();
+                Object value = field.get(sourceObject);
+                if (value != null) {
+                    field.set(sourceObject, encryptorManager.encrypt(Convert.toStr(value), holder));
+                }
             }
         } catch (Exception e) {
             log.error("处理加密字段时出错", e);
         }
     }
 
-    /**
-     * 字段值进行加密。通过字段的批注注册新的加密算法
-     *
-     * @param value 待加密的值
-     * @param field 待加密字段
-     * @return 加密后结果
-     */
-    private String encryptField(String value, Field field) {
-        if (ObjectUtil.isNull(value)) {
-            return null;
-        }
-        EncryptField encryptField = field.getAnnotation(EncryptField.class);
-        EncryptContext encryptContext = new EncryptContext();
-        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaultProperties.getAlgorithm() : encryptField.algorithm());
-        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaultProperties.getEncode() : encryptField.encode());
-        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaultProperties.getPassword() : encryptField.password());
-        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaultProperties.getPrivateKey() : encryptField.privateKey());
-        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaultProperties.getPublicKey() : encryptField.publicKey());
-        return this.encryptorManager.encrypt(value, encryptContext);
-    }
-
-
     @Override
     public void setProperties(Properties properties) {
     }
@@ -45,4 +45,9 @@ public class EncryptorProperties {
      */
     private EncodeType encode;
 
+    /**
+     * 查询结果并行解密的最小条数 小于等于0时不并行
+     */
+    private int parallelThreshold;
+
 }
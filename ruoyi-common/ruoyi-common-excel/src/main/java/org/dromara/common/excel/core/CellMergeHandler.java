@@ -13,6 +13,7 @@ import org.dromara.common.excel.annotation.CellMerge;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * 单元格合并处理器
@@ -24,6 +25,26 @@ public class CellMergeHandler {
     private final boolean hasTitle;
     private int rowIndex;
 
+    /**
+     * 增量计算时的合并字段 首批数据时解析
+     */
+    private Map<Field, FieldColumnIndex> nextMergeFields;
+
+    /**
+     * 增量计算时各字段未结束的合并区域
+     */
+    private final Map<Field, MergeRange> openRanges = new HashMap<>();
+
+    /**
+     * 增量计算时已处理的上一行数据 跨批次保留
+     */
+    private Object preRow;
+
+    /**
+     * 增量计算时已处理的行数
+     */
+    private int count;
+
     private CellMergeHandler(final boolean hasTitle) {
         this.hasTitle = hasTitle;
         // 行合并开始下标
@@ -117,6 +138,75 @@ public class CellMergeHandler {
         return result;
     }
 
+    /**
+     * 增量计算合并区域 用于分批写出, 合并状态跨批次保留
+     * <p>
+     * 每批只返回已经结束的合并区域, 全部数据处理完后通过 {@link #finish()} 获取剩余的区域
+     *
+     * @param rows       本批数据
+     * @param mergedCell 本批中被合并的非首行单元格 参数为行下标与列下标
+     * @return 本批中已结束的合并区域
+     */
+    public List<CellRangeAddress> handleNext(List<?> rows, BiConsumer<Integer, Integer> mergedCell) {
+        if (CollUtil.isEmpty(rows)) {
+            return Collections.emptyList();
+        }
+        if (nextMergeFields == null) {
+            nextMergeFields = getFieldColumnIndexMap(rows.get(0).getClass());
+        }
+        if (CollUtil.isEmpty(nextMergeFields)) {
+            return Collections.emptyList();
+        }
+        List<CellRangeAddress> result = new ArrayList<>();
+        for (Object row : rows) {
+            int rowNum = count + rowIndex;
+            for (Map.Entry<Field, FieldColumnIndex> item : nextMergeFields.entrySet()) {
+                Field field = item.getKey();
+                int colNum = item.getValue().colIndex();
+                Object fieldVal = ReflectUtils.invokeGetter(row, field.getName());
+                // 空值跳过不处理
+                if (fieldVal == null || "".equals(fieldVal)) {
+                    continue;
+                }
+                MergeRange range = openRanges.get(field);
+                // 与合并区域的值相等且满足合并条件 则延伸合并区域
+                if (range != null && fieldVal.equals(range.value()) && isMerge(row, preRow, item.getValue().cellMerge())) {
+                    openRanges.put(field, new MergeRange(fieldVal, range.firstRow(), rowNum));
+                    mergedCell.accept(rowNum, colNum);
+                    continue;
+                }
+                addRange(result, range, colNum);
+                openRanges.put(field, new MergeRange(fieldVal, rowNum, rowNum));
+            }
+            preRow = row;
+            count++;
+        }
+        return result;
+    }
+
+    /**
+     * 结束增量计算 返回未结束的合并区域
+     *
+     * @return 剩余的合并区域
+     */
+    public List<CellRangeAddress> finish() {
+        if (CollUtil.isEmpty(nextMergeFields)) {
+            return Collections.emptyList();
+        }
+        List<CellRangeAddress> result = new ArrayList<>();
+        for (Map.Entry<Field, FieldColumnIndex> item : nextMergeFields.entrySet()) {
+            addRange(result, openRanges.remove(item.getKey()), item.getValue().colIndex());
+        }
+        return result;
+    }
+
+    private void addRange(List<CellRangeAddress> result, MergeRange range, int colNum) {
+        // 只有一行则不需要合并
+        if (range != null && range.lastRow() > range.firstRow()) {
+            result.add(new CellRangeAddress(range.firstRow(), range.lastRow(), colNum, colNum));
+        }
+    }
+
     /**
      * 获取带有合并注解的字段列索引和合并注解信息Map集
      */
@@ -176,6 +266,12 @@ public class CellMergeHandler {
         }
     }
 
+    /**
+     * 增量计算中的合并区域
+     */
+    record MergeRange(Object value, int firstRow, int lastRow) {
+    }
+
     /**
      * 字段列索引和合并注解信息
      */
@@ -0,0 +1,276 @@
+package org.dromara.common.excel.core;
+
+import cn.hutool.core.util.StrUtil;
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.event.AnalysisEventListener;
+import cn.idev.excel.exception.ExcelDataConvertException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.ValidatorUtils;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Excel 分批导入监听
+ * <p>
+ * 读取的数据按批次处理, 不在内存中保留全部数据:
+ * 每批数据先在工作线程池中并行校验, 通过校验的数据交给 {@link #handleChunk(List)} 批量查询与保存,
+ * 每批处理完成后回调导入进度(可用于 SSE 推送)
+ * <p>
+ * 单元格转换失败或校验失败的行记录为失败并继续导入, {@link #handleChunk(List)} 在调用线程执行,
+ * 可以正常使用登录用户、租户与数据权限等上下文
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public abstract class ChunkedExcelListener<T> extends AnalysisEventListener<T> implements ExcelListener<T> {
+
+    /**
+     * 默认每批条数
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * 最多保留的错误信息条数 超出部分只计数
+     */
+    private static final int MAX_ERROR_COUNT = 1000;
+
+    /**
+     * 每个校验任务最少处理的行数
+     */
+    private static final int MIN_VALIDATE_SLICE = 64;
+
+    private final int chunkSize;
+
+    private final boolean isValidate;
+
+    private final Consumer<ExcelImportProgress> progressListener;
+
+    private List<ExcelRow<T>> chunk;
+
+    private Map<Integer, String> headMap;
+
+    private long processedCount;
+
+    private long successCount;
+
+    private long failureCount;
+
+    private final List<String> errorList = new ArrayList<>();
+
+    /**
+     * 本批次新增的错误信息 推送进度后清空
+     */
+    private final List<String> chunkErrors = new ArrayList<>();
+
+    /**
+     * @param chunkSize        每批条数
+     * @param isValidate       是否 Validator 检验
+     * @param progressListener 进度回调 可以为 null
+     */
+    protected ChunkedExcelListener(int chunkSize, boolean isValidate, Consumer<ExcelImportProgress> progressListener) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.isValidate = isValidate;
+        this.progressListener = progressListener;
+        this.chunk = new ArrayList<>(this.chunkSize);
+    }
+
+    /**
+     * 批量处理通过校验的数据 通过 {@link #addSuccess(int)} 与 {@link #addFailure(ExcelRow, String)} 记录结果
+     *
+     * @param rows 本批数据
+     */
+    protected abstract void handleChunk(List<ExcelRow<T>> rows);
+
+    /**
+     * 校验单行数据 在工作线程中执行 不能依赖请求线程的上下文
+     *
+     * @param data 行数据
+     * @throws ConstraintViolationException 校验不通过
+     */
+    protected void validate(T data) {
+        ValidatorUtils.validate(data);
+    }
+
+    /**
+     * 记录成功条数
+     */
+    protected void addSuccess(int count) {
+        successCount += count;
+    }
+
+    /**
+     * 记录失败行
+     *
+     * @param row     行
+     * @param message 失败原因
+     */
+    protected void addFailure(ExcelRow<T> row, String message) {
+        addFailure(row.rowNum(), message);
+    }
+
+    private void addFailure(int rowNum, String message) {
+        failureCount++;
+        String errMsg = StrUtil.format("第{}行: {}", rowNum, message);
+        if (errorList.size() < MAX_ERROR_COUNT) {
+            errorList.add(errMsg);
+        }
+        chunkErrors.add(errMsg);
+    }
+
+    /**
+     * 单元格转换失败的行记录为失败 继续读取后续数据
+     */
+    @Override
+    public void onException(Exception exception, AnalysisContext context) throws Exception {
+        if (exception instanceof ExcelDataConvertException convertException) {
+            Integer columnIndex = convertException.getColumnIndex();
+            processedCount++;
+            addFailure(convertException.getRowIndex() + 1, StrUtil.format("第{}列-表头{}: 解析异常",
+                columnIndex + 1, headMap != null ? headMap.get(columnIndex) : ""));
+            return;
+        }
+        throw exception;
+    }
+
+    @Override
+    public void invokeHeadMap(Map<Integer, String> headMap, AnalysisContext context) {
+        this.headMap = headMap;
+    }
+
+    @Override
+    public void invoke(T data, AnalysisContext context) {
+        chunk.add(new ExcelRow<>(context.readRowHolder().getRowIndex() + 1, data));
+        if (chunk.size() >= chunkSize) {
+            flush(false);
+        }
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        flush(true);
+        log.debug("所有数据解析完成! 共 {} 条, 成功 {} 条, 失败 {} 条", processedCount, successCount, failureCount);
+    }
+
+    private void flush(boolean finished) {
+        List<ExcelRow<T>> rows = chunk;
+        chunk = new ArrayList<>(chunkSize);
+        processedCount += rows.size();
+        List<ExcelRow<T>> valid = isValidate ? validateChunk(rows) : rows;
+        if (!valid.isEmpty()) {
+            try {
+                handleChunk(valid);
+            } catch (Exception e) {
+                log.error("Excel 分批导入处理失败", e);
+                for (ExcelRow<T> row : valid) {
+                    addFailure(row, e.getMessage());
+                }
+            }
+        }
+        if (progressListener != null) {
+            ExcelImportProgress progress = new ExcelImportProgress();
+            progress.setProcessedCount(processedCount);
+            progress.setSuccessCount(successCount);
+            progress.setFailureCount(failureCount);
+            progress.setErrors(new ArrayList<>(chunkErrors));
+            progress.setFinished(finished);
+            try {
+                progressListener.accept(progress);
+            } catch (Exception e) {
+                log.warn("Excel 导入进度推送失败: {}", e.getMessage());
+            }
+        }
+        chunkErrors.clear();
+    }
+
+    /**
+     * 将本批数据分片后在工作线程池中并行校验 保持原有顺序
+     */
+    private List<ExcelRow<T>> validateChunk(List<ExcelRow<T>> rows) {
+        String[] errors = new String[rows.size()];
+        int slices = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), rows.size() / MIN_VALIDATE_SLICE));
+        int sliceSize = (rows.size() + slices - 1) / slices;
+        // 校验消息的国际化依赖请求线程的 Locale
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(slices);
+        for (int start = 0; start < rows.size(); start += sliceSize) {
+            int from = start;
+            int to = Math.min(start + sliceSize, rows.size());
+            futures.add(CompletableFuture.runAsync(() -> {
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    for (int i = from; i < to; i++) {
+                        errors[i] = validateRow(rows.get(i).data());
+                    }
+                } finally {
+                    LocaleContextHolder.resetLocaleContext();
+                }
+            }, ForkJoinPool.commonPool()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        List<ExcelRow<T>> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                valid.add(rows.get(i));
+            } else {
+                addFailure(rows.get(i), errors[i]);
+            }
+        }
+        return valid;
+    }
+
+    private String validateRow(T data) {
+        try {
+            validate(data);
+            return null;
+        } catch (ConstraintViolationException e) {
+            return "数据校验异常: " + StreamUtils.join(e.getConstraintViolations(), ConstraintViolation::getMessage, ", ");
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    @Override
+    public ExcelResult<T> getExcelResult() {
+        return new ExcelResult<>() {
+
+            @Override
+            public List<T> getList() {
+                // 数据已分批处理 不保留在内存中
+                return new ArrayList<>();
+            }
+
+            @Override
+            public List<String> getErrorList() {
+                return errorList;
+            }
+
+            @Override
+            public String getAnalysis() {
+                return StrUtil.format("共 {} 条, 成功 {} 条, 失败 {} 条", processedCount, successCount, failureCount);
+            }
+        };
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+}
@@ -5,6 +5,7 @@ import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.EnumUtil;
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.idev.excel.metadata.FieldCache;
 import cn.idev.excel.metadata.FieldWrapper;
@@ -15,6 +16,7 @@ import cn.idev.excel.write.metadata.holder.WriteWorkbookHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.ss.util.WorkbookUtil;
 import org.apache.poi.xssf.usermodel.XSSFDataValidation;
 import org.dromara.common.core.exception.ServiceException;
@@ -28,23 +30,21 @@ import org.dromara.common.excel.annotation.ExcelEnumFormat;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <h1>Excel表格下拉选操作</h1>
  * 考虑到下拉选过多可能导致Excel打开缓慢的问题，只校验前1000行
  * <p>
  * 即只有前1000行的数据可以用下拉框，超出的自行通过限制数据量的形式，第二次输出
+ * <p>
+ * 每个导出类的下拉列定义只解析一次; 字典下拉选项随字典缓存复用, 字典变更后重新生成
  *
  * @author Emil.Zhang
  */
 @Slf4j
 public class ExcelDownHandler implements SheetWriteHandler {
 
-    /**
-     * Excel表格中的列名英文
-     * 仅为了解析列英文，禁止修改
-     */
-    private static final String EXCEL_COLUMN_NAME = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
     /**
      * 单选数据Sheet名
      */
@@ -53,11 +53,18 @@ public class ExcelDownHandler implements SheetWriteHandler {
      * 联动选择数据Sheet名的头
      */
     private static final String LINKED_OPTIONS_SHEET_NAME = "linkedOptions";
+    /**
+     * 下拉校验的最后一行
+     */
+    private static final int LAST_VALIDATION_ROW = 1000;
+    /**
+     * 导出类 -> 带下拉注解的字段定义
+     */
+    private static final Map<Class<?>, Map<Field, DropDownField>> DROP_DOWN_FIELDS = new ConcurrentHashMap<>();
     /**
      * 下拉可选项
      */
     private final List<DropDownOptions> dropDownOptions;
-    private final DictService dictService;
     /**
      * 当前单选进度
      */
@@ -71,7 +78,6 @@ public class ExcelDownHandler implements SheetWriteHandler {
         this.dropDownOptions = options;
         this.currentOptionsColumnIndex = 0;
         this.currentLinkedOptionsSheetIndex = 0;
-        this.dictService = SpringUtils.getBean(DictService.class);
     }
 
     /**
@@ -89,53 +95,28 @@ public class ExcelDownHandler implements SheetWriteHandler {
         // 开始设置下拉框 HSSFWorkbook
         DataValidationHelper helper = sheet.getDataValidationHelper();
         Workbook workbook = writeWorkbookHolder.getWorkbook();
-        FieldCache fieldCache = ClassUtils.declaredFields(writeWorkbookHolder.getClazz(), writeWorkbookHolder);
-        for (Map.Entry<Integer, FieldWrapper> entry : fieldCache.getSortedFieldMap().entrySet()) {
-            Integer index = entry.getKey();
-            FieldWrapper wrapper = entry.getValue();
-            Field field = wrapper.getField();
-            // 循环实体中的每个属性
-            // 可选的下拉值
-            List<String> options = new ArrayList<>();
-            if (field.isAnnotationPresent(ExcelDictFormat.class)) {
-                // 如果指定了@ExcelDictFormat，则使用字典的逻辑
-                ExcelDictFormat format = field.getDeclaredAnnotation(ExcelDictFormat.class);
-                String dictType = format.dictType();
-                String converterExp = format.readConverterExp();
-                if (StringUtils.isNotBlank(dictType)) {
-                    // 如果传递了字典名，则依据字典建立下拉
-                    Collection<String> values = Optional.ofNullable(dictService.getAllDictByDictType(dictType))
-                        .orElseThrow(() -> new ServiceException("字典 {} 不存在", dictType))
-                        .values();
-                    options = new ArrayList<>(values);
-                } else if (StringUtils.isNotBlank(converterExp)) {
-                    // 如果指定了确切的值，则直接解析确切的值
-                    List<String> strList = StringUtils.splitList(converterExp, format.separator());
-                    options = StreamUtils.toList(strList, s -> StringUtils.split(s, "=")[1]);
-                }
-            } else if (field.isAnnotationPresent(ExcelEnumFormat.class)) {
-                // 否则如果指定了@ExcelEnumFormat，则使用枚举的逻辑
-                ExcelEnumFormat format = field.getDeclaredAnnotation(ExcelEnumFormat.class);
-                List<Object> values = EnumUtil.getFieldValues(format.enumClass(), format.textField());
-                options = StreamUtils.toList(values, Convert::toStr);
-            } else if (field.isAnnotationPresent(ExcelDynamicOptions.class)) {
-                // 处理动态下拉选项
-                ExcelDynamicOptions dynamicOptions = field.getDeclaredAnnotation(ExcelDynamicOptions.class);
-                // 获取提供者实例
-                ExcelOptionsProvider provider = SpringUtils.getBean(dynamicOptions.providerClass());
-                Set<String> providerOptions = provider.getOptions();
-                if (CollUtil.isNotEmpty(providerOptions)) {
-                    options = new ArrayList<>(providerOptions);
+        Class<?> clazz = writeWorkbookHolder.getClazz();
+        Map<Field, DropDownField> dropDownFields = clazz == null ? Collections.emptyMap()
+            : DROP_DOWN_FIELDS.computeIfAbsent(clazz, ExcelDownHandler::resolveDropDownFields);
+        if (!dropDownFields.isEmpty()) {
+            FieldCache fieldCache = ClassUtils.declaredFields(clazz, writeWorkbookHolder);
+            for (Map.Entry<Integer, FieldWrapper> entry : fieldCache.getSortedFieldMap().entrySet()) {
+                // 循环实体中的每个属性
+                DropDownField dropDownField = dropDownFields.get(entry.getValue().getField());
+                if (dropDownField == null) {
+                    continue;
                 }
-            }
-            if (ObjectUtil.isNotEmpty(options)) {
-                // 仅当下拉可选项不为空时执行
-                if (options.size() > 20) {
-                    // 这里限制如果可选项大于20，则使用额外表形式
-                    dropDownWithSheet(helper, workbook, sheet, index, options);
-                } else {
-                    // 否则使用固定值形式
-                    dropDownWithSimple(helper, sheet, index, options);
+                // 可选的下拉值
+                List<String> options = dropDownField.getOptions();
+                if (ObjectUtil.isNotEmpty(options)) {
+                    // 仅当下拉可选项不为空时执行
+                    if (options.size() > 20) {
+                        // 这里限制如果可选项大于20，则使用额外表形式
+                        dropDownWithSheet(helper, workbook, sheet, entry.getKey(), options);
+                    } else {
+                        // 否则使用固定值形式
+                        dropDownWithSimple(helper, sheet, entry.getKey(), options);
+                    }
                 }
             }
         }
@@ -157,6 +138,39 @@ public class ExcelDownHandler implements SheetWriteHandler {
         });
     }
 
+    /**
+     * 解析导出类中带下拉注解的字段 固定的可选项在此时生成
+     */
+    private static Map<Field, DropDownField> resolveDropDownFields(Class<?> clazz) {
+        Map<Field, DropDownField> result = new HashMap<>();
+        for (Field field : ReflectUtil.getFields(clazz)) {
+            if (field.isAnnotationPresent(ExcelDictFormat.class)) {
+                // 如果指定了@ExcelDictFormat，则使用字典的逻辑
+                ExcelDictFormat format = field.getDeclaredAnnotation(ExcelDictFormat.class);
+                String dictType = format.dictType();
+                String converterExp = format.readConverterExp();
+                if (StringUtils.isNotBlank(dictType)) {
+                    // 如果传递了字典名，则依据字典建立下拉
+                    result.put(field, DropDownField.ofDict(dictType));
+                } else if (StringUtils.isNotBlank(converterExp)) {
+                    // 如果指定了确切的值，则直接解析确切的值
+                    List<String> strList = StringUtils.splitList(converterExp, format.separator());
+                    result.put(field, DropDownField.ofOptions(StreamUtils.toList(strList, s -> StringUtils.split(s, "=")[1])));
+                }
+            } else if (field.isAnnotationPresent(ExcelEnumFormat.class)) {
+                // 否则如果指定了@ExcelEnumFormat，则使用枚举的逻辑
+                ExcelEnumFormat format = field.getDeclaredAnnotation(ExcelEnumFormat.class);
+                List<Object> values = EnumUtil.getFieldValues(format.enumClass(), format.textField());
+                result.put(field, DropDownField.ofOptions(StreamUtils.toList(values, Convert::toStr)));
+            } else if (field.isAnnotationPresent(ExcelDynamicOptions.class)) {
+                // 处理动态下拉选项 每次导出时从提供者获取
+                ExcelDynamicOptions dynamicOptions = field.getDeclaredAnnotation(ExcelDynamicOptions.class);
+                result.put(field, DropDownField.ofProvider(dynamicOptions.providerClass()));
+            }
+        }
+        return result.isEmpty() ? Collections.emptyMap() : result;
+    }
+
     /**
      * <h2>简单下拉框</h2>
      * 直接将可选项拼接为指定列的数据校验值
@@ -177,7 +191,7 @@ public class ExcelDownHandler implements SheetWriteHandler {
      * @param options 额外表格形式存储的下拉可选项
      */
     private void dropDownLinkedOptions(DataValidationHelper helper, Workbook workbook, Sheet sheet, DropDownOptions options) {
-        String linkedOptionsSheetName = String.format("%s_%d", LINKED_OPTIONS_SHEET_NAME, currentLinkedOptionsSheetIndex);
+        String linkedOptionsSheetName = LINKED_OPTIONS_SHEET_NAME + "_" + currentLinkedOptionsSheetIndex;
         // 创建联动下拉数据表
         Sheet linkedOptionsDataSheet = workbook.createSheet(WorkbookUtil.createSafeSheetName(linkedOptionsSheetName));
         // 将下拉表隐藏
@@ -205,11 +219,8 @@ public class ExcelDownHandler implements SheetWriteHandler {
         // 设置名称管理器的别名
         name.setNameName(linkedOptionsSheetName);
         // 以横向第一行创建一级下拉拼接引用位置
-        String firstOptionsFunction = String.format("%s!$%s$1:$%s$1",
-            linkedOptionsSheetName,
-            getExcelColumnName(0),
-            getExcelColumnName(firstOptions.size())
-        );
+        String firstOptionsFunction = linkedOptionsSheetName + "!$" + getExcelColumnName(0) + "$1:$"
+            + getExcelColumnName(Math.max(firstOptions.size() - 1, 0)) + "$1";
         // 设置名称管理器的引用位置
         name.setRefersToFormula(firstOptionsFunction);
         // 设置数据校验为序列模式，引用的是名称管理器中的别名
@@ -227,69 +238,33 @@ public class ExcelDownHandler implements SheetWriteHandler {
             // 设置名称管理器的别名
             sonName.setNameName(thisFirstOptionsValue);
             // 以第二行该列数据拼接引用位置
-            String sonFunction = String.format("%s!$%s$2:$%s$%d",
-                linkedOptionsSheetName,
-                firstOptionsColumnName,
-                firstOptionsColumnName,
-                // 二级选项存在则设置为(选项个数+1)行，否则设置为2行
-                Math.max(Optional.ofNullable(secoundOptionsMap.get(thisFirstOptionsValue))
-                    .orElseGet(ArrayList::new).size(), 1) + 1
-            );
+            List<String> sonOptions = secoundOptionsMap.getOrDefault(thisFirstOptionsValue, Collections.emptyList());
+            // 二级选项存在则设置为(选项个数+1)行，否则设置为2行
+            String sonFunction = linkedOptionsSheetName + "!$" + firstOptionsColumnName + "$2:$"
+                + firstOptionsColumnName + "$" + (Math.max(sonOptions.size(), 1) + 1);
             // 设置名称管理器的引用位置
             sonName.setRefersToFormula(sonFunction);
-            // 数据验证为序列模式，引用到每一个主表中的二级选项位置
-            // 创建子项的名称管理器，只是为了使得Excel可以识别到数据
-            String mainSheetFirstOptionsColumnName = getExcelColumnName(options.getIndex());
-            for (int i = 0; i < 100; i++) {
-                // 以一级选项对应的主体所在位置创建二级下拉
-                String secondOptionsFunction = String.format("=INDIRECT(%s%d)", mainSheetFirstOptionsColumnName, i + 1);
-                // 二级只能主表每一行的每一列添加二级校验
-                markLinkedOptionsToSheet(helper, sheet, i, options.getNextIndex(), helper.createFormulaListConstraint(secondOptionsFunction));
-            }
         }
+        // 数据验证为序列模式，引用到每一行一级选项所在单元格对应的名称管理器
+        // 公式中的相对引用按校验区域的首个单元格计算，整列只需一个校验
+        String secondOptionsFunction = "INDIRECT($" + getExcelColumnName(options.getIndex()) + "2)";
+        markOptionsToSheet(helper, sheet, options.getNextIndex(), helper.createFormulaListConstraint(secondOptionsFunction));
 
-        // 将二级数据处理为按行区分
-        Map<Integer, List<String>> columnValueMap = new HashMap<>();
-        int currentRow = 1;
-        while (currentRow >= 0) {
-            boolean flag = false;
-            List<String> rowData = new ArrayList<>();
-            for (String columnName : columnNames) {
-                List<String> data = secoundOptionsMap.get(columnName);
-                if (CollUtil.isEmpty(data)) {
-                    // 添加空字符串填充位置
-                    rowData.add(" ");
-                    continue;
-                }
-                // 取第一个
-                String str = data.get(0);
-                rowData.add(str);
-                // 通过移除的方式避免重复
-                data.remove(0);
-                // 设置可以继续
-                flag = true;
-            }
-            columnValueMap.put(currentRow, rowData);
-            // 可以继续，则增加行数，否则置为负数跳出循环
-            if (flag) {
-                currentRow++;
-            } else {
-                currentRow = -1;
-            }
+        // 填充第二级选项数据 按行写入 不修改传入的可选项
+        int maxSize = 0;
+        for (String columnName : columnNames) {
+            maxSize = Math.max(maxSize, secoundOptionsMap.getOrDefault(columnName, Collections.emptyList()).size());
         }
-
-        // 填充第二级选项数据
-        columnValueMap.forEach((rowIndex, rowValues) -> {
+        for (int rowIndex = 1; rowIndex <= maxSize; rowIndex++) {
             Row row = linkedOptionsDataSheet.createRow(rowIndex);
-            for (int columnIndex = 0; columnIndex < rowValues.size(); columnIndex++) {
-                String rowValue = rowValues.get(columnIndex);
-                // 填充位置的部分不渲染
-                if (StrUtil.isNotBlank(rowValue)) {
+            for (int columnIndex = 0; columnIndex < columnNames.size(); columnIndex++) {
+                List<String> data = secoundOptionsMap.get(columnNames.get(columnIndex));
+                if (data != null && rowIndex <= data.size() && StrUtil.isNotBlank(data.get(rowIndex - 1))) {
                     row.createCell(columnIndex)
-                        .setCellValue(rowValue);
+                        .setCellValue(data.get(rowIndex - 1));
                 }
             }
-        });
+        }
 
         currentLinkedOptionsSheetIndex++;
     }
@@ -325,14 +300,10 @@ public class ExcelDownHandler implements SheetWriteHandler {
         // 创建名称管理器
         Name name = workbook.createName();
         // 设置名称管理器的别名
-        String nameName = String.format("%s_%d", tmpOptionsSheetName, celIndex);
+        String nameName = tmpOptionsSheetName + "_" + celIndex;
         name.setNameName(nameName);
         // 以纵向第一列创建一级下拉拼接引用位置
-        String function = String.format("%s!$%s$1:$%s$%d",
-            tmpOptionsSheetName,
-            getExcelColumnName(0),
-            getExcelColumnName(0),
-            value.size());
+        String function = tmpOptionsSheetName + "!$" + getExcelColumnName(0) + "$1:$" + getExcelColumnName(0) + "$" + value.size();
         // 设置名称管理器的引用位置
         name.setRefersToFormula(function);
         // 设置数据校验为序列模式，引用的是名称管理器中的别名
@@ -346,17 +317,7 @@ public class ExcelDownHandler implements SheetWriteHandler {
     private void markOptionsToSheet(DataValidationHelper helper, Sheet sheet, Integer celIndex,
                                     DataValidationConstraint constraint) {
         // 设置数据有效性加载在哪个单元格上,四个参数分别是：起始行、终止行、起始列、终止列
-        CellRangeAddressList addressList = new CellRangeAddressList(1, 1000, celIndex, celIndex);
-        markDataValidationToSheet(helper, sheet, constraint, addressList);
-    }
-
-    /**
-     * 挂载下拉的列，仅限二级选项
-     */
-    private void markLinkedOptionsToSheet(DataValidationHelper helper, Sheet sheet, Integer rowIndex,
-                                          Integer celIndex, DataValidationConstraint constraint) {
-        // 设置数据有效性加载在哪个单元格上,四个参数分别是：起始行、终止行、起始列、终止列
-        CellRangeAddressList addressList = new CellRangeAddressList(rowIndex, rowIndex, celIndex, celIndex);
+        CellRangeAddressList addressList = new CellRangeAddressList(1, LAST_VALIDATION_ROW, celIndex, celIndex);
         markDataValidationToSheet(helper, sheet, constraint, addressList);
     }
 
@@ -378,7 +339,6 @@ public class ExcelDownHandler implements SheetWriteHandler {
             //选定提示
             dataValidation.createPromptBox("填写说明：", "填写内容只能为下拉中数据，其他数据将导致导入失败");
             dataValidation.setShowPromptBox(true);
-            sheet.addValidationData(dataValidation);
         } else {
             dataValidation.setSuppressDropDownArrow(false);
         }
@@ -396,17 +356,68 @@ public class ExcelDownHandler implements SheetWriteHandler {
      * @return 列index所在得英文名
      */
     private String getExcelColumnName(int columnIndex) {
-        // 26一循环的次数
-        int columnCircleCount = columnIndex / 26;
-        // 26一循环内的位置
-        int thisCircleColumnIndex = columnIndex % 26;
-        // 26一循环的次数大于0，则视为栏名至少两位
-        String columnPrefix = columnCircleCount == 0
-            ? StrUtil.EMPTY
-            : StrUtil.subWithLength(EXCEL_COLUMN_NAME, columnCircleCount - 1, 1);
-        // 从26一循环内取对应的栏位名
-        String columnNext = StrUtil.subWithLength(EXCEL_COLUMN_NAME, thisCircleColumnIndex, 1);
-        // 将二者拼接即为最终的栏位名
-        return columnPrefix + columnNext;
+        return CellReference.convertNumToColString(columnIndex);
+    }
+
+    /**
+     * 下拉列定义
+     * <p>
+     * 固定可选项在解析时生成; 字典可选项按字典索引缓存, 字典变更后索引重建时重新生成
+     */
+    private static final class DropDownField {
+
+        private final List<String> options;
+
+        private final String dictType;
+
+        private final Class<? extends ExcelOptionsProvider> providerClass;
+
+        /**
+         * 上次生成可选项时的字典数据 与最新数据不是同一对象时重新生成
+         */
+        private volatile DictOptions dictOptions;
+
+        private DropDownField(List<String> options, String dictType, Class<? extends ExcelOptionsProvider> providerClass) {
+            this.options = options;
+            this.dictType = dictType;
+            this.providerClass = providerClass;
+        }
+
+        static DropDownField ofOptions(List<String> options) {
+            return new DropDownField(Collections.unmodifiableList(options), null, null);
+        }
+
+        static DropDownField ofDict(String dictType) {
+            return new DropDownField(null, dictType, null);
+        }
+
+        static DropDownField ofProvider(Class<? extends ExcelOptionsProvider> providerClass) {
+            return new DropDownField(null, null, providerClass);
+        }
+
+        List<String> getOptions() {
+            if (options != null) {
+                return options;
+            }
+            if (dictType != null) {
+                Map<String, String> dict = Optional.ofNullable(SpringUtils.getBean(DictService.class).getAllDictByDictType(dictType))
+                    .orElseThrow(() -> new ServiceException("字典 {} 不存在", dictType));
+                DictOptions cached = dictOptions;
+                if (cached == null || cached.source() != dict) {
+                    cached = new DictOptions(dict, Collections.unmodifiableList(new ArrayList<>(dict.values())));
+                    dictOptions = cached;
+                }
+                return cached.options();
+            }
+            // 获取提供者实例
+            Set<String> providerOptions = SpringUtils.getBean(providerClass).getOptions();
+            return CollUtil.isEmpty(providerOptions) ? Collections.emptyList() : new ArrayList<>(providerOptions);
+        }
+    }
+
+    /**
+     * 字典数据与对应的可选项
+     */
+    private record DictOptions(Map<String, String> source, List<String> options) {
     }
 }
@@ -0,0 +1,46 @@
+package org.dromara.common.excel.core;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel 分批导入进度
+ *
+ * @author Lion Li
+ */
+@Data
+public class ExcelImportProgress implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 已处理行数
+     */
+    private long processedCount;
+
+    /**
+     * 成功行数
+     */
+    private long successCount;
+
+    /**
+     * 失败行数
+     */
+    private long failureCount;
+
+    /**
+     * 本批次新增的错误信息
+     */
+    private List<String> errors = new ArrayList<>();
+
+    /**
+     * 是否已全部处理完成
+     */
+    private boolean finished;
+
+}
@@ -0,0 +1,11 @@
+package org.dromara.common.excel.core;
+
+/**
+ * Excel 导入行
+ *
+ * @param rowNum 行号(从 1 开始 与 Excel 中显示一致)
+ * @param data   行数据
+ * @author Lion Li
+ */
+public record ExcelRow<T>(int rowNum, T data) {
+}
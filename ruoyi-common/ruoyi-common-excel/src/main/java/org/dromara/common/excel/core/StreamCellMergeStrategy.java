@@ -0,0 +1,94 @@
+package org.dromara.common.excel.core;
+
+import cn.idev.excel.metadata.Head;
+import cn.idev.excel.write.handler.SheetWriteHandler;
+import cn.idev.excel.write.merge.AbstractMergeStrategy;
+import cn.idev.excel.write.metadata.holder.WriteSheetHolder;
+import cn.idev.excel.write.metadata.holder.WriteWorkbookHolder;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 分批写出的列值重复合并策略
+ * <p>
+ * 每批数据写出前调用 {@link #prepare(List)} 增量计算合并区域, 合并状态跨批次保留;
+ * 全部数据写出后调用 {@link #finish()} 合并最后未结束的区域
+ *
+ * @author Lion Li
+ */
+public class StreamCellMergeStrategy extends AbstractMergeStrategy implements SheetWriteHandler {
+
+    private final CellMergeHandler handler;
+
+    /**
+     * 当前批次中被合并的非首行单元格
+     */
+    private final Set<Long> mergedCells = new HashSet<>();
+
+    /**
+     * 已结束 尚未加入工作表的合并区域
+     */
+    private final List<CellRangeAddress> pending = new ArrayList<>();
+
+    private Sheet sheet;
+
+    public StreamCellMergeStrategy(boolean hasTitle) {
+        this.handler = CellMergeHandler.of(hasTitle);
+    }
+
+    /**
+     * 计算本批数据的合并区域 在写出本批数据前调用
+     *
+     * @param rows 本批数据
+     */
+    public void prepare(List<?> rows) {
+        mergedCells.clear();
+        pending.addAll(handler.handleNext(rows, (row, col) -> mergedCells.add(cellKey(row, col))));
+    }
+
+    /**
+     * 合并最后未结束的区域 在全部数据写出后调用
+     */
+    public void finish() {
+        pending.addAll(handler.finish());
+        if (sheet != null) {
+            addPending(sheet);
+        }
+    }
+
+    @Override
+    protected void merge(Sheet sheet, Cell cell, Head head, Integer relativeRowIndex) {
+        addPending(sheet);
+        // 合并区域内的非首行单元格清空
+        if (mergedCells.contains(cellKey(cell.getRowIndex(), cell.getColumnIndex()))) {
+            cell.setBlank();
+        }
+    }
+
+    @Override
+    public void afterSheetCreate(final WriteWorkbookHolder writeWorkbookHolder, final WriteSheetHolder writeSheetHolder) {
+        this.sheet = writeSheetHolder.getSheet();
+    }
+
+    private void addPending(Sheet sheet) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // 各列的合并区域互不重叠 跳过重叠校验 避免区域较多时逐个比对
+        for (CellRangeAddress item : pending) {
+            sheet.addMergedRegionUnsafe(item);
+        }
+        pending.clear();
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+}
@@ -5,6 +5,7 @@ import cn.hutool.core.io.resource.ClassPathResource;
 import cn.hutool.core.util.IdUtil;
 import cn.idev.excel.FastExcel;
 import cn.idev.excel.ExcelWriter;
+import cn.idev.excel.write.builder.ExcelWriterBuilder;
 import cn.idev.excel.write.builder.ExcelWriterSheetBuilder;
 import cn.idev.excel.write.metadata.WriteSheet;
 import cn.idev.excel.write.metadata.fill.FillConfig;
@@ -24,10 +25,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Excel相关处理
@@ -37,6 +40,11 @@ import java.util.function.Consumer;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ExcelUtil {
 
+    /**
+     * 分页导出默认每页条数
+     */
+    public static final int EXPORT_PAGE_SIZE = 1000;
+
     /**
      * 同步导入(适用于小数据量)
      *
@@ -242,6 +250,86 @@ public class ExcelUtil {
         exportExcel(headType, os, null, consumer);
     }
 
+    /**
+     * 分页导出excel(适用于大数据量)
+     *
+     * @param pageLoader 分页加载函数 参数为上一页最后一条数据(首页为 null) 返回空集合时结束
+     * @param sheetName  工作表的名称
+     * @param clazz      实体类
+     * @param response   响应体
+     */
+    public static <T> void exportExcelByPage(Function<T, List<T>> pageLoader, String sheetName, Class<T> clazz, HttpServletResponse response) {
+        exportExcelByPage(pageLoader, sheetName, clazz, false, response);
+    }
+
+    /**
+     * 分页导出excel(适用于大数据量)
+     *
+     * @param pageLoader 分页加载函数 参数为上一页最后一条数据(首页为 null) 返回空集合时结束
+     * @param sheetName  工作表的名称
+     * @param clazz      实体类
+     * @param merge      是否合并单元格
+     * @param response   响应体
+     */
+    public static <T> void exportExcelByPage(Function<T, List<T>> pageLoader, String sheetName, Class<T> clazz, boolean merge, HttpServletResponse response) {
+        try {
+            resetResponse(sheetName, response);
+            ServletOutputStream os = response.getOutputStream();
+            exportExcelByPage(pageLoader, sheetName, clazz, merge, os, null);
+        } catch (IOException e) {
+            throw new RuntimeException("导出Excel异常");
+        }
+    }
+
+    /**
+     * 分页导出excel(适用于大数据量)
+     * <p>
+     * 每页数据写出后即可回收, 已写出的行由 SXSSF 按窗口刷到临时文件, 合并单元格跨页增量计算
+     *
+     * @param pageLoader 分页加载函数 参数为上一页最后一条数据(首页为 null) 返回空集合时结束
+     * @param sheetName  工作表的名称
+     * @param clazz      实体类
+     * @param merge      是否合并单元格
+     * @param os         输出流
+     * @param options    级联下拉选内容
+     */
+    public static <T> void exportExcelByPage(Function<T, List<T>> pageLoader, String sheetName, Class<T> clazz, boolean merge,
+                                             OutputStream os, List<DropDownOptions> options) {
+        StreamCellMergeStrategy mergeStrategy = merge ? new StreamCellMergeStrategy(true) : null;
+        ExcelWriterBuilder builder = FastExcel.write(os, clazz)
+            .autoCloseStream(false)
+            // 自动适配
+            .registerWriteHandler(new LongestMatchColumnWidthStyleStrategy())
+            // 大数值自动转换 防止失真
+            .registerConverter(new ExcelBigNumberConvert())
+            .registerWriteHandler(new DataWriteHandler(clazz));
+        if (mergeStrategy != null) {
+            // 合并处理器
+            builder.registerWriteHandler(mergeStrategy);
+        }
+        // 添加下拉框操作
+        builder.registerWriteHandler(new ExcelDownHandler(options));
+        try (ExcelWriter writer = builder.build()) {
+            ExcelWriterWrapper<T> wrapper = ExcelWriterWrapper.of(writer);
+            WriteSheet writeSheet = ExcelWriterWrapper.buildSheet(sheetName);
+            List<T> page = pageLoader.apply(null);
+            if (CollUtil.isEmpty(page)) {
+                // 没有数据时也写出表头
+                wrapper.write(new ArrayList<>(), writeSheet);
+            }
+            while (CollUtil.isNotEmpty(page)) {
+                if (mergeStrategy != null) {
+                    mergeStrategy.prepare(page);
+                }
+                wrapper.write(page, writeSheet);
+                page = pageLoader.apply(page.get(page.size() - 1));
+            }
+            if (mergeStrategy != null) {
+                mergeStrategy.finish();
+            }
+        }
+    }
+
     /**
      * 单表多数据模板导出 模板格式为 {.属性}
      *
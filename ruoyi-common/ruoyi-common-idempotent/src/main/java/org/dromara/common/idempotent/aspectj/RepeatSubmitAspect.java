@@ -1,7 +1,7 @@
 package org.dromara.common.idempotent.aspectj;
 
 import cn.dev33.satoken.SaManager;
-import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.crypto.SecureUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,10 +23,13 @@ import org.dromara.common.redis.utils.RedisUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
-import java.util.StringJoiner;
 
 /**
  * 防止重复提交(参考美团GTIS防重系统)
@@ -47,7 +50,6 @@ public class RepeatSubmitAspect {
             throw new ServiceException("重复提交间隔时间不能小于'1'秒");
         }
         HttpServletRequest request = ServletUtils.getRequest();
-        String nowParams = argsArrayToString(point.getArgs());
 
         // 请求地址（作为存放cache的key值）
         String url = request.getRequestURI();
@@ -55,7 +57,7 @@ public class RepeatSubmitAspect {
         // 唯一值（没有消息头则使用请求地址）
         String submitKey = StringUtils.trimToEmpty(request.getHeader(SaManager.getConfig().getTokenName()));
 
-        submitKey = SecureUtil.md5(submitKey + ":" + nowParams);
+        submitKey = digest(submitKey, point.getArgs());
         // 唯一标识（指定key + url + 消息头）
         String cacheRepeatKey = GlobalConstants.REPEAT_SUBMIT_KEY + url + submitKey;
         if (RedisUtils.setObjectIfAbsent(cacheRepeatKey, "", Duration.ofMillis(interval))) {
@@ -102,19 +104,38 @@ public class RepeatSubmitAspect {
     }
 
     /**
-     * 参数拼装
+     * 计算 消息头:参数json(空格分隔) 的 md5
+     * <p>
+     * 参数序列化后直接写入摘要 不拼接中间字符串, 结果与拼接后再计算 md5 相同
      */
-    private String argsArrayToString(Object[] paramsArray) {
-        StringJoiner params = new StringJoiner(" ");
-        if (ArrayUtil.isEmpty(paramsArray)) {
-            return params.toString();
-        }
-        for (Object o : paramsArray) {
-            if (ObjectUtil.isNotNull(o) && !isFilterObject(o)) {
-                params.add(JsonUtils.toJsonString(o));
+    private String digest(String submitKey, Object[] paramsArray) throws IOException {
+        MessageDigest digest = SecureUtil.md5().getDigest();
+        digest.update((submitKey + ":").getBytes(StandardCharsets.UTF_8));
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                digest.update((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                digest.update(b, off, len);
+            }
+        };
+        boolean first = true;
+        if (paramsArray != null) {
+            for (Object o : paramsArray) {
+                if (ObjectUtil.isNull(o) || isFilterObject(o)) {
+                    continue;
+                }
+                if (!first) {
+                    digest.update((byte) ' ');
+                }
+                first = false;
+                JsonUtils.getObjectMapper().writeValue(out, o);
             }
         }
-        return params.toString();
+        return HexUtil.encodeHexStr(digest.digest());
     }
 
     /**
@@ -1,6 +1,5 @@
 package org.dromara.common.log.aspect;
 
-import cn.hutool.core.lang.Dict;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ObjectUtil;
@@ -18,7 +17,6 @@ import org.dromara.common.core.domain.model.LoginUser;
 import org.dromara.common.core.utils.ServletUtils;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StringUtils;
-import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.log.annotation.Log;
 import org.dromara.common.log.enums.BusinessStatus;
 import org.dromara.common.log.event.OperLogEvent;
@@ -45,6 +43,11 @@ public class LogAspect {
      */
     private static final ThreadLocal<StopWatch> KEY_CACHE = new ThreadLocal<>();
 
+    /**
+     * 请求参数与返回结果的最大保存长度
+     */
+    private static final int MAX_LENGTH = 3800;
+
     /**
      * 处理请求前执行
      */
@@ -93,7 +96,7 @@ public class LogAspect {
 
             if (e != null) {
                 operLog.setStatus(BusinessStatus.FAIL.ordinal());
-                operLog.setErrorMsg(StringUtils.substring(e.getMessage(), 0, 3800));
+                operLog.setErrorMsg(StringUtils.substring(e.getMessage(), 0, MAX_LENGTH));
             }
             // 设置方法名称
             String className = joinPoint.getTarget().getClass().getName();
@@ -138,7 +141,7 @@ public class LogAspect {
         }
         // 是否需要保存response，参数和值
         if (log.isSaveResponseData() && ObjectUtil.isNotNull(jsonResult)) {
-            operLog.setJsonResult(StringUtils.substring(JsonUtils.toJsonString(jsonResult), 0, 3800));
+            operLog.setJsonResult(LogParamWriter.writeValue(jsonResult, MAX_LENGTH));
         }
     }
 
@@ -152,50 +155,23 @@ public class LogAspect {
         Map<String, String> paramsMap = ServletUtils.getParamMap(ServletUtils.getRequest());
         String requestMethod = operLog.getRequestMethod();
         if (MapUtil.isEmpty(paramsMap) && StringUtils.equalsAny(requestMethod, HttpMethod.PUT.name(), HttpMethod.POST.name(), HttpMethod.DELETE.name())) {
-            String params = argsArrayToString(joinPoint.getArgs(), excludeParamNames);
-            operLog.setOperParam(StringUtils.substring(params, 0, 3800));
+            operLog.setOperParam(argsArrayToString(joinPoint.getArgs(), excludeParamNames));
         } else {
             MapUtil.removeAny(paramsMap, SystemConstants.EXCLUDE_PROPERTIES);
             MapUtil.removeAny(paramsMap, excludeParamNames);
-            operLog.setOperParam(StringUtils.substring(JsonUtils.toJsonString(paramsMap), 0, 3800));
+            operLog.setOperParam(LogParamWriter.writeValue(paramsMap, MAX_LENGTH));
         }
     }
 
     /**
-     * 参数拼装
+     * 参数拼装 只序列化一次并在达到长度上限后停止
      */
     private String argsArrayToString(Object[] paramsArray, String[] excludeParamNames) {
-        StringJoiner params = new StringJoiner(" ");
         if (ArrayUtil.isEmpty(paramsArray)) {
-            return params.toString();
+            return StringUtils.EMPTY;
         }
         String[] exclude = ArrayUtil.addAll(excludeParamNames, SystemConstants.EXCLUDE_PROPERTIES);
-        for (Object o : paramsArray) {
-            if (ObjectUtil.isNotNull(o) && !isFilterObject(o)) {
-                String str = "";
-                if (o instanceof List<?> list) {
-                    List<Dict> list1 = new ArrayList<>();
-                    for (Object obj : list) {
-                        String str1 = JsonUtils.toJsonString(obj);
-                        Dict dict = JsonUtils.parseMap(str1);
-                        if (MapUtil.isNotEmpty(dict)) {
-                            MapUtil.removeAny(dict, exclude);
-                            list1.add(dict);
-                        }
-                    }
-                    str = JsonUtils.toJsonString(list1);
-                } else {
-                    str = JsonUtils.toJsonString(o);
-                    Dict dict = JsonUtils.parseMap(str);
-                    if (MapUtil.isNotEmpty(dict)) {
-                        MapUtil.removeAny(dict, exclude);
-                        str = JsonUtils.toJsonString(dict);
-                    }
-                }
-                params.add(str);
-            }
-        }
-        return params.toString();
+        return LogParamWriter.writeArgs(paramsArray, exclude, MAX_LENGTH, this::isFilterObject);
     }
 
     /**
@@ -0,0 +1,263 @@
+package org.dromara.common.log.aspect;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.json.utils.JsonUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 操作日志参数写出器
+ * <p>
+ * 参数只序列化一次: 通过 Jackson 属性过滤器跳过顶层对象中需要排除的属性,
+ * 输出写入有长度上限的 Writer, 达到上限后立即停止序列化
+ * <p>
+ * 过滤器按排除属性组合缓存为 {@link ObjectWriter}, 各类的序列化器由 Jackson 按类缓存
+ *
+ * @author Lion Li
+ */
+@Slf4j
+final class LogParamWriter {
+
+    private static final String FILTER_ID = "logParamFilter";
+
+    /**
+     * 排除属性组合 -> 带过滤器的 ObjectWriter
+     */
+    private static final Map<List<String>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private LogParamWriter() {
+    }
+
+    /**
+     * 写出方法参数 多个参数以空格分隔
+     *
+     * @param args      方法参数
+     * @param excludes  需要排除的顶层属性
+     * @param maxLength 最大长度
+     * @param skip      需要跳过的参数
+     */
+    static String writeArgs(Object[] args, String[] excludes, int maxLength, Predicate<Object> skip) {
+        ObjectWriter writer = getWriter(excludes);
+        LimitedWriter out = new LimitedWriter(maxLength);
+        try {
+            boolean first = true;
+            for (Object arg : args) {
+                if (arg == null || skip.test(arg)) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(' ');
+                }
+                first = false;
+                if (arg instanceof List<?> list) {
+                    // 列表逐个元素写出 每个元素都是顶层对象
+                    out.write('[');
+                    boolean firstElement = true;
+                    for (Object element : list) {
+                        if (!firstElement) {
+                            out.write(',');
+                        }
+                        firstElement = false;
+                        writer.writeValue(out, removeExcludedKeys(element, excludes));
+                    }
+                    out.write(']');
+                } else {
+                    writer.writeValue(out, removeExcludedKeys(arg, excludes));
+                }
+            }
+        } catch (IOException e) {
+            if (!out.isTruncated()) {
+                log.warn("操作日志参数序列化失败: {}", e.getMessage());
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 写出对象 超出长度的部分被截断
+     *
+     * @param value     对象
+     * @param maxLength 最大长度
+     */
+    static String writeValue(Object value, int maxLength) {
+        LimitedWriter out = new LimitedWriter(maxLength);
+        try {
+            JsonUtils.getObjectMapper().writeValue(out, value);
+        } catch (IOException e) {
+            if (!out.isTruncated()) {
+                log.warn("操作日志参数序列化失败: {}", e.getMessage());
+            }
+        }
+        return out.toString();
+    }
+
+    private static ObjectWriter getWriter(String[] excludes) {
+        return WRITERS.computeIfAbsent(Arrays.asList(excludes), key -> MapperHolder.MAPPER.writer(
+            new SimpleFilterProvider().setDefaultFilter(new TopLevelExcludeFilter(Set.copyOf(key)))));
+    }
+
+    /**
+     * Map 不经过 bean 属性过滤器 包含需要排除的键时复制一份浅拷贝
+     */
+    private static Object removeExcludedKeys(Object value, String[] excludes) {
+        if (!(value instanceof Map<?, ?> map)) {
+            return value;
+        }
+        for (String exclude : excludes) {
+            if (map.containsKey(exclude)) {
+                Map<Object, Object> copy = new LinkedHashMap<>(map);
+                for (String key : excludes) {
+                    copy.remove(key);
+                }
+                return copy;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 基于全局 ObjectMapper 的副本 为所有类启用属性过滤器
+     */
+    private static final class MapperHolder {
+
+        private static final ObjectMapper MAPPER = createMapper();
+
+        private static ObjectMapper createMapper() {
+            ObjectMapper mapper = JsonUtils.getObjectMapper().copy();
+            AnnotationIntrospector existing = mapper.getSerializationConfig().getAnnotationIntrospector();
+            mapper.setAnnotationIntrospector(AnnotationIntrospector.pair(existing, new NopAnnotationIntrospector() {
+                @Override
+                public Object findFilterId(Annotated a) {
+                    return a instanceof AnnotatedClass ? FILTER_ID : null;
+                }
+            }));
+            return mapper;
+        }
+    }
+
+    /**
+     * 只排除顶层对象的属性 嵌套对象保持原样
+     */
+    private static final class TopLevelExcludeFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> excludes;
+
+        private TopLevelExcludeFilter(Set<String> excludes) {
+            this.excludes = excludes;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            if (excludes.contains(writer.getName())) {
+                JsonStreamContext parent = gen.getOutputContext().getParent();
+                if (parent == null || parent.inRoot()) {
+                    return;
+                }
+            }
+            writer.serializeAsField(pojo, gen, provider);
+        }
+    }
+
+    /**
+     * 达到长度上限后抛出 {@link LimitReachedException} 中止序列化
+     */
+    private static final class LimitedWriter extends Writer {
+
+        private final StringBuilder buffer;
+
+        private final int limit;
+
+        private boolean truncated;
+
+        private LimitedWriter(int limit) {
+            this.limit = limit;
+            this.buffer = new StringBuilder(Math.min(limit, 256));
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int room = limit - buffer.length();
+            if (len > room) {
+                buffer.append(cbuf, off, Math.max(room, 0));
+                truncated = true;
+                throw LimitReachedException.INSTANCE;
+            }
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            int room = limit - buffer.length();
+            if (len > room) {
+                buffer.append(str, off, off + Math.max(room, 0));
+                truncated = true;
+                throw LimitReachedException.INSTANCE;
+            }
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (buffer.length() >= limit) {
+                truncated = true;
+                throw LimitReachedException.INSTANCE;
+            }
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    /**
+     * 无堆栈的中止信号
+     */
+    private static final class LimitReachedException extends IOException {
+
+        private static final LimitReachedException INSTANCE = new LimitReachedException();
+
+        private LimitReachedException() {
+            super("log param limit reached");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+}
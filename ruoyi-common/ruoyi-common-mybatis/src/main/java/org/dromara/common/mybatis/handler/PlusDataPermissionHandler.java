@@ -1,7 +1,10 @@
 package org.dromara.common.mybatis.handler;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
@@ -19,18 +22,28 @@ import org.dromara.common.mybatis.annotation.DataColumn;
 import org.dromara.common.mybatis.annotation.DataPermission;
 import org.dromara.common.mybatis.enums.DataScopeType;
 import org.dromara.common.mybatis.helper.DataPermissionHelper;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.expression.*;
 import org.springframework.expression.common.TemplateParserContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * 数据权限过滤
+ * <p>
+ * 解析后的过滤条件按 注解 + 用户 + 角色数据范围 缓存, 改写后的 SQL 按 原始 SQL + 过滤条件 缓存,
+ * 角色或部门变更后通过 {@link #invalidateCache()} 在集群内统一失效
  *
  * @author Lion Li
  * @version 3.5.0
@@ -38,6 +51,44 @@ import java.util.function.Function;
 @Slf4j
 public class PlusDataPermissionHandler {
 
+    /**
+     * 集群失效通知通道
+     */
+    private static final String INVALIDATE_TOPIC = "global:data-permission:invalidate";
+
+    private static final String NODE_ID = IdUtil.fastSimpleUUID();
+
+    private static final AtomicBoolean SUBSCRIBED = new AtomicBoolean();
+
+    private static final AtomicLong FRAGMENT_SEQUENCE = new AtomicLong();
+
+    /**
+     * 不可缓存的过滤条件标识 改写后的 SQL 不进入缓存
+     */
+    private static final long UNCACHED_ID = -1;
+
+    /**
+     * 无需过滤 (全部数据权限)
+     */
+    private static final SqlFragment NO_FILTER = new SqlFragment(0, null);
+
+    /**
+     * 已解析的过滤条件
+     */
+    private static final Cache<FragmentKey, SqlFragment> FRAGMENT_CACHE = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfterWrite(Duration.ofMinutes(30))
+        .build();
+
+    /**
+     * 改写后的 SQL 按字符数计权重
+     */
+    private static final Cache<String, String> SQL_CACHE = Caffeine.newBuilder()
+        .maximumWeight(16 * 1024 * 1024)
+        .weigher((String key, String value) -> key.length() + value.length())
+        .expireAfterAccess(Duration.ofMinutes(30))
+        .build();
+
     /**
      * spel 解析器
      */
@@ -57,35 +108,150 @@ public class PlusDataPermissionHandler {
      */
     public Expression getSqlSegment(Expression where, boolean isSelect) {
         try {
-            // 获取数据权限配置
-            DataPermission dataPermission = getDataPermission();
-            // 获取当前登录用户信息
-            LoginUser currentUser = DataPermissionHelper.getVariable("user");
-            if (ObjectUtil.isNull(currentUser)) {
-                currentUser = LoginHelper.getLoginUser();
-                DataPermissionHelper.setVariable("user", currentUser);
-            }
-            // 如果是超级管理员或租户管理员，则不过滤数据
-            if (LoginHelper.isSuperAdmin() || LoginHelper.isTenantAdmin()) {
-                return where;
+            return getSqlSegment(where, getSqlFragment(isSelect));
+        } finally {
+            DataPermissionHelper.removePermission();
+        }
+    }
+
+    /**
+     * 将过滤条件拼接到原始条件
+     *
+     * @param where    原始的查询条件表达式
+     * @param fragment 过滤条件
+     * @return 拼接后的条件 无需过滤时返回原始条件
+     */
+    public Expression getSqlSegment(Expression where, SqlFragment fragment) {
+        if (fragment == null || fragment.expression() == null) {
+            return where;
+        }
+        // 数据权限使用单独的括号 防止与其他条件冲突
+        ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(fragment.expression());
+        if (ObjectUtil.isNotNull(where)) {
+            return new AndExpression(where, parenthesis);
+        } else {
+            return parenthesis;
+        }
+    }
+
+    /**
+     * 获取当前用户在当前注解下的过滤条件
+     *
+     * @param isSelect 是否为查询语句
+     * @return 过滤条件 无需过滤时 expression 为 null
+     */
+    public SqlFragment getSqlFragment(boolean isSelect) {
+        // 获取数据权限配置
+        DataPermission dataPermission = getDataPermission();
+        // 获取当前登录用户信息
+        LoginUser currentUser = DataPermissionHelper.getVariable("user");
+        if (ObjectUtil.isNull(currentUser)) {
+            currentUser = LoginHelper.getLoginUser();
+            DataPermissionHelper.setVariable("user", currentUser);
+        }
+        // 如果是超级管理员或租户管理员，则不过滤数据
+        if (LoginHelper.isSuperAdmin() || LoginHelper.isTenantAdmin()) {
+            return NO_FILTER;
+        }
+        subscribe();
+        FragmentKey key = buildFragmentKey(dataPermission, isSelect, currentUser);
+        if (key == null) {
+            return parseFragment(dataPermission, isSelect, false);
+        }
+        return FRAGMENT_CACHE.get(key, k -> parseFragment(dataPermission, isSelect, true));
+    }
+
+    /**
+     * 获取改写后的 SQL 相同的原始 SQL 与过滤条件只改写一次
+     *
+     * @param fragment 过滤条件
+     * @param sql      原始 SQL
+     * @param rewriter 改写方法
+     * @return 改写后的 SQL
+     */
+    public String getRewrittenSql(SqlFragment fragment, String sql, UnaryOperator<String> rewriter) {
+        if (fragment.id() == UNCACHED_ID) {
+            return rewriter.apply(sql);
+        }
+        return SQL_CACHE.get(fragment.id() + ":" + sql, k -> rewriter.apply(sql));
+    }
+
+    /**
+     * 失效本节点及集群内所有节点的数据权限缓存 存在事务时在提交后执行
+     */
+    public static void invalidateCache() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate();
+                }
+            });
+        } else {
+            doInvalidate();
+        }
+    }
+
+    private static void doInvalidate() {
+        clearLocalCache();
+        RedisUtils.publish(INVALIDATE_TOPIC, NODE_ID);
+    }
+
+    private static void clearLocalCache() {
+        FRAGMENT_CACHE.invalidateAll();
+        SQL_CACHE.invalidateAll();
+    }
+
+    private static void subscribe() {
+        if (SUBSCRIBED.get() || !SUBSCRIBED.compareAndSet(false, true)) {
+            return;
+        }
+        RedisUtils.subscribe(INVALIDATE_TOPIC, String.class, nodeId -> {
+            if (!NODE_ID.equals(nodeId)) {
+                clearLocalCache();
             }
-            // 构造数据过滤条件的 SQL 片段
-            String dataFilterSql = buildDataFilter(dataPermission, isSelect);
-            if (StringUtils.isBlank(dataFilterSql)) {
-                return where;
+        });
+    }
+
+    /**
+     * 构建过滤条件缓存 key 存在自定义上下文变量时无法确定结果 不缓存
+     */
+    private FragmentKey buildFragmentKey(DataPermission dataPermission, boolean isSelect, LoginUser user) {
+        if (user == null || DataPermissionHelper.getContext().size() > 1) {
+            return null;
+        }
+        long ignoredMask = 0;
+        DataColumn[] columns = dataPermission.value();
+        for (int i = 0; i < columns.length && i < Long.SIZE; i++) {
+            if (StringUtils.isNotBlank(columns[i].permission())
+                && CollUtil.contains(user.getMenuPermission(), columns[i].permission())) {
+                ignoredMask |= 1L << i;
             }
+        }
+        List<String> roles = new ArrayList<>(user.getRoles().size());
+        for (RoleDTO role : user.getRoles()) {
+            roles.add(role.getRoleId() + ":" + role.getDataScope());
+        }
+        return new FragmentKey(dataPermission, isSelect, user.getTenantId(), user.getUserId(), user.getDeptId(), roles, ignoredMask);
+    }
+
+    /**
+     * 执行 SpEL 模板并解析为表达式
+     *
+     * @param cacheable 是否可缓存 不可缓存的过滤条件每次结果不同 不分配改写 SQL 缓存标识
+     */
+    private SqlFragment parseFragment(DataPermission dataPermission, boolean isSelect, boolean cacheable) {
+        // 构造数据过滤条件的 SQL 片段
+        String dataFilterSql = buildDataFilter(dataPermission, isSelect);
+        if (StringUtils.isBlank(dataFilterSql)) {
+            return NO_FILTER;
+        }
+        try {
             Expression expression = CCJSqlParserUtil.parseExpression(dataFilterSql);
-            // 数据权限使用单独的括号 防止与其他条件冲突
-            ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(expression);
-            if (ObjectUtil.isNotNull(where)) {
-                return new AndExpression(where, parenthesis);
-            } else {
-                return parenthesis;
-            }
+            long id = cacheable ? FRAGMENT_SEQUENCE.incrementAndGet() : UNCACHED_ID;
+            return new SqlFragment(id, expression);
         } catch (JSQLParserException e) {
             throw new ServiceException("数据权限解析异常 => " + e.getMessage());
-        } finally {
-            DataPermissionHelper.removePermission();
         }
     }
 
@@ -198,6 +364,22 @@ public class PlusDataPermissionHandler {
         return getDataPermission() == null;
     }
 
+    /**
+     * 已解析的过滤条件 表达式在缓存中共享 只读使用
+     *
+     * @param id         唯一标识 用于改写 SQL 缓存 为 -1 表示不缓存
+     * @param expression 过滤条件 为 null 表示无需过滤
+     */
+    public record SqlFragment(long id, Expression expression) {
+    }
+
+    /**
+     * 过滤条件缓存 key
+     */
+    private record FragmentKey(DataPermission permission, boolean select, String tenantId, Long userId,
+                               Long deptId, List<String> roles, long ignoredMask) {
+    }
+
     /**
      * 对所有null变量找不到的变量返回默认值
      */
@@ -21,6 +21,8 @@ import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler.SqlFragment;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -28,6 +30,8 @@ import java.util.List;
 
 /**
  * 数据权限拦截器
+ * <p>
+ * 先取得(缓存的)过滤条件, 再以 原始 SQL + 过滤条件 查改写缓存, 未命中时才用 JSqlParser 解析改写
  *
  * @author Lion Li
  * @version 3.5.0
@@ -58,9 +62,13 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
         if (dataPermissionHandler.invalid()) {
             return;
         }
+        SqlFragment fragment = resolveFragment(true);
+        if (fragment.expression() == null) {
+            return;
+        }
         // 解析 sql 分配对应方法
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
-        mpBs.sql(parserSingle(mpBs.sql(), ms.getId()));
+        mpBs.sql(dataPermissionHandler.getRewrittenSql(fragment, mpBs.sql(), sql -> parserSingle(sql, fragment)));
     }
 
     /**
@@ -86,8 +94,23 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
             if (dataPermissionHandler.invalid()) {
                 return;
             }
+            SqlFragment fragment = resolveFragment(false);
+            if (fragment.expression() == null) {
+                return;
+            }
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
-            mpBs.sql(parserMulti(mpBs.sql(), ms.getId()));
+            mpBs.sql(dataPermissionHandler.getRewrittenSql(fragment, mpBs.sql(), sql -> parserMulti(sql, fragment)));
+        }
+    }
+
+    /**
+     * 获取当前语句的过滤条件 权限注解只对当前语句生效 获取后即清除
+     */
+    private SqlFragment resolveFragment(boolean isSelect) {
+        try {
+            return dataPermissionHandler.getSqlFragment(isSelect);
+        } finally {
+            DataPermissionHelper.removePermission();
         }
     }
 
@@ -97,15 +120,15 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param select SELECT 查询对象
      * @param index  查询语句的索引
      * @param sql    查询语句
-     * @param obj    WHERE 条件参数
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
         if (select instanceof PlainSelect) {
-            this.setWhere((PlainSelect) select, (String) obj);
+            this.setWhere((PlainSelect) select, (SqlFragment) obj);
         } else if (select instanceof SetOperationList setOperationList) {
             List<Select> selectBodyList = setOperationList.getSelects();
-            selectBodyList.forEach(s -> this.setWhere((PlainSelect) s, (String) obj));
+            selectBodyList.forEach(s -> this.setWhere((PlainSelect) s, (SqlFragment) obj));
         }
     }
 
@@ -115,11 +138,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param update UPDATE 查询对象
      * @param index  查询语句的索引
      * @param sql    查询语句
-     * @param obj    WHERE 条件参数
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processUpdate(Update update, int index, String sql, Object obj) {
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(update.getWhere(), false);
+        Expression sqlSegment = dataPermissionHandler.getSqlSegment(update.getWhere(), (SqlFragment) obj);
         if (null != sqlSegment) {
             update.setWhere(sqlSegment);
         }
@@ -131,11 +154,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param delete DELETE 查询对象
      * @param index  查询语句的索引
      * @param sql    查询语句
-     * @param obj    WHERE 条件参数
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processDelete(Delete delete, int index, String sql, Object obj) {
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(delete.getWhere(), false);
+        Expression sqlSegment = dataPermissionHandler.getSqlSegment(delete.getWhere(), (SqlFragment) obj);
         if (null != sqlSegment) {
             delete.setWhere(sqlSegment);
         }
@@ -144,11 +167,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
     /**
      * 设置 SELECT 语句的 WHERE 条件
      *
-     * @param plainSelect       SELECT 查询对象
-     * @param mappedStatementId 映射语句的 ID
+     * @param plainSelect SELECT 查询对象
+     * @param fragment    数据过滤条件
      */
-    protected void setWhere(PlainSelect plainSelect, String mappedStatementId) {
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(plainSelect.getWhere(), true);
+    protected void setWhere(PlainSelect plainSelect, SqlFragment fragment) {
+        Expression sqlSegment = dataPermissionHandler.getSqlSegment(plainSelect.getWhere(), fragment);
         if (null != sqlSegment) {
             plainSelect.setWhere(sqlSegment);
         }
@@ -2,6 +2,7 @@ package org.dromara.common.oss.constant;
 
 import org.dromara.common.core.constant.GlobalConstants;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -17,6 +18,21 @@ public interface OssConstant {
      */
     String DEFAULT_CONFIG_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:default_config";
 
+    /**
+     * 配置变更广播频道
+     */
+    String CONFIG_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:config_change";
+
+    /**
+     * 配置变更后 旧客户端的宽限时间 已取得实例的调用方仍可发起请求, 之后待进行中的请求全部结束再关闭
+     */
+    Duration CLIENT_CLOSE_DELAY = Duration.ofMinutes(1);
+
+    /**
+     * 本地已解析配置的有效期 到期后重新读取 错过变更广播的节点最迟在此时间后恢复一致
+     */
+    Duration CONFIG_REFRESH_INTERVAL = Duration.ofMinutes(5);
+
     /**
      * 预览列表资源开关Key
      */
@@ -37,4 +53,54 @@ public interface OssConstant {
      */
     String IS_HTTPS = "Y";
 
+    /**
+     * 分片上传 每个分片大小(S3 要求除最后一片外不小于 5MB)
+     */
+    int MULTIPART_PART_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * 分片上传 单个文件同时上传的分片数 同时也是分片缓冲区数量上限
+     */
+    int MULTIPART_PARALLELISM = 4;
+
+    /**
+     * 超过该大小的文件使用分片上传
+     */
+    long MULTIPART_THRESHOLD = 2L * MULTIPART_PART_SIZE;
+
+    /**
+     * 私有桶预签名下载URL有效期
+     */
+    Duration PRESIGNED_GET_URL_EXPIRE = Duration.ofMinutes(10);
+
+    /**
+     * 缓存的预签名下载URL 返回给调用方时至少保留的剩余有效期
+     */
+    Duration PRESIGNED_GET_URL_MIN_REMAINING = Duration.ofSeconds(120);
+
+    /**
+     * 预签名下载URL缓存条数上限(每个存储配置)
+     */
+    int PRESIGNED_GET_URL_CACHE_SIZE = 10000;
+
+    /**
+     * 热点对象本地磁盘缓存 总大小上限
+     */
+    long LOCAL_CACHE_MAX_SIZE = 1024L * 1024 * 1024;
+
+    /**
+     * 热点对象本地磁盘缓存 单个对象大小上限 超过的对象始终从存储服务读取
+     */
+    long LOCAL_CACHE_MAX_OBJECT_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * 统计窗口内下载次数达到该值的对象缓存到本地磁盘
+     */
+    int LOCAL_CACHE_HOT_THRESHOLD = 3;
+
+    /**
+     * 热点对象下载次数统计窗口
+     */
+    Duration LOCAL_CACHE_HOT_WINDOW = Duration.ofMinutes(10);
+
 }
@@ -1,7 +1,8 @@
 package org.dromara.common.oss.core;
 
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.IdUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.utils.DateUtils;
@@ -14,6 +15,7 @@ import org.dromara.common.oss.exception.OssException;
 import org.dromara.common.oss.properties.OssProperties;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.BlockingInputStreamAsyncRequestBody;
 import software.amazon.awssdk.core.async.ResponsePublisher;
@@ -21,7 +23,14 @@ import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListPartsResponse;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.model.*;
@@ -30,14 +39,27 @@ import software.amazon.awssdk.transfer.s3.progress.LoggingTransferListener;
 import java.io.*;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * S3 存储协议 所有兼容S3协议的云厂商均支持
@@ -73,6 +95,28 @@ public class OssClient {
      */
     private final S3Presigner presigner;
 
+    /**
+     * 预签名下载URL缓存 对象KEY -> URL
+     * <p>
+     * 在签名到期前 {@link OssConstant#PRESIGNED_GET_URL_MIN_REMAINING} 失效, 保证返回的URL仍有足够的有效期
+     */
+    private final Cache<String, String> presignedGetUrlCache = Caffeine.newBuilder()
+        .maximumSize(OssConstant.PRESIGNED_GET_URL_CACHE_SIZE)
+        .expireAfterWrite(OssConstant.PRESIGNED_GET_URL_EXPIRE.minus(OssConstant.PRESIGNED_GET_URL_MIN_REMAINING))
+        .build();
+
+    /**
+     * 进行中的存储服务请求数
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * 是否已被新配置的客户端替换 替换后进行中的请求全部结束时关闭
+     */
+    private volatile boolean retired;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
     /**
      * 构造方法
      *
@@ -138,6 +182,7 @@ public class OssClient {
      * @throws OssException 如果上传失败，抛出自定义异常
      */
     public UploadResult upload(Path filePath, String key, String md5Digest, String contentType) {
+        acquire();
         try {
             // 构建上传请求对象
             FileUpload fileUpload = transferManager.uploadFile(
@@ -165,11 +210,14 @@ public class OssClient {
         } finally {
             // 无论上传是否成功，最终都会删除临时文件
             FileUtils.del(filePath);
+            release();
         }
     }
 
     /**
      * 上传 InputStream 到 Amazon S3
+     * <p>
+     * 已知长度时边读边传 不在内存中缓冲整个文件, 长度未知时使用 {@link #uploadMultipart} 分片上传
      *
      * @param inputStream 要上传的输入流
      * @param key         在 Amazon S3 中的对象键
@@ -179,10 +227,10 @@ public class OssClient {
      * @throws OssException 如果上传失败，抛出自定义异常
      */
     public UploadResult upload(InputStream inputStream, String key, Long length, String contentType) {
-        // 如果输入流不是 ByteArrayInputStream，则将其读取为字节数组再创建 ByteArrayInputStream
-        if (!(inputStream instanceof ByteArrayInputStream)) {
-            inputStream = new ByteArrayInputStream(IoUtil.readBytes(inputStream));
+        if (length == null || length < 0) {
+            return uploadMultipart(inputStream, key, contentType);
         }
+        acquire();
         try {
             // 创建异步请求体（length如果为空会报错）
             BlockingInputStreamAsyncRequestBody body = BlockingInputStreamAsyncRequestBody.builder()
@@ -214,6 +262,238 @@ public class OssClient {
             return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(eTag).build();
         } catch (Exception e) {
             throw new OssException("上传文件失败，请检查配置信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 流式分片上传 InputStream 到 Amazon S3
+     * <p>
+     * 按 {@link OssConstant#MULTIPART_PART_SIZE} 读取分片并行上传, 分片缓冲区循环复用,
+     * 单个文件最多占用 {@link OssConstant#MULTIPART_PARALLELISM} 个分片大小的内存,
+     * 读取的同时计算整个文件的 MD5 以及每个分片的 Content-MD5
+     *
+     * @param inputStream 要上传的输入流(长度可以未知)
+     * @param key         在 Amazon S3 中的对象键
+     * @param contentType 文件内容类型
+     * @return UploadResult 包含上传后的文件信息
+     * @throws OssException 如果上传失败，抛出自定义异常
+     */
+    public UploadResult uploadMultipart(InputStream inputStream, String key, String contentType) {
+        String uploadId = createMultipartUpload(key, contentType);
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(OssConstant.MULTIPART_PARALLELISM);
+        List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+        acquire();
+        try {
+            MessageDigest fileDigest = MessageDigest.getInstance("MD5");
+            MessageDigest partDigest = MessageDigest.getInstance("MD5");
+            int allocated = 0;
+            int partNumber = 1;
+            while (true) {
+                // 缓冲区未达上限时分配新的 否则等待已完成分片归还
+                byte[] buffer = buffers.poll();
+                if (buffer == null) {
+                    if (allocated < OssConstant.MULTIPART_PARALLELISM) {
+                        buffer = new byte[OssConstant.MULTIPART_PART_SIZE];
+                        allocated++;
+                    } else {
+                        buffer = buffers.take();
+                    }
+                }
+                // 读满一个分片或读到流末尾
+                int length = inputStream.readNBytes(buffer, 0, buffer.length);
+                if (length == 0 && partNumber > 1) {
+                    buffers.offer(buffer);
+                    break;
+                }
+                fileDigest.update(buffer, 0, length);
+                partDigest.update(buffer, 0, length);
+                String partMd5 = Base64.getEncoder().encodeToString(partDigest.digest());
+                int currentPart = partNumber++;
+                byte[] partBuffer = buffer;
+                UploadPartRequest request = UploadPartRequest.builder()
+                    .bucket(properties.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(currentPart)
+                    .contentLength((long) length)
+                    .contentMD5(partMd5)
+                    .build();
+                futures.add(client.uploadPart(request, AsyncRequestBody.fromByteBufferUnsafe(ByteBuffer.wrap(buffer, 0, length)))
+                    .thenApply(response -> CompletedPart.builder().partNumber(currentPart).eTag(response.eTag()).build())
+                    // 分片上传完成(包括重试)后归还缓冲区
+                    .whenComplete((part, e) -> buffers.offer(partBuffer)));
+                if (length < buffer.length) {
+                    break;
+                }
+                // 已有分片失败时不再继续读取
+                if (futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+            }
+            List<CompletedPart> parts = futures.stream().map(CompletableFuture::join).toList();
+            UploadResult result = completeMultipartUpload(key, uploadId, parts);
+            result.setMd5(HexFormat.of().formatHex(fileDigest.digest()));
+            return result;
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            abortMultipartUpload(key, uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new OssException("上传文件失败，请检查配置信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 创建分片上传
+     *
+     * @param key         在 Amazon S3 中的对象键
+     * @param contentType 文件内容类型
+     * @return 分片上传ID
+     */
+    public String createMultipartUpload(String key, String contentType) {
+        acquire();
+        try {
+            return client.createMultipartUpload(
+                x -> x.bucket(properties.getBucketName())
+                    .key(key)
+                    .contentType(contentType)
+                    .build())
+                .join()
+                .uploadId();
+        } catch (Exception e) {
+            throw new OssException("创建分片上传失败，请检查配置信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 创建上传分片的预签名URL 由浏览器直接上传分片到存储桶
+     *
+     * @param key         在 Amazon S3 中的对象键
+     * @param uploadId    分片上传ID
+     * @param partNumber  分片序号 从 1 开始
+     * @param expiredTime 链接授权到期时间
+     */
+    public String createPresignedUploadPartUrl(String key, String uploadId, int partNumber, Duration expiredTime) {
+        acquire();
+        try {
+            URL url = presigner.presignUploadPart(
+                    x -> x.signatureDuration(expiredTime)
+                        .uploadPartRequest(
+                            y -> y.bucket(properties.getBucketName())
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .build())
+                        .build())
+                .url();
+            return url.toExternalForm();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 查询已上传的分片 用于断点续传
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传ID
+     * @return 已上传的分片(按序号升序)
+     */
+    public List<CompletedPart> listParts(String key, String uploadId) {
+        List<Part> uploaded = listUploadedParts(key, uploadId);
+        List<CompletedPart> parts = new ArrayList<>(uploaded.size());
+        for (Part part : uploaded) {
+            parts.add(CompletedPart.builder().partNumber(part.partNumber()).eTag(part.eTag()).build());
+        }
+        return parts;
+    }
+
+    /**
+     * 查询已上传的分片明细 包含分片大小
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传ID
+     * @return 已上传的分片(按序号升序)
+     */
+    public List<Part> listUploadedParts(String key, String uploadId) {
+        acquire();
+        try {
+            List<Part> parts = new ArrayList<>();
+            Integer marker = null;
+            ListPartsResponse response;
+            do {
+                Integer partNumberMarker = marker;
+                response = client.listParts(
+                    x -> x.bucket(properties.getBucketName())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumberMarker(partNumberMarker)
+                        .build())
+                    .join();
+                parts.addAll(response.parts());
+                marker = response.nextPartNumberMarker();
+            } while (Boolean.TRUE.equals(response.isTruncated()));
+            return parts;
+        } catch (Exception e) {
+            throw new OssException("查询分片失败，请检查配置信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 合并分片 完成分片上传
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传ID
+     * @param parts    已上传的分片 为空时从存储桶查询
+     * @return UploadResult 包含上传后的文件信息
+     */
+    public UploadResult completeMultipartUpload(String key, String uploadId, List<CompletedPart> parts) {
+        List<CompletedPart> completedParts = parts != null ? parts : listParts(key, uploadId);
+        acquire();
+        try {
+            CompleteMultipartUploadResponse response = client.completeMultipartUpload(
+                x -> x.bucket(properties.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(y -> y.parts(completedParts))
+                    .build())
+                .join();
+            return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(response.eTag()).build();
+        } catch (Exception e) {
+            throw new OssException("合并分片失败，请检查配置信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 取消分片上传 删除已上传的分片
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传ID
+     */
+    public void abortMultipartUpload(String key, String uploadId) {
+        acquire();
+        try {
+            client.abortMultipartUpload(
+                x -> x.bucket(properties.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build())
+                .join();
+        } catch (Exception e) {
+            log.warn("取消分片上传失败 key: {}, uploadId: {}", key, uploadId, e);
+        } finally {
+            release();
         }
     }
 
@@ -225,6 +505,10 @@ public class OssClient {
      * @throws OssException 如果下载失败，抛出自定义异常
      */
     public Path fileDownload(String path) {
+        return tracked(() -> doFileDownload(path));
+    }
+
+    private Path doFileDownload(String path) {
         // 构建临时文件
         Path tempFilePath = FileUtils.createTempFile().toPath();
         // 使用 S3TransferManager 下载文件
@@ -266,6 +550,7 @@ public class OssClient {
      * @throws OssException 如果下载失败，抛出自定义异常
      */
     public WriteOutSubscriber<OutputStream> download(String key, Consumer<Long> contentLengthConsumer) {
+        acquire();
         try {
             // 构建下载请求
             DownloadRequest<ResponsePublisher<GetObjectResponse>> publisherDownloadRequest = DownloadRequest.builder()
@@ -288,6 +573,7 @@ public class OssClient {
 
             // 构建写出订阅器对象
             return out -> {
+                acquire();
                 // 创建可写入的字节通道
                 try(WritableByteChannel channel = Channels.newChannel(out)){
                     // 订阅数据
@@ -300,26 +586,129 @@ public class OssClient {
                             }
                         }
                     }).join();
+                } finally {
+                    release();
                 }
             };
         } catch (Exception e) {
             throw new OssException("文件下载失败，错误信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
         }
     }
 
+    /**
+     * 按 HTTP 条件下载对象到输出通道 SDK 返回的 ByteBuffer 直接写入通道 不经过中间字节数组
+     *
+     * @param key              文件在 Amazon S3 中的对象键
+     * @param range            HTTP Range 请求头 如 bytes=0-1023, 为空时下载整个对象(仅支持单个范围)
+     * @param ifNoneMatch      HTTP If-None-Match 请求头 ETag 匹配时不返回内容
+     * @param responseConsumer 在写出内容前接收对象元数据(大小 ETag Content-Range)
+     * @param channel          输出通道
+     * @return 存储服务响应状态码 200 完整内容 206 部分内容 304 未修改 416 范围无效, 304 与 416 不写出内容
+     * @throws OssException 如果下载失败，抛出自定义异常
+     */
+    public int download(String key, String range, String ifNoneMatch,
+                        Consumer<GetObjectResponse> responseConsumer, WritableByteChannel channel) {
+        return tracked(() -> doDownload(key, range, ifNoneMatch, responseConsumer, channel));
+    }
+
+    private int doDownload(String key, String range, String ifNoneMatch,
+                           Consumer<GetObjectResponse> responseConsumer, WritableByteChannel channel) {
+        ResponsePublisher<GetObjectResponse> publisher;
+        try {
+            publisher = client.getObject(
+                x -> x.bucket(properties.getBucketName())
+                    .key(key)
+                    .range(range)
+                    .ifNoneMatch(ifNoneMatch),
+                AsyncResponseTransformer.toPublisher()).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof S3Exception s3Exception
+                && (s3Exception.statusCode() == 304 || s3Exception.statusCode() == 416)) {
+                return s3Exception.statusCode();
+            }
+            throw new OssException("文件下载失败，错误信息:[" + e.getMessage() + "]");
+        }
+        GetObjectResponse response = publisher.response();
+        if (responseConsumer != null) {
+            responseConsumer.accept(response);
+        }
+        try {
+            publisher.subscribe(byteBuffer -> {
+                while (byteBuffer.hasRemaining()) {
+                    try {
+                        channel.write(byteBuffer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }).join();
+        } catch (CompletionException e) {
+            throw new OssException("文件下载失败，错误信息:[" + e.getMessage() + "]");
+        }
+        return StringUtils.isNotBlank(response.contentRange()) ? 206 : 200;
+    }
+
+    /**
+     * 获取热点对象的本地缓存文件
+     * <p>
+     * 对象在统计窗口内下载次数达到阈值后下载到本地磁盘, 超过单个对象大小上限的不缓存
+     *
+     * @param key 文件在 Amazon S3 中的对象键
+     * @return 本地缓存文件 非热点或未能缓存时返回 null
+     */
+    public OssLocalCache.Entry getLocalCache(String key) {
+        return tracked(() -> OssLocalCache.getOrLoad(getLocalCacheKey(key), file -> {
+            HeadObjectResponse head = client.headObject(
+                x -> x.bucket(properties.getBucketName()).key(key)).join();
+            if (head.contentLength() > OssConstant.LOCAL_CACHE_MAX_OBJECT_SIZE) {
+                return null;
+            }
+            CompletedFileDownload download = transferManager.downloadFile(
+                x -> x.getObjectRequest(
+                        y -> y.bucket(properties.getBucketName())
+                            .key(key)
+                            .build())
+                    .destination(file)
+                    .build()).completionFuture().join();
+            return new OssLocalCache.Entry(file, download.response().contentLength(), download.response().eTag());
+        }));
+    }
+
+    /**
+     * 移除已失效的本地缓存文件 本地文件已被删除时调用
+     *
+     * @param key   文件在 Amazon S3 中的对象键
+     * @param entry 已失效的本地缓存文件
+     */
+    public void evictLocalCache(String key, OssLocalCache.Entry entry) {
+        OssLocalCache.invalidate(getLocalCacheKey(key), entry);
+    }
+
+    private String getLocalCacheKey(String key) {
+        return configKey + StringUtils.SLASH + key;
+    }
+
     /**
      * 删除云存储服务中指定路径下文件
      *
      * @param path 指定路径
      */
     public void delete(String path) {
+        acquire();
         try {
+            String key = removeBaseUrl(path);
+            presignedGetUrlCache.invalidate(key);
+            OssLocalCache.invalidate(getLocalCacheKey(key));
             client.deleteObject(
                 x -> x.bucket(properties.getBucketName())
-                    .key(removeBaseUrl(path))
+                    .key(key)
                     .build());
         } catch (Exception e) {
             throw new OssException("删除文件失败，请检查配置信息:[" + e.getMessage() + "]");
+        } finally {
+            release();
         }
     }
 
@@ -330,16 +719,32 @@ public class OssClient {
      * @param expiredTime 链接授权到期时间
      */
     public String createPresignedGetUrl(String objectKey, Duration expiredTime) {
-        // 使用 AWS S3 预签名 URL 的生成器 获取下载对象的预签名 URL
-        URL url = presigner.presignGetObject(
-                x -> x.signatureDuration(expiredTime)
-                    .getObjectRequest(
-                        y -> y.bucket(properties.getBucketName())
-                            .key(objectKey)
-                            .build())
-                    .build())
-            .url();
-        return url.toExternalForm();
+        acquire();
+        try {
+            // 使用 AWS S3 预签名 URL 的生成器 获取下载对象的预签名 URL
+            URL url = presigner.presignGetObject(
+                    x -> x.signatureDuration(expiredTime)
+                        .getObjectRequest(
+                            y -> y.bucket(properties.getBucketName())
+                                .key(objectKey)
+                                .build())
+                        .build())
+                .url();
+            return url.toExternalForm();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 获取下载请求的预签名URL 同一对象在缓存有效期内复用已签名的URL
+     * <p>
+     * 签名在本地完成 不访问存储服务, 返回的URL剩余有效期不少于 {@link OssConstant#PRESIGNED_GET_URL_MIN_REMAINING}
+     *
+     * @param objectKey 对象KEY
+     */
+    public String getPresignedGetUrl(String objectKey) {
+        return presignedGetUrlCache.get(objectKey, key -> createPresignedGetUrl(key, OssConstant.PRESIGNED_GET_URL_EXPIRE));
     }
 
     /**
@@ -350,17 +755,22 @@ public class OssClient {
      * @param metadata 元数据
      */
     public String createPresignedPutUrl(String objectKey, Duration expiredTime, Map<String, String> metadata) {
-        // 使用 AWS S3 预签名 URL 的生成器 获取上传文件对象的预签名 URL
-        URL url = presigner.presignPutObject(
-                x -> x.signatureDuration(expiredTime)
-                    .putObjectRequest(
-                        y -> y.bucket(properties.getBucketName())
-                            .key(objectKey)
-                            .metadata(metadata)
-                            .build())
-                    .build())
-            .url();
-        return url.toExternalForm();
+        acquire();
+        try {
+            // 使用 AWS S3 预签名 URL 的生成器 获取上传文件对象的预签名 URL
+            URL url = presigner.presignPutObject(
+                    x -> x.signatureDuration(expiredTime)
+                        .putObjectRequest(
+                            y -> y.bucket(properties.getBucketName())
+                                .key(objectKey)
+                                .metadata(metadata)
+                                .build())
+                        .build())
+                .url();
+            return url.toExternalForm();
+        } finally {
+            release();
+        }
     }
 
     /**
@@ -388,6 +798,18 @@ public class OssClient {
         return upload(inputStream, getPath(properties.getPrefix(), suffix), length, contentType);
     }
 
+    /**
+     * 流式分片上传 InputStream 到 Amazon S3，使用指定的后缀构造对象键。
+     *
+     * @param inputStream 要上传的输入流
+     * @param suffix      对象键的后缀
+     * @return UploadResult 包含上传后的文件信息
+     * @throws OssException 如果上传失败，抛出自定义异常
+     */
+    public UploadResult uploadMultipartSuffix(InputStream inputStream, String suffix, String contentType) {
+        return uploadMultipart(inputStream, getPath(properties.getPrefix(), suffix), contentType);
+    }
+
     /**
      * 上传文件到 Amazon S3，使用指定的后缀构造对象键
      *
@@ -407,14 +829,21 @@ public class OssClient {
      * @return 输入流
      */
     public InputStream getObjectContent(String path) throws IOException {
-        // 下载文件到临时目录
-        Path tempFilePath = fileDownload(path);
-        // 创建输入流
-        InputStream inputStream = Files.newInputStream(tempFilePath);
-        // 删除临时文件
-        FileUtils.del(tempFilePath);
-        // 返回对象内容的输入流
-        return inputStream;
+        // 流关闭前客户端计为使用中 被替换的客户端不会在读取过程中关闭
+        acquire();
+        try {
+            // 下载文件到临时目录
+            Path tempFilePath = doFileDownload(path);
+            // 创建输入流
+            InputStream inputStream = Files.newInputStream(tempFilePath);
+            // 删除临时文件
+            FileUtils.del(tempFilePath);
+            // 返回对象内容的输入流
+            return new ReleasingInputStream(inputStream);
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
     }
 
     /**
@@ -525,6 +954,13 @@ public class OssClient {
         return configKey;
     }
 
+    /**
+     * 文件路径前缀
+     */
+    public String getPrefix() {
+        return properties.getPrefix();
+    }
+
     /**
      * 获取是否使用 HTTPS 的配置，并返回相应的协议头部。
      *
@@ -541,6 +977,72 @@ public class OssClient {
         return this.properties.equals(properties);
     }
 
+    /**
+     * 标记客户端已被替换 没有进行中的请求时立即关闭 否则在最后一个请求结束时关闭
+     */
+    public void retire() {
+        retired = true;
+        if (inFlight.get() == 0) {
+            close();
+        }
+    }
+
+    /**
+     * 关闭客户端 释放 Netty 连接池与事件循环线程
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        log.info("关闭OSS实例 key => {}", configKey);
+        presignedGetUrlCache.invalidateAll();
+        transferManager.close();
+        presigner.close();
+        client.close();
+    }
+
+    private <T> T tracked(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    private void release() {
+        if (inFlight.decrementAndGet() == 0 && retired) {
+            close();
+        }
+    }
+
+    /**
+     * 关闭时释放客户端使用计数的输入流 重复关闭只释放一次
+     */
+    private final class ReleasingInputStream extends FilterInputStream {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            }
+        }
+    }
+
     /**
      * 获取当前桶权限类型
      *
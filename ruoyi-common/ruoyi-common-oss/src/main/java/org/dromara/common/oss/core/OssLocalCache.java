@@ -0,0 +1,200 @@
+package org.dromara.common.oss.core;
+
+import cn.hutool.core.util.IdUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.oss.constant.OssConstant;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 热点对象本地磁盘缓存
+ * <p>
+ * 统计窗口内下载次数达到 {@link OssConstant#LOCAL_CACHE_HOT_THRESHOLD} 的对象下载到本地临时目录,
+ * 之后的下载直接读取本地文件, 总大小按 {@link OssConstant#LOCAL_CACHE_MAX_SIZE} 淘汰
+ * <p>
+ * 对象KEY由上传时生成 内容不会被覆盖, 删除对象时同步移除本地文件
+ * <p>
+ * 每个实例使用独立的子目录并持有其中的锁文件, 启动时只清理锁已释放(所属实例已退出)的子目录
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OssLocalCache {
+
+    private static final Path CACHE_ROOT = Path.of(System.getProperty("java.io.tmpdir"), "ruoyi-oss-cache");
+
+    private static final Path CACHE_DIR = CACHE_ROOT.resolve(IdUtil.fastSimpleUUID());
+
+    private static final String LOCK_FILE = ".lock";
+
+    /**
+     * 已缓存的对象 权重按 KB 计算
+     */
+    private static final Cache<String, Entry> FILES = Caffeine.newBuilder()
+        .maximumWeight(OssConstant.LOCAL_CACHE_MAX_SIZE / 1024)
+        .weigher((String key, Entry entry) -> (int) Math.max(1, entry.length() / 1024))
+        .removalListener((String key, Entry entry, RemovalCause cause) -> {
+            if (entry != null) {
+                deleteQuietly(entry.file());
+            }
+        })
+        .build();
+
+    /**
+     * 下载次数统计 超过大小上限的对象记为负数 不再尝试缓存
+     */
+    private static final Cache<String, AtomicInteger> HITS = Caffeine.newBuilder()
+        .maximumSize(100000)
+        .expireAfterWrite(OssConstant.LOCAL_CACHE_HOT_WINDOW)
+        .build();
+
+    /**
+     * 本实例缓存目录的锁 进程存活期间持有
+     */
+    private static final FileChannel LOCK = lockCacheDir();
+
+    static {
+        // 清理已退出实例遗留的缓存目录
+        if (Files.isDirectory(CACHE_ROOT)) {
+            try (Stream<Path> dirs = Files.list(CACHE_ROOT)) {
+                dirs.filter(dir -> !dir.equals(CACHE_DIR) && Files.isDirectory(dir))
+                    .forEach(OssLocalCache::deleteIfOrphaned);
+            } catch (IOException e) {
+                log.warn("清理OSS本地缓存目录失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 获取对象的本地缓存文件 未缓存时记录一次下载, 成为热点后通过 loader 下载到本地
+     *
+     * @param key    缓存KEY
+     * @param loader 将对象下载到指定文件 对象过大时返回 null
+     * @return 本地缓存文件 未缓存或下载失败时返回 null
+     */
+    static Entry getOrLoad(String key, Function<Path, Entry> loader) {
+        Entry entry = FILES.getIfPresent(key);
+        if (entry != null) {
+            return entry;
+        }
+        AtomicInteger hits = HITS.get(key, k -> new AtomicInteger());
+        if (hits.incrementAndGet() < OssConstant.LOCAL_CACHE_HOT_THRESHOLD) {
+            return null;
+        }
+        try {
+            // 同一对象只下载一次 其他请求等待下载完成后读取本地文件
+            return FILES.get(key, k -> {
+                Path file = createFile();
+                Entry loaded = loader.apply(file);
+                if (loaded == null) {
+                    deleteQuietly(file);
+                    hits.set(Integer.MIN_VALUE);
+                }
+                return loaded;
+            });
+        } catch (Exception e) {
+            log.warn("OSS对象缓存到本地失败: {} {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 移除对象的本地缓存
+     *
+     * @param key 缓存KEY
+     */
+    static void invalidate(String key) {
+        FILES.invalidate(key);
+        HITS.invalidate(key);
+    }
+
+    /**
+     * 移除已失效的本地缓存 仅当当前缓存仍为该文件时移除 避免误删重新下载的文件
+     *
+     * @param key   缓存KEY
+     * @param entry 已失效的本地缓存文件
+     */
+    static void invalidate(String key, Entry entry) {
+        FILES.asMap().remove(key, entry);
+    }
+
+    private static FileChannel lockCacheDir() {
+        try {
+            Files.createDirectories(CACHE_DIR);
+            FileChannel channel = FileChannel.open(CACHE_DIR.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.tryLock();
+            return channel;
+        } catch (IOException e) {
+            log.warn("锁定OSS本地缓存目录失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 锁文件可被锁定说明所属实例已退出 删除整个目录 没有锁文件的目录可能正在创建 不处理
+     */
+    private static void deleteIfOrphaned(Path dir) {
+        Path lockFile = dir.resolve(LOCK_FILE);
+        if (!Files.exists(lockFile)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return;
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(file -> !file.equals(lockFile)).forEach(OssLocalCache::deleteQuietly);
+            }
+            lock.release();
+        } catch (IOException | OverlappingFileLockException e) {
+            log.warn("清理OSS本地缓存目录失败: {} {}", dir, e.getMessage());
+            return;
+        }
+        deleteQuietly(lockFile);
+        deleteQuietly(dir);
+    }
+
+    private static Path createFile() {
+        try {
+            Files.createDirectories(CACHE_DIR);
+            return CACHE_DIR.resolve(IdUtil.fastSimpleUUID());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除OSS本地缓存文件失败: {}", file);
+        }
+    }
+
+    /**
+     * 本地缓存文件
+     *
+     * @param file   本地文件
+     * @param length 文件大小
+     * @param eTag   对象 ETag
+     */
+    public record Entry(Path file, long length, String eTag) {
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.dromara.common.oss.entity;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * OSS配置变更广播消息
+ *
+ * @author Lion Li
+ */
+@Data
+public class OssConfigMessage implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 配置key
+     */
+    private String configKey;
+
+    /**
+     * 配置内容(json) 为 null 表示配置已删除
+     */
+    private String config;
+
+    /**
+     * 是否为默认配置变更 为 true 时只切换默认配置key
+     */
+    private boolean defaultChanged;
+
+    /**
+     * 版本号 以发出时间为基准 忽略重复或乱序到达的旧消息
+     */
+    private long version;
+
+}
@@ -27,4 +27,9 @@ public class UploadResult {
      */
     private String eTag;
 
+    /**
+     * 文件内容的 MD5(十六进制) 仅流式分片上传时计算
+     */
+    private String md5;
+
 }
@@ -6,17 +6,26 @@ import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.oss.constant.OssConstant;
 import org.dromara.common.oss.core.OssClient;
+import org.dromara.common.oss.entity.OssConfigMessage;
 import org.dromara.common.oss.exception.OssException;
 import org.dromara.common.oss.properties.OssProperties;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.redis.utils.RedisUtils;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 文件上传Factory
+ * <p>
+ * 配置在首次使用、收到变更广播或超过 {@link OssConstant#CONFIG_REFRESH_INTERVAL} 时解析, 按版本号忽略乱序到达的旧消息;
+ * 配置变更后旧客户端从缓存中移除, 经过 {@link OssConstant#CLIENT_CLOSE_DELAY} 宽限时间后在进行中的请求全部结束时关闭
  *
  * @author Lion Li
  */
@@ -26,14 +35,45 @@ public class OssFactory {
     private static final Map<String, OssClient> CLIENT_CACHE = new ConcurrentHashMap<>();
     private static final ReentrantLock LOCK = new ReentrantLock();
 
+    /**
+     * 已解析的配置 configKey -> 配置与版本
+     */
+    private static final Map<String, ConfigHolder> CONFIG_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 宽限时间后退役旧客户端
+     */
+    private static final ScheduledExecutorService CLOSER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "oss-client-closer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private static volatile String defaultConfigKey;
+
+    private static volatile long defaultConfigVersion;
+
+    private static volatile long defaultConfigLoadedAt;
+
+    private static volatile boolean subscribed;
+
     /**
      * 获取默认实例
      */
     public static OssClient instance() {
-        // 获取redis 默认类型
-        String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
+        subscribe();
+        String configKey = defaultConfigKey;
         if (StringUtils.isEmpty(configKey)) {
-            throw new OssException("文件存储服务类型无法找到!");
+            configKey = loadDefaultConfigKey();
+        } else if (isExpired(defaultConfigLoadedAt)) {
+            try {
+                configKey = loadDefaultConfigKey();
+            } catch (Exception e) {
+                // 重新读取失败时继续使用当前配置 下次调用再重试
+                log.warn("重新读取OSS默认配置失败: {}", e.getMessage());
+            }
         }
         return instance(configKey);
     }
@@ -42,11 +82,15 @@ public class OssFactory {
      * 根据类型获取实例
      */
     public static OssClient instance(String configKey) {
-        String json = CacheUtils.get(CacheNames.SYS_OSS_CONFIG, configKey);
-        if (json == null) {
+        subscribe();
+        ConfigHolder holder = CONFIG_CACHE.computeIfAbsent(configKey, OssFactory::loadConfig);
+        if (isExpired(holder.loadedAt())) {
+            holder = reloadConfig(configKey, holder);
+        }
+        OssProperties properties = holder.properties();
+        if (properties == null) {
             throw new OssException("系统异常, '" + configKey + "'配置信息不存在!");
         }
-        OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
         // 使用租户标识避免多个租户相同key实例覆盖
         String key = configKey;
         if (StringUtils.isNotBlank(properties.getTenantId())) {
@@ -59,9 +103,10 @@ public class OssFactory {
             try {
                 client = CLIENT_CACHE.get(key);
                 if (client == null || !client.checkPropertiesSame(properties)) {
-                    CLIENT_CACHE.put(key, new OssClient(configKey, properties));
+                    OssClient created = new OssClient(configKey, properties);
+                    retire(CLIENT_CACHE.put(key, created));
                     log.info("创建OSS实例 key => {}", configKey);
-                    return CLIENT_CACHE.get(key);
+                    return created;
                 }
             } finally {
                 LOCK.unlock();
@@ -70,4 +115,184 @@ public class OssFactory {
         return client;
     }
 
+    /**
+     * 发布配置变更 本节点立即生效并广播到其他节点
+     *
+     * @param configKey 配置key
+     * @param config    配置内容(json) 为 null 表示配置已删除
+     */
+    public static void publishConfig(String configKey, String config) {
+        OssConfigMessage message = new OssConfigMessage();
+        message.setConfigKey(configKey);
+        message.setConfig(config);
+        publish(message);
+    }
+
+    /**
+     * 发布默认配置变更 本节点立即生效并广播到其他节点
+     *
+     * @param configKey 默认配置key
+     */
+    public static void publishDefault(String configKey) {
+        OssConfigMessage message = new OssConfigMessage();
+        message.setConfigKey(configKey);
+        message.setDefaultChanged(true);
+        publish(message);
+    }
+
+    private static void publish(OssConfigMessage message) {
+        message.setVersion(nextVersion());
+        onMessage(message);
+        try {
+            RedisUtils.publish(OssConstant.CONFIG_TOPIC, message);
+        } catch (Exception e) {
+            log.warn("OSS配置变更广播失败 key => {}", message.getConfigKey(), e);
+        }
+    }
+
+    private static long nextVersion() {
+        long now = System.currentTimeMillis() * 1000;
+        return VERSION.updateAndGet(prev -> Math.max(prev + 1, now));
+    }
+
+    /**
+     * 订阅配置变更 重复调用只订阅一次
+     */
+    private static void subscribe() {
+        if (subscribed) {
+            return;
+        }
+        synchronized (OssFactory.class) {
+            if (subscribed) {
+                return;
+            }
+            RedisUtils.subscribe(OssConstant.CONFIG_TOPIC, OssConfigMessage.class, OssFactory::onMessage);
+            subscribed = true;
+        }
+    }
+
+    /**
+     * 处理配置变更 版本不大于当前版本的消息忽略(包括本节点发出后又收到的广播)
+     */
+    private static void onMessage(OssConfigMessage message) {
+        if (message == null || StringUtils.isEmpty(message.getConfigKey())) {
+            return;
+        }
+        if (message.isDefaultChanged()) {
+            synchronized (OssFactory.class) {
+                if (message.getVersion() > defaultConfigVersion) {
+                    defaultConfigVersion = message.getVersion();
+                    defaultConfigKey = message.getConfigKey();
+                    defaultConfigLoadedAt = System.currentTimeMillis();
+                }
+            }
+            return;
+        }
+        OssProperties properties = message.getConfig() == null ? null
+            : JsonUtils.parseObject(message.getConfig(), OssProperties.class);
+        ConfigHolder applied = new ConfigHolder(properties, message.getVersion(), System.currentTimeMillis());
+        ConfigHolder result = CONFIG_CACHE.merge(message.getConfigKey(), applied,
+            (old, latest) -> latest.version() > old.version() ? latest : old);
+        if (result != applied) {
+            return;
+        }
+        retireClients(message.getConfigKey(), properties);
+    }
+
+    /**
+     * 配置变化后移除旧客户端 配置未变的客户端继续使用
+     */
+    private static void retireClients(String configKey, OssProperties properties) {
+        CLIENT_CACHE.entrySet().removeIf(entry -> {
+            OssClient client = entry.getValue();
+            if (configKey.equals(client.getConfigKey())
+                && (properties == null || !client.checkPropertiesSame(properties))) {
+                retire(client);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static ConfigHolder loadConfig(String configKey) {
+        String json = CacheUtils.get(CacheNames.SYS_OSS_CONFIG, configKey);
+        if (json == null) {
+            throw new OssException("系统异常, '" + configKey + "'配置信息不存在!");
+        }
+        // 版本为 0 任何变更消息都会覆盖
+        return new ConfigHolder(JsonUtils.parseObject(json, OssProperties.class), 0, System.currentTimeMillis());
+    }
+
+    /**
+     * 配置到期后重新读取 期间收到更新版本的变更消息时以消息为准
+     */
+    private static ConfigHolder reloadConfig(String configKey, ConfigHolder stale) {
+        OssProperties properties;
+        try {
+            String json = CacheUtils.get(CacheNames.SYS_OSS_CONFIG, configKey);
+            properties = json == null ? null : JsonUtils.parseObject(json, OssProperties.class);
+        } catch (Exception e) {
+            // 重新读取失败时继续使用当前配置 下次调用再重试
+            log.warn("重新读取OSS配置失败 key => {}: {}", configKey, e.getMessage());
+            return stale;
+        }
+        ConfigHolder reloaded = new ConfigHolder(properties, stale.version(), System.currentTimeMillis());
+        ConfigHolder result = CONFIG_CACHE.compute(configKey,
+            (k, current) -> current == null || current.version() <= stale.version() ? reloaded : current);
+        if (result == reloaded && !Objects.equals(properties, stale.properties())) {
+            log.info("OSS配置已重新读取 key => {}", configKey);
+            retireClients(configKey, properties);
+        }
+        return result;
+    }
+
+    /**
+     * 读取默认配置key 期间收到更新版本的变更消息时以消息为准
+     */
+    private static String loadDefaultConfigKey() {
+        long version = defaultConfigVersion;
+        // 获取redis 默认类型
+        String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
+        if (StringUtils.isEmpty(configKey)) {
+            throw new OssException("文件存储服务类型无法找到!");
+        }
+        synchronized (OssFactory.class) {
+            if (defaultConfigVersion == version) {
+                defaultConfigKey = configKey;
+                defaultConfigLoadedAt = System.currentTimeMillis();
+            }
+            return defaultConfigKey;
+        }
+    }
+
+    private static boolean isExpired(long loadedAt) {
+        return System.currentTimeMillis() - loadedAt > OssConstant.CONFIG_REFRESH_INTERVAL.toMillis();
+    }
+
+    /**
+     * 被替换的客户端经过宽限时间后退役 进行中的请求全部结束时关闭
+     */
+    private static void retire(OssClient client) {
+        if (client == null) {
+            return;
+        }
+        CLOSER.schedule(() -> {
+            try {
+                client.retire();
+            } catch (Exception e) {
+                log.warn("关闭OSS实例失败 key => {}", client.getConfigKey(), e);
+            }
+        }, OssConstant.CLIENT_CLOSE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 已解析的配置
+     *
+     * @param properties 配置属性 为 null 表示配置已删除
+     * @param version    版本号
+     * @param loadedAt   解析时间 超过刷新间隔后重新读取
+     */
+    private record ConfigHolder(OssProperties properties, long version, long loadedAt) {
+    }
+
 }
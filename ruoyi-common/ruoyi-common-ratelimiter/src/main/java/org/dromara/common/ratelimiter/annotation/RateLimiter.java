@@ -20,7 +20,7 @@ public @interface RateLimiter {
     String key() default "";
 
     /**
-     * 限流时间,单位秒
+     * 限流时间,单位秒 按滑动窗口计算 任意 time 秒内最多通过 count 次
      */
     int time() default 60;
 
@@ -40,7 +40,7 @@ public @interface RateLimiter {
     String message() default "{rate.limiter.message}";
 
     /**
-     * 限流策略超时时间 默认一天(策略存活时间 会清除已存在的策略数据)
+     * 限流策略超时时间 已不再生效 限流记录在 time 秒后自动过期 仅为兼容保留
      */
     int timeout() default 86400;
 
@@ -1,5 +1,7 @@
 package org.dromara.common.ratelimiter.aspectj;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
@@ -26,9 +28,17 @@ import org.springframework.expression.common.TemplateParserContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 限流处理
+ * <p>
+ * 先检查本地滑动窗口, 本节点在窗口内已通过 count 次时直接拒绝, 不访问 redis;
+ * 本地只记录 redis 放行的请求, 是全局记录的子集, 本地拒绝时全局也必然拒绝;
+ * 本地记录取调用 redis 之前的时间, 不晚于 redis 记录的时间, 不会比 redis 更晚放行
  *
  * @author Lion Li
  */
@@ -48,7 +58,18 @@ public class RateLimiterAspect {
      * 方法参数解析器
      */
     private final ParameterNameDiscoverer pnd = new DefaultParameterNameDiscoverer();
-
+    /**
+     * 方法 -> 已解析的 key 表达式
+     */
+    private final Map<Method, Expression> expressionCache = new ConcurrentHashMap<>();
+    /**
+     * 限流key -> 本地滑动窗口 按记录数计权 过期或淘汰后重建为空 只会少拒绝 不影响判断的正确性
+     */
+    private final Cache<String, LocalWindow> localWindows = Caffeine.newBuilder()
+        .maximumWeight(1000000)
+        .<String, LocalWindow>weigher((key, window) -> window.size())
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
 
     @Before("@annotation(rateLimiter)")
     public void doBefore(JoinPoint point, RateLimiter rateLimiter) {
@@ -61,14 +82,16 @@ public class RateLimiterAspect {
             if (rateLimiter.limitType() == LimitType.CLUSTER) {
                 rateType = RateType.PER_CLIENT;
             }
+            LocalWindow window = localWindows.get(combineKey, k -> new LocalWindow(count, time));
+            long now = System.currentTimeMillis();
+            if (!window.hasPermit(now)) {
+                throw limitException(rateLimiter);
+            }
             long number = RedisUtils.rateLimiter(combineKey, rateType, count, time, timeout);
             if (number == -1) {
-                String message = rateLimiter.message();
-                if (StringUtils.startsWith(message, "{") && StringUtils.endsWith(message, "}")) {
-                    message = MessageUtils.message(StringUtils.substring(message, 1, message.length() - 1));
-                }
-                throw new ServiceException(message);
+                throw limitException(rateLimiter);
             }
+            window.acquire(now);
             log.info("限制令牌 => {}, 剩余令牌 => {}, 缓存key => '{}'", count, number, combineKey);
         } catch (Exception e) {
             if (e instanceof ServiceException) {
@@ -89,13 +112,15 @@ public class RateLimiterAspect {
             MethodBasedEvaluationContext context =
                 new MethodBasedEvaluationContext(null, targetMethod, args, pnd);
             context.setBeanResolver(new BeanFactoryResolver(SpringUtils.getBeanFactory()));
-            Expression expression;
-            if (StringUtils.startsWith(key, parserContext.getExpressionPrefix())
-                && StringUtils.endsWith(key, parserContext.getExpressionSuffix())) {
-                expression = parser.parseExpression(key, parserContext);
-            } else {
-                expression = parser.parseExpression(key);
-            }
+            // 表达式按方法只解析一次
+            String expressionString = key;
+            Expression expression = expressionCache.computeIfAbsent(targetMethod, m -> {
+                if (StringUtils.startsWith(expressionString, parserContext.getExpressionPrefix())
+                    && StringUtils.endsWith(expressionString, parserContext.getExpressionSuffix())) {
+                    return parser.parseExpression(expressionString, parserContext);
+                }
+                return parser.parseExpression(expressionString);
+            });
             key = expression.getValue(context, String.class);
         }
         StringBuilder stringBuffer = new StringBuilder(GlobalConstants.RATE_LIMIT_KEY);
@@ -103,10 +128,59 @@ public class RateLimiterAspect {
         if (rateLimiter.limitType() == LimitType.IP) {
             // 获取请求ip
             stringBuffer.append(ServletUtils.getClientIP()).append(":");
-        } else if (rateLimiter.limitType() == LimitType.CLUSTER) {
-            // 获取客户端实例id
-            stringBuffer.append(RedisUtils.getClient().getId()).append(":");
         }
+        // 集群实例限流时 客户端实例id 由 RedisUtils 按 PER_CLIENT 追加
         return stringBuffer.append(key).toString();
     }
+
+    private ServiceException limitException(RateLimiter rateLimiter) {
+        String message = rateLimiter.message();
+        if (StringUtils.startsWith(message, "{") && StringUtils.endsWith(message, "}")) {
+            message = MessageUtils.message(StringUtils.substring(message, 1, message.length() - 1));
+        }
+        return new ServiceException(message);
+    }
+
+    /**
+     * 本地滑动窗口 环形记录本节点最近 count 次通过的时间
+     */
+    private static final class LocalWindow {
+
+        private final long intervalMillis;
+        private final long[] acquired;
+        private int next;
+
+        LocalWindow(int count, int rateInterval) {
+            this.intervalMillis = Duration.ofSeconds(rateInterval).toMillis();
+            this.acquired = new long[Math.max(1, count)];
+            Arrays.fill(acquired, Long.MIN_VALUE);
+        }
+
+        int size() {
+            return acquired.length;
+        }
+
+        /**
+         * 最早的一次通过仍在窗口内 说明窗口内已通过 count 次
+         */
+        synchronized boolean hasPermit(long now) {
+            return acquired[next] <= now - intervalMillis;
+        }
+
+        /**
+         * 并发请求可能乱序记录 将之前更晚的记录前移到 now 保持环形数组有序, 记录只会提前 不会多拒绝
+         */
+        synchronized void acquire(long now) {
+            acquired[next] = now;
+            int prev = next;
+            for (int i = 1; i < acquired.length; i++) {
+                prev = prev == 0 ? acquired.length - 1 : prev - 1;
+                if (acquired[prev] <= now) {
+                    break;
+                }
+                acquired[prev] = now;
+            }
+            next = (next + 1) % acquired.length;
+        }
+    }
 }
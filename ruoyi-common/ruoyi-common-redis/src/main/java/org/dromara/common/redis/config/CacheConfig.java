@@ -1,15 +1,15 @@
 package org.dromara.common.redis.config;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.dromara.common.redis.config.properties.LocalCacheProperties;
 import org.dromara.common.redis.manager.PlusSpringCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * 缓存配置
  *
@@ -17,29 +17,19 @@ import java.util.concurrent.TimeUnit;
  */
 @AutoConfiguration
 @EnableCaching
+@EnableConfigurationProperties(LocalCacheProperties.class)
 public class CacheConfig {
 
-    /**
-     * caffeine 本地缓存处理器
-     */
-    @Bean
-    public Cache<Object, Object> caffeine() {
-        return Caffeine.newBuilder()
-            // 设置最后一次写入或访问后经过固定时间过期
-            .expireAfterWrite(30, TimeUnit.SECONDS)
-            // 初始的缓存空间大小
-            .initialCapacity(100)
-            // 缓存的最大条数
-            .maximumSize(1000)
-            .build();
-    }
-
     /**
      * 自定义缓存管理器 整合spring-cache
      */
     @Bean
-    public CacheManager cacheManager() {
-        return new PlusSpringCacheManager();
+    public CacheManager cacheManager(LocalCacheProperties localCacheProperties,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        PlusSpringCacheManager cacheManager = new PlusSpringCacheManager();
+        cacheManager.setLocalCacheProperties(localCacheProperties);
+        cacheManager.setMeterRegistry(meterRegistry.getIfAvailable());
+        return cacheManager;
     }
 
 }
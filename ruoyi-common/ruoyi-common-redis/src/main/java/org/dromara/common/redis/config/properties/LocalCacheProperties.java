@@ -0,0 +1,91 @@
+package org.dromara.common.redis.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caffeine 一级缓存配置属性
+ * <p>
+ * 每个缓存名称使用独立的区域, 未单独配置的缓存使用 defaults
+ *
+ * @author Lion Li
+ */
+@Data
+@ConfigurationProperties(prefix = "local-cache")
+public class LocalCacheProperties {
+
+    /**
+     * 默认区域配置
+     */
+    private Region defaults = new Region();
+
+    /**
+     * 按缓存名称(不含 # 后的参数、租户与 global: 前缀)单独配置的区域
+     */
+    private Map<String, Region> regions = new HashMap<>();
+
+    public LocalCacheProperties() {
+        defaults.setInitialCapacity(16);
+        defaults.setMaximumSize(1000L);
+        defaults.setMaximumWeight(0L);
+        defaults.setExpireAfterWrite(Duration.ofMinutes(5));
+    }
+
+    /**
+     * 获取缓存名称对应的区域配置 未配置的项继承 defaults
+     */
+    public Region resolve(String name) {
+        Region region = regions.get(name);
+        if (region == null) {
+            return defaults;
+        }
+        Region merged = new Region();
+        merged.setInitialCapacity(region.getInitialCapacity() != null ? region.getInitialCapacity() : defaults.getInitialCapacity());
+        merged.setMaximumSize(region.getMaximumSize() != null ? region.getMaximumSize() : defaults.getMaximumSize());
+        merged.setMaximumWeight(region.getMaximumWeight() != null ? region.getMaximumWeight() : defaults.getMaximumWeight());
+        merged.setExpireAfterWrite(region.getExpireAfterWrite() != null ? region.getExpireAfterWrite() : defaults.getExpireAfterWrite());
+        merged.setExpireAfterAccess(region.getExpireAfterAccess() != null ? region.getExpireAfterAccess() : defaults.getExpireAfterAccess());
+        merged.setRefreshAfterWrite(region.getRefreshAfterWrite() != null ? region.getRefreshAfterWrite() : defaults.getRefreshAfterWrite());
+        return merged;
+    }
+
+    @Data
+    public static class Region {
+
+        /**
+         * 初始容量
+         */
+        private Integer initialCapacity;
+
+        /**
+         * 最大条数 配置 maximumWeight 后不生效
+         */
+        private Long maximumSize;
+
+        /**
+         * 最大权重 大于 0 时按值的元素个数估算权重(集合按元素数, 字符串按长度)
+         */
+        private Long maximumWeight;
+
+        /**
+         * 写入后过期时间
+         */
+        private Duration expireAfterWrite;
+
+        /**
+         * 访问后过期时间
+         */
+        private Duration expireAfterAccess;
+
+        /**
+         * 写入后异步刷新时间 到期后首次访问返回旧值并从 redis 重新加载
+         */
+        private Duration refreshAfterWrite;
+
+    }
+
+}
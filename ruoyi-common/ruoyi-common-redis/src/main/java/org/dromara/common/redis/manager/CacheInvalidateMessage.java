@@ -0,0 +1,39 @@
+package org.dromara.common.redis.manager;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 本地缓存失效广播消息
+ *
+ * @author Lion Li
+ */
+@Data
+public class CacheInvalidateMessage implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发出消息的节点标识
+     */
+    private String nodeId;
+
+    /**
+     * 缓存名称
+     */
+    private String cacheName;
+
+    /**
+     * 失效的 key，为 null 表示清空整个缓存
+     */
+    private String key;
+
+    /**
+     * 版本号，同一节点内单调递增
+     */
+    private long version;
+
+}
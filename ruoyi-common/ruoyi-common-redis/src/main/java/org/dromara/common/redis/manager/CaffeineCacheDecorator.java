@@ -1,26 +1,49 @@
 package org.dromara.common.redis.manager;
 
-import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RMapCacheAsync;
+import org.redisson.spring.cache.CacheConfig;
 import org.springframework.cache.Cache;
-
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cache 装饰器模式(用于扩展 Caffeine 一级缓存)
+ * <p>
+ * 每个缓存名称使用独立的 Caffeine 区域, 写入与删除通过 {@link LocalCacheSynchronizer} 广播到其他节点
+ * <p>
+ * 区域内统一存放 {@link ValueWrapper}, 便于 refreshAfterWrite 时直接从 redis 重新加载
  *
  * @author LionLi
  */
 public class CaffeineCacheDecorator implements Cache {
 
-    private static final com.github.benmanes.caffeine.cache.Cache<Object, Object>
-        CAFFEINE = SpringUtils.getBean("caffeine");
-
     private final String name;
     private final Cache cache;
+    private final CacheConfig config;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine;
+    private final LocalCacheSynchronizer synchronizer;
 
-    public CaffeineCacheDecorator(String name, Cache cache) {
+    public CaffeineCacheDecorator(String name, Cache cache, CacheConfig config,
+                                  com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine,
+                                  LocalCacheSynchronizer synchronizer) {
         this.name = name;
         this.cache = cache;
+        this.config = config;
+        this.caffeine = caffeine;
+        this.synchronizer = synchronizer;
     }
 
     @Override
@@ -37,29 +60,41 @@ public class CaffeineCacheDecorator implements Cache {
         return name + ":" + key;
     }
 
+    /**
+     * 本地区域内的 key 区域已按缓存名称隔离 统一转为字符串便于跨节点失效
+     */
+    private String getLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+
     @Override
     public ValueWrapper get(Object key) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key));
+        Object o = caffeine.get(getLocalKey(key), k -> cache.get(key));
         return (ValueWrapper) o;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Class<T> type) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key, type));
-        return (T) o;
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
     }
 
     @Override
     public void put(Object key, Object value) {
-        CAFFEINE.invalidate(getUniqueKey(key));
         cache.put(key, value);
+        evictLocal(key);
     }
 
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
-        CAFFEINE.invalidate(getUniqueKey(key));
-        return cache.putIfAbsent(key, value);
+        ValueWrapper wrapper = cache.putIfAbsent(key, value);
+        evictLocal(key);
+        return wrapper;
     }
 
     @Override
@@ -71,27 +106,109 @@ public class CaffeineCacheDecorator implements Cache {
     public boolean evictIfPresent(Object key) {
         boolean b = cache.evictIfPresent(key);
         if (b) {
-            CAFFEINE.invalidate(getUniqueKey(key));
+            evictLocal(key);
         }
         return b;
     }
 
     @Override
     public void clear() {
-        CAFFEINE.invalidateAll();
         cache.clear();
+        caffeine.invalidateAll();
+        synchronizer.publishClear(name);
     }
 
     @Override
     public boolean invalidate() {
-        return cache.invalidate();
+        boolean b = cache.invalidate();
+        caffeine.invalidateAll();
+        synchronizer.publishClear(name);
+        return b;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Callable<T> valueLoader) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key, valueLoader));
-        return (T) o;
+        Object o = caffeine.get(getLocalKey(key), k -> new SimpleValueWrapper(cache.get(key, valueLoader)));
+        return (T) ((ValueWrapper) o).get();
+    }
+
+    /**
+     * 批量获取 本地未命中的 key 一次从 redis 取回并写入本地
+     *
+     * @param keys 缓存key集合
+     * @return 本地 key(字符串形式) -> 缓存值 不包含未命中的 key
+     */
+    public Map<String, ValueWrapper> getAll(Collection<?> keys) {
+        Map<String, Object> keyMap = new LinkedHashMap<>();
+        for (Object key : keys) {
+            keyMap.putIfAbsent(getLocalKey(key), key);
+        }
+        Map<Object, Object> found = caffeine.getAll(keyMap.keySet(), missing -> loadAll(missing, keyMap));
+        Map<String, ValueWrapper> result = new HashMap<>(found.size() * 4 / 3 + 1);
+        found.forEach((key, value) -> result.put((String) key, (ValueWrapper) value));
+        return result;
+    }
+
+    /**
+     * 批量回填数据源查询结果 一次往返写入 redis 并写入本地
+     * <p>
+     * 仅用于回填未命中的 key, 其他节点本地不会持有这些 key 的旧值, 因此不广播失效
+     *
+     * @param values 缓存key -> 缓存值
+     */
+    @SuppressWarnings("unchecked")
+    public void putAll(Map<?, ?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof RMapCache<?, ?> mapCache) {
+            // 与单个写入一致 逐个 key 设置过期时间 合并为一次批处理
+            RBatch batch = RedisUtils.getClient().createBatch();
+            RMapCacheAsync<Object, Object> async = batch.getMapCache(mapCache.getName());
+            values.forEach((key, value) -> async.fastPutAsync(key, value,
+                config.getTTL(), TimeUnit.MILLISECONDS, config.getMaxIdleTime(), TimeUnit.MILLISECONDS));
+            batch.execute();
+        } else if (nativeCache instanceof RMap<?, ?> map) {
+            ((RMap<Object, Object>) map).putAll((Map<Object, Object>) values);
+        } else {
+            values.forEach(cache::put);
+        }
+        values.forEach((key, value) -> caffeine.put(getLocalKey(key), new SimpleValueWrapper(value)));
+    }
+
+    /**
+     * 从 redis 批量加载本地未命中的 key
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> loadAll(Set<?> localKeys, Map<String, Object> keyMap) {
+        Map<Object, Object> loaded = new HashMap<>(localKeys.size() * 4 / 3 + 1);
+        if (cache.getNativeCache() instanceof RMap<?, ?> map) {
+            // redis 中的 key 以字符串编码 取回的 key 即为本地 key
+            ((RMap<Object, Object>) map).getAll(new HashSet<>(localKeys)).forEach((key, value) -> {
+                if (value != null) {
+                    loaded.put(String.valueOf(key), new SimpleValueWrapper(value instanceof NullValue ? null : value));
+                }
+            });
+            return loaded;
+        }
+        for (Object localKey : localKeys) {
+            ValueWrapper wrapper = cache.get(keyMap.get(localKey));
+            if (wrapper != null) {
+                loaded.put(localKey, wrapper);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 先写 redis 再失效本地并广播 避免其他线程在写入前重新加载到旧值
+     */
+    private void evictLocal(Object key) {
+        String localKey = getLocalKey(key);
+        caffeine.invalidate(localKey);
+        synchronizer.publishEvict(name, localKey);
     }
 
 }
@@ -0,0 +1,183 @@
+package org.dromara.common.redis.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.utils.RedisUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 本地缓存集群同步器
+ * <p>
+ * 本节点写入或删除缓存时通过 redis topic 广播失效消息, 其他节点收到后失效对应的 Caffeine 一级缓存
+ * 消息携带来源节点标识与版本号, 忽略自身消息以及重复或乱序到达的旧消息
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class LocalCacheSynchronizer {
+
+    /**
+     * 失效消息频道
+     */
+    public static final String TOPIC = "global:cache:local:invalidate";
+
+    /**
+     * 清空整个缓存时的版本记录 key
+     */
+    private static final String ALL_KEYS = "*";
+
+    /**
+     * 当前节点标识
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 本节点消息版本号 以时间为基准单调递增 重启后依然大于之前发出的版本
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 已处理的 来源节点:缓存名:key -> 最新版本
+     */
+    private final Cache<String, Long> applied = Caffeine.newBuilder()
+        .expireAfterWrite(10, TimeUnit.MINUTES)
+        .maximumSize(10000)
+        .build();
+
+    /**
+     * 根据缓存名称查找本地缓存区域
+     */
+    private final Function<String, Cache<Object, Object>> regionLookup;
+
+    /**
+     * 失效监听 参数为缓存名与 key, key 为 null 表示清空
+     */
+    private final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean subscribed;
+
+    public LocalCacheSynchronizer(Function<String, Cache<Object, Object>> regionLookup) {
+        this.regionLookup = regionLookup;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 订阅失效消息 重复调用只订阅一次
+     */
+    public void subscribe() {
+        if (subscribed) {
+            return;
+        }
+        synchronized (this) {
+            if (subscribed) {
+                return;
+            }
+            RedisUtils.subscribe(TOPIC, CacheInvalidateMessage.class, this::onMessage);
+            subscribed = true;
+        }
+    }
+
+    /**
+     * 注册失效监听 本节点与其他节点的写入、删除和清空都会回调
+     * 用于失效由缓存值派生的本地数据
+     *
+     * @param listener 参数为缓存名与 key, key 为 null 表示清空
+     */
+    public void addListener(BiConsumer<String, String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 广播 key 失效
+     */
+    public void publishEvict(String cacheName, String key) {
+        publish(cacheName, key);
+    }
+
+    /**
+     * 广播清空缓存
+     */
+    public void publishClear(String cacheName) {
+        publish(cacheName, null);
+    }
+
+    private void publish(String cacheName, String key) {
+        notifyListeners(cacheName, key);
+        CacheInvalidateMessage message = new CacheInvalidateMessage();
+        message.setNodeId(nodeId);
+        message.setCacheName(cacheName);
+        message.setKey(key);
+        message.setVersion(nextVersion());
+        try {
+            RedisUtils.publish(TOPIC, message);
+        } catch (Exception e) {
+            // 广播失败不影响本地写入 其他节点的一级缓存最迟在过期后恢复一致
+            log.warn("本地缓存失效消息广播失败 cacheName => {}, key => {}", cacheName, key, e);
+        }
+    }
+
+    private long nextVersion() {
+        long now = System.currentTimeMillis() * 1000;
+        return version.updateAndGet(prev -> Math.max(prev + 1, now));
+    }
+
+    /**
+     * 处理其他节点的失效消息
+     */
+    void onMessage(CacheInvalidateMessage message) {
+        if (message == null || nodeId.equals(message.getNodeId())) {
+            return;
+        }
+        String prefix = message.getNodeId() + ":" + message.getCacheName() + ":";
+        // 同一来源节点之后的清空已覆盖该消息
+        Long clearVersion = applied.getIfPresent(prefix + ALL_KEYS);
+        if (clearVersion != null && message.getVersion() <= clearVersion) {
+            return;
+        }
+        String appliedKey = prefix + (message.getKey() == null ? ALL_KEYS : message.getKey());
+        boolean[] fresh = {false};
+        applied.asMap().compute(appliedKey, (k, last) -> {
+            if (last != null && message.getVersion() <= last) {
+                return last;
+            }
+            fresh[0] = true;
+            return message.getVersion();
+        });
+        if (!fresh[0]) {
+            log.debug("忽略过期的本地缓存失效消息 {} version => {}", appliedKey, message.getVersion());
+            return;
+        }
+        Cache<Object, Object> region = regionLookup.apply(message.getCacheName());
+        if (region != null) {
+            if (message.getKey() == null) {
+                region.invalidateAll();
+            } else {
+                region.invalidate(message.getKey());
+            }
+        }
+        // 先失效一级缓存再通知 避免监听方重新加载到旧值
+        notifyListeners(message.getCacheName(), message.getKey());
+    }
+
+    private void notifyListeners(String cacheName, String key) {
+        for (BiConsumer<String, String> listener : listeners) {
+            try {
+                listener.accept(cacheName, key);
+            } catch (Exception e) {
+                log.warn("本地缓存失效监听处理失败 cacheName => {}, key => {}", cacheName, key, e);
+            }
+        }
+    }
+
+}
@@ -15,6 +15,12 @@
  */
 package org.dromara.common.redis.manager;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.redis.config.properties.LocalCacheProperties;
 import org.dromara.common.redis.utils.RedisUtils;
 import org.redisson.api.RMap;
 import org.redisson.api.RMapCache;
@@ -26,11 +32,15 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.util.StringUtils;
 
+import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 /**
  * A {@link org.springframework.cache.CacheManager} implementation
@@ -54,6 +64,20 @@ public class PlusSpringCacheManager implements CacheManager {
     Map<String, CacheConfig> configMap = new ConcurrentHashMap<>();
     ConcurrentMap<String, Cache> instanceMap = new ConcurrentHashMap<>();
 
+    /**
+     * 各缓存名称独立的 Caffeine 一级缓存区域
+     */
+    ConcurrentMap<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> localRegionMap = new ConcurrentHashMap<>();
+
+    /**
+     * 一级缓存集群失效同步
+     */
+    private final LocalCacheSynchronizer synchronizer = new LocalCacheSynchronizer(localRegionMap::get);
+
+    private LocalCacheProperties localCacheProperties = new LocalCacheProperties();
+
+    private MeterRegistry meterRegistry;
+
     /**
      * Creates CacheManager supplied by Redisson instance
      */
@@ -112,10 +136,134 @@ public class PlusSpringCacheManager implements CacheManager {
         this.configMap = (Map<String, CacheConfig>) config;
     }
 
+    /**
+     * 设置一级缓存区域配置
+     *
+     * @param localCacheProperties 按缓存名称的区域配置
+     */
+    public void setLocalCacheProperties(LocalCacheProperties localCacheProperties) {
+        this.localCacheProperties = localCacheProperties;
+    }
+
+    /**
+     * 设置一级缓存统计导出的指标注册表 为空时不导出
+     *
+     * @param meterRegistry 指标注册表
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     protected CacheConfig createDefaultConfig() {
         return new CacheConfig();
     }
 
+    /**
+     * 获取缓存名称对应的区域配置名 去掉 # 后的参数与全局前缀
+     *
+     * @param name 缓存名称
+     */
+    protected String getRegionName(String name) {
+        String regionName = StringUtils.delimitedListToStringArray(name, "#")[0];
+        if (regionName.startsWith(GlobalConstants.GLOBAL_REDIS_KEY)) {
+            regionName = regionName.substring(GlobalConstants.GLOBAL_REDIS_KEY.length());
+        }
+        return regionName;
+    }
+
+    /**
+     * 创建一级缓存区域 失效由集群广播保证 本地过期时间可以放宽到分钟级
+     *
+     * @param name    缓存名称
+     * @param backing 二级 redis 缓存 refreshAfterWrite 时从此重新加载
+     */
+    protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createLocalRegion(String name, Cache backing) {
+        LocalCacheProperties.Region region = localCacheProperties.resolve(getRegionName(name));
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (region.getInitialCapacity() != null) {
+            builder.initialCapacity(region.getInitialCapacity());
+        }
+        if (region.getMaximumWeight() != null && region.getMaximumWeight() > 0) {
+            builder.maximumWeight(region.getMaximumWeight())
+                .weigher((key, value) -> estimateWeight(value));
+        } else if (region.getMaximumSize() != null) {
+            builder.maximumSize(region.getMaximumSize());
+        }
+        if (region.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(region.getExpireAfterWrite());
+        }
+        if (region.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(region.getExpireAfterAccess());
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+        if (region.getRefreshAfterWrite() != null) {
+            // 区域 key 为字符串形式 与 redis 中的 key 编码一致 可直接回源
+            cache = builder.refreshAfterWrite(region.getRefreshAfterWrite())
+                .build(backing::get);
+        } else {
+            cache = builder.build();
+        }
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "level", "local");
+        }
+        return cache;
+    }
+
+    /**
+     * 按值包含的元素个数估算权重 集合/数组按元素数 字符串每 64 个字符计 1
+     */
+    private static int estimateWeight(Object value) {
+        Object v = value instanceof Cache.ValueWrapper wrapper ? wrapper.get() : value;
+        long weight;
+        if (v instanceof Collection<?> collection) {
+            weight = collection.size();
+        } else if (v instanceof Map<?, ?> map) {
+            weight = map.size();
+        } else if (v instanceof CharSequence cs) {
+            weight = cs.length() / 64;
+        } else if (v != null && v.getClass().isArray()) {
+            weight = Array.getLength(v);
+        } else {
+            weight = 1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, weight));
+    }
+
+    private Cache decorateLocal(String name, Cache cache, CacheConfig config) {
+        synchronizer.subscribe();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> region =
+            localRegionMap.computeIfAbsent(name, k -> createLocalRegion(k, cache));
+        return new CaffeineCacheDecorator(name, cache, config, region, synchronizer);
+    }
+
+    /**
+     * 注册一级缓存失效监听 本节点与其他节点的写入、删除和清空都会回调
+     *
+     * @param listener 参数为缓存名与 key, key 为 null 表示清空
+     */
+    public void addLocalInvalidateListener(BiConsumer<String, String> listener) {
+        synchronizer.addListener(listener);
+    }
+
+    /**
+     * 获取各缓存名称的一级缓存统计
+     *
+     * @return 缓存名称 -> 统计信息 按名称排序
+     */
+    public Map<String, CacheStats> getLocalCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        new TreeMap<>(localRegionMap).forEach((name, region) -> stats.put(name, region.stats()));
+        return stats;
+    }
+
+    /**
+     * 获取缓存名称对应一级缓存区域的当前条数 未启用一级缓存返回 -1
+     */
+    public long getLocalCacheSize(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> region = localRegionMap.get(name);
+        return region != null ? region.estimatedSize() : -1;
+    }
+
     @Override
     public Cache getCache(String name) {
         // 重写 cacheName 支持多参数
@@ -162,7 +310,7 @@ public class PlusSpringCacheManager implements CacheManager {
 
         Cache cache = new RedissonCache(map, allowNullValues);
         if (local == 1) {
-            cache = new CaffeineCacheDecorator(name, cache);
+            cache = decorateLocal(name, cache, config);
         }
         if (transactionAware) {
             cache = new TransactionAwareCacheDecorator(cache);
@@ -179,7 +327,7 @@ public class PlusSpringCacheManager implements CacheManager {
 
         Cache cache = new RedissonCache(map, config, allowNullValues);
         if (local == 1) {
-            cache = new CaffeineCacheDecorator(name, cache);
+            cache = decorateLocal(name, cache, config);
         }
         if (transactionAware) {
             cache = new TransactionAwareCacheDecorator(cache);
@@ -3,8 +3,18 @@ package org.dromara.common.redis.utils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.manager.CaffeineCacheDecorator;
+import org.redisson.api.RMap;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 缓存操作工具类
@@ -17,6 +27,15 @@ public class CacheUtils {
 
     private static final CacheManager CACHE_MANAGER = SpringUtils.getBean(CacheManager.class);
 
+    /**
+     * 获取缓存组的实际名称 多租户时包含租户前缀
+     *
+     * @param cacheNames 缓存组名称
+     */
+    public static String getCacheName(String cacheNames) {
+        return CACHE_MANAGER.getCache(cacheNames).getName();
+    }
+
     /**
      * 获取缓存值
      *
@@ -28,6 +47,79 @@ public class CacheUtils {
         return wrapper != null ? (T) wrapper.get() : null;
     }
 
+    /**
+     * 批量获取缓存值 先查一级缓存 未命中的 key 一次往返从 redis 取回
+     *
+     * @param cacheNames 缓存组名称
+     * @param keys       缓存key集合
+     * @return 缓存key -> 缓存值 不包含未命中与缓存为空值的 key
+     */
+    public static <K, T> Map<K, T> getAll(String cacheNames, Collection<K> keys) {
+        Cache cache = getTargetCache(cacheNames);
+        Map<K, T> result = new HashMap<>(keys.size() * 4 / 3 + 1);
+        if (cache instanceof CaffeineCacheDecorator decorator) {
+            Map<String, Cache.ValueWrapper> values = decorator.getAll(keys);
+            for (K key : keys) {
+                Cache.ValueWrapper wrapper = values.get(String.valueOf(key));
+                if (wrapper != null && wrapper.get() != null) {
+                    result.put(key, (T) wrapper.get());
+                }
+            }
+            return result;
+        }
+        if (cache.getNativeCache() instanceof RMap<?, ?> map) {
+            // redis 中的 key 以字符串编码 按字符串形式对应回入参 key
+            Set<Object> stringKeys = new HashSet<>();
+            for (K key : keys) {
+                stringKeys.add(String.valueOf(key));
+            }
+            Map<?, ?> values = ((RMap<Object, Object>) map).getAll(stringKeys);
+            for (K key : keys) {
+                Object value = values.get(String.valueOf(key));
+                if (value != null && !(value instanceof NullValue)) {
+                    result.put(key, (T) value);
+                }
+            }
+            return result;
+        }
+        for (K key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                result.put(key, (T) wrapper.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量回填缓存值 用于写入从数据源查询到的未命中数据 一次往返写入 redis
+     *
+     * @param cacheNames 缓存组名称
+     * @param values     缓存key -> 缓存值
+     */
+    public static void putAll(String cacheNames, Map<?, ?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Cache cache = getTargetCache(cacheNames);
+        if (cache instanceof CaffeineCacheDecorator decorator) {
+            decorator.putAll(values);
+            return;
+        }
+        values.forEach(cache::put);
+    }
+
+    /**
+     * 获取去除事务装饰后的缓存 批量读取与回填无需等待事务提交
+     */
+    private static Cache getTargetCache(String cacheNames) {
+        Cache cache = CACHE_MANAGER.getCache(cacheNames);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            return decorator.getTargetCache();
+        }
+        return cache;
+    }
+
     /**
      * 保存缓存值
      *
@@ -3,14 +3,18 @@ package org.dromara.common.redis.utils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
 import org.redisson.api.*;
 import org.redisson.api.options.KeysScanOptions;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
 
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +31,38 @@ public class RedisUtils {
 
     private static final RedissonClient CLIENT = SpringUtils.getBean(RedissonClient.class);
 
+    /**
+     * 滑动窗口限流脚本 参考 Redisson 令牌记录实现 清理过期记录与获取许可在一次调用中原子完成
+     * <p>
+     * 每次通过在有序集合中记录一条以当前时间为分值的许可, 任意一个速率间隔内最多通过 rate 次;
+     * KEYS[1] 限流key, ARGV[1] 速率, ARGV[2] 速率间隔(毫秒), ARGV[3] 许可唯一标识
+     * 返回剩余许可数 -1 表示失败
+     */
+    private static final String RATE_LIMITER_SCRIPT = """
+        local rate = tonumber(ARGV[1])
+        local interval = tonumber(ARGV[2])
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - interval)
+        local used = redis.call('ZCARD', KEYS[1])
+        if used >= rate then
+            return -1
+        end
+        redis.call('ZADD', KEYS[1], now, ARGV[3])
+        redis.call('PEXPIRE', KEYS[1], interval)
+        return rate - used - 1
+        """;
+
+    /**
+     * 滑动窗口记录的 key 后缀
+     */
+    private static final String RATE_LIMITER_WINDOW_SUFFIX = ":window";
+
+    /**
+     * 限流脚本的 SHA1 首次使用时加载 之后通过 EVALSHA 调用 不再每次发送脚本内容
+     */
+    private static volatile String rateLimiterSha;
+
     /**
      * 限流
      *
@@ -41,23 +77,47 @@ public class RedisUtils {
     }
 
     /**
-     * 限流
+     * 限流 任意一个速率间隔内最多通过 rate 次
      *
      * @param key          限流key
-     * @param rateType     限流类型
+     * @param rateType     限流类型 PER_CLIENT 时按客户端实例分别限流
      * @param rate         速率
      * @param rateInterval 速率间隔
-     * @param timeout      超时时间
+     * @param timeout      超时时间 许可记录在一个速率间隔后全部过期 限流状态随之清除 该值不再生效 仅为兼容保留
      * @return -1 表示失败
      */
     public static long rateLimiter(String key, RateType rateType, int rate, int rateInterval, int timeout) {
-        RRateLimiter rateLimiter = CLIENT.getRateLimiter(key);
-        rateLimiter.trySetRate(rateType, rate, Duration.ofSeconds(rateInterval), Duration.ofSeconds(timeout));
-        if (rateLimiter.tryAcquire()) {
-            return rateLimiter.availablePermits();
-        } else {
-            return -1L;
+        if (rateType == RateType.PER_CLIENT) {
+            key = key + ":" + CLIENT.getId();
+        }
+        // 使用独立的 key 升级前 RRateLimiter 以 hash 存储的同名 key 可能仍未过期 直接复用会报 WRONGTYPE
+        key = key + RATE_LIMITER_WINDOW_SUFFIX;
+        long interval = Duration.ofSeconds(rateInterval).toMillis();
+        // 同一毫秒内的多次通过需要不同的成员 否则会互相覆盖
+        long permitId = ThreadLocalRandom.current().nextLong();
+        RScript script = CLIENT.getScript(StringCodec.INSTANCE);
+        Long result;
+        try {
+            result = script.evalSha(key, RScript.Mode.READ_WRITE, loadRateLimiterScript(script, false),
+                RScript.ReturnType.INTEGER, List.of(key), rate, interval, permitId);
+        } catch (RedisException e) {
+            if (!StringUtils.contains(e.getMessage(), "NOSCRIPT")) {
+                throw e;
+            }
+            // 脚本缓存被清空(SCRIPT FLUSH 或主从切换) 重新加载后重试
+            result = script.evalSha(key, RScript.Mode.READ_WRITE, loadRateLimiterScript(script, true),
+                RScript.ReturnType.INTEGER, List.of(key), rate, interval, permitId);
+        }
+        return result == null ? -1L : result;
+    }
+
+    private static String loadRateLimiterScript(RScript script, boolean reload) {
+        String sha = rateLimiterSha;
+        if (sha == null || reload) {
+            sha = script.scriptLoad(RATE_LIMITER_SCRIPT);
+            rateLimiterSha = sha;
         }
+        return sha;
     }
 
     /**
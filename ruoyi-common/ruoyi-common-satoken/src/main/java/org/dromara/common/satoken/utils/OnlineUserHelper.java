@@ -0,0 +1,221 @@
+package org.dromara.common.satoken.utils;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.dromara.common.core.constant.CacheConstants;
+import org.dromara.common.core.domain.dto.UserOnlineDTO;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 在线用户登记助手
+ * <p>
+ * 每个 token 仍保存在 online_tokens:{token} 中并随登录超时过期,
+ * 另外维护 全部/用户名/IP 三个有序集合索引 score 为过期时间戳, 索引随其中最晚过期的 token 过期,
+ * 列表查询按索引分页后批量获取 不再扫描键空间
+ * <p>
+ * 所有 key 均经过租户前缀处理 调用方需处于对应租户上下文中
+ *
+ * @author Lion Li
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OnlineUserHelper {
+
+    private static final String ALL_INDEX = CacheConstants.ONLINE_TOKEN_INDEX_KEY + "all";
+    private static final String USER_INDEX = CacheConstants.ONLINE_TOKEN_INDEX_KEY + "user:";
+    private static final String IP_INDEX = CacheConstants.ONLINE_TOKEN_INDEX_KEY + "ip:";
+
+    /**
+     * 永不过期 token 的 score
+     */
+    private static final double NEVER_EXPIRE = Long.MAX_VALUE;
+
+    /**
+     * 索引过期时间设为最晚过期 token 的过期时间 含永不过期 token 时不过期
+     * 只登录一次的用户与 IP 索引随其 token 一起过期 不会在 redis 中长期残留
+     */
+    private static final String INDEX_EXPIRE_SCRIPT = """
+        local top = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+        if top[2] == nil then
+            return 0
+        end
+        local expireAt = tonumber(top[2])
+        if expireAt >= 9.2e18 then
+            redis.call('PERSIST', KEYS[1])
+        else
+            redis.call('PEXPIREAT', KEYS[1], string.format('%d', math.floor(expireAt)))
+        end
+        return 1
+        """;
+
+    /**
+     * 登记在线用户 写入在线信息与索引 并顺带清理该用户与 IP 索引中已过期的 token
+     *
+     * @param dto     在线用户信息
+     * @param timeout 超时时间(秒) -1 为永不过期
+     */
+    public static void register(UserOnlineDTO dto, long timeout) {
+        RBatch batch = RedisUtils.getClient().createBatch();
+        register(batch, dto, timeout);
+        batch.execute();
+    }
+
+    /**
+     * 将登记在线用户的命令加入批处理 由调用方统一执行
+     * <p>
+     * key 在加入时即完成租户前缀处理 多租户批量登记时需在各自租户上下文中调用
+     *
+     * @param batch   批处理
+     * @param dto     在线用户信息
+     * @param timeout 超时时间(秒) -1 为永不过期
+     */
+    public static void register(RBatch batch, UserOnlineDTO dto, long timeout) {
+        String tokenValue = dto.getTokenId();
+        long now = System.currentTimeMillis();
+        double score = timeout == -1 ? NEVER_EXPIRE : now + timeout * 1000;
+        RBucketAsync<UserOnlineDTO> bucket = batch.getBucket(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+        if (timeout == -1) {
+            bucket.setAsync(dto);
+        } else {
+            bucket.setAsync(dto, Duration.ofSeconds(timeout));
+        }
+        for (String index : indexKeys(dto)) {
+            RScoredSortedSetAsync<String> set = batch.getScoredSortedSet(index);
+            set.removeRangeByScoreAsync(Double.NEGATIVE_INFINITY, true, now, true);
+            set.addAsync(score, tokenValue);
+            batch.getScript(StringCodec.INSTANCE).evalAsync(index, RScript.Mode.READ_WRITE, INDEX_EXPIRE_SCRIPT,
+                RScript.ReturnType.INTEGER, Collections.singletonList(index));
+        }
+    }
+
+    /**
+     * 注销在线用户 删除在线信息并从索引中移除
+     *
+     * @param tokenValue token值
+     */
+    public static void unregister(String tokenValue) {
+        String key = CacheConstants.ONLINE_TOKEN_KEY + tokenValue;
+        UserOnlineDTO dto = RedisUtils.getCacheObject(key);
+        RBatch batch = RedisUtils.getClient().createBatch();
+        batch.getBucket(key).deleteAsync();
+        if (dto == null) {
+            batch.getScoredSortedSet(ALL_INDEX).removeAsync(tokenValue);
+        } else {
+            for (String index : indexKeys(dto)) {
+                batch.getScoredSortedSet(index).removeAsync(tokenValue);
+            }
+        }
+        batch.execute();
+    }
+
+    /**
+     * 分页查询在线用户 按过期时间倒序(最近登录在前)
+     *
+     * @param ipaddr   IP地址
+     * @param userName 用户名
+     * @param offset   起始位置
+     * @param limit    条数 小于等于 0 查全部
+     * @return 当前页数据与总数
+     */
+    public static OnlinePage page(String ipaddr, String userName, int offset, int limit) {
+        boolean filterUser = StringUtils.isNotEmpty(userName);
+        boolean filterIp = StringUtils.isNotEmpty(ipaddr);
+        if (filterUser && filterIp) {
+            // 同一用户的 token 数量有限 取用户索引后在内存中按 IP 过滤
+            List<UserOnlineDTO> list = getOnlineUsers(USER_INDEX + userName, rangeTokens(USER_INDEX + userName, 0, -1));
+            list.removeIf(dto -> !StringUtils.equals(ipaddr, dto.getIpaddr()));
+            int from = Math.min(offset, list.size());
+            int to = limit <= 0 ? list.size() : (int) Math.min((long) from + limit, list.size());
+            return new OnlinePage(new ArrayList<>(list.subList(from, to)), list.size());
+        }
+        String index = filterUser ? USER_INDEX + userName : filterIp ? IP_INDEX + ipaddr : ALL_INDEX;
+        RScoredSortedSet<String> set = RedisUtils.getClient().getScoredSortedSet(index);
+        set.removeRangeByScore(Double.NEGATIVE_INFINITY, true, System.currentTimeMillis(), true);
+        long total = set.size();
+        if (total == 0 || offset >= total) {
+            return new OnlinePage(new ArrayList<>(), total);
+        }
+        int end = limit <= 0 ? -1 : (int) Math.min((long) offset + limit - 1, total - 1);
+        List<String> tokens = rangeTokens(index, offset, end);
+        List<UserOnlineDTO> list = getOnlineUsers(index, tokens);
+        return new OnlinePage(list, total - (tokens.size() - list.size()));
+    }
+
+    /**
+     * 批量获取 token 对应的在线信息 一次往返 保持入参顺序
+     *
+     * @param tokens token集合
+     * @return 在线用户信息(已忽略不存在的 token)
+     */
+    public static List<UserOnlineDTO> getOnlineUsers(Collection<String> tokens) {
+        return getOnlineUsers(null, tokens);
+    }
+
+    /**
+     * 批量获取在线信息 在线信息已不存在的 token 从索引中移除
+     */
+    private static List<UserOnlineDTO> getOnlineUsers(String index, Collection<String> tokens) {
+        if (CollUtil.isEmpty(tokens)) {
+            return new ArrayList<>();
+        }
+        RedissonClient client = RedisUtils.getClient();
+        String[] keys = tokens.stream().map(token -> CacheConstants.ONLINE_TOKEN_KEY + token).toArray(String[]::new);
+        Map<String, UserOnlineDTO> values = client.getBuckets().get(keys);
+        List<UserOnlineDTO> list = new ArrayList<>(values.size());
+        List<String> missing = new ArrayList<>();
+        for (String token : tokens) {
+            UserOnlineDTO dto = values.get(CacheConstants.ONLINE_TOKEN_KEY + token);
+            if (dto != null) {
+                list.add(dto);
+            } else {
+                missing.add(token);
+            }
+        }
+        if (index != null && !missing.isEmpty()) {
+            client.<String>getScoredSortedSet(index).removeAll(missing);
+        }
+        return list;
+    }
+
+    private static List<String> rangeTokens(String index, int start, int end) {
+        Collection<String> tokens = RedisUtils.getClient().<String>getScoredSortedSet(index).valueRangeReversed(start, end);
+        return tokens == null ? Collections.emptyList() : new ArrayList<>(tokens);
+    }
+
+    private static List<String> indexKeys(UserOnlineDTO dto) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(ALL_INDEX);
+        if (StringUtils.isNotEmpty(dto.getUserName())) {
+            keys.add(USER_INDEX + dto.getUserName());
+        }
+        if (StringUtils.isNotEmpty(dto.getIpaddr())) {
+            keys.add(IP_INDEX + dto.getIpaddr());
+        }
+        return keys;
+    }
+
+    /**
+     * 在线用户分页结果
+     *
+     * @param rows  当前页数据
+     * @param total 总数
+     */
+    public record OnlinePage(List<UserOnlineDTO> rows, long total) {
+    }
+
+}
@@ -3,8 +3,11 @@ package org.dromara.common.tenant.config;
 import cn.dev33.satoken.dao.SaTokenDao;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.dromara.common.core.utils.reflect.ReflectUtils;
+import org.dromara.common.redis.config.CacheConfig;
 import org.dromara.common.redis.config.RedisConfig;
+import org.dromara.common.redis.config.properties.LocalCacheProperties;
 import org.dromara.common.redis.config.properties.RedissonProperties;
 import org.dromara.common.tenant.core.TenantSaTokenDao;
 import org.dromara.common.tenant.handle.PlusTenantLineHandler;
@@ -14,6 +17,7 @@ import org.dromara.common.tenant.properties.TenantProperties;
 import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.SingleServerConfig;
 import org.redisson.spring.starter.RedissonAutoConfigurationCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -28,7 +32,7 @@ import org.springframework.context.annotation.Primary;
  * @author Lion Li
  */
 @EnableConfigurationProperties(TenantProperties.class)
-@AutoConfiguration(after = {RedisConfig.class})
+@AutoConfiguration(after = {RedisConfig.class, CacheConfig.class})
 @ConditionalOnProperty(value = "tenant.enable", havingValue = "true")
 public class TenantConfig {
 
@@ -70,8 +74,12 @@ public class TenantConfig {
      */
     @Primary
     @Bean
-    public CacheManager tenantCacheManager() {
-        return new TenantSpringCacheManager();
+    public CacheManager tenantCacheManager(LocalCacheProperties localCacheProperties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        TenantSpringCacheManager cacheManager = new TenantSpringCacheManager();
+        cacheManager.setLocalCacheProperties(localCacheProperties);
+        cacheManager.setMeterRegistry(meterRegistry.getIfAvailable());
+        return cacheManager;
     }
 
     /**
@@ -38,4 +38,16 @@ public class TenantSpringCacheManager extends PlusSpringCacheManager {
         return super.getCache(tenantId + ":" + name);
     }
 
+    /**
+     * 区域配置按不含租户前缀的缓存名称匹配 各租户共用同一份配置
+     */
+    @Override
+    protected String getRegionName(String name) {
+        String tenantId = TenantHelper.getTenantId();
+        if (StringUtils.isNotBlank(tenantId) && StringUtils.startsWith(name, tenantId + ":")) {
+            name = name.substring(tenantId.length() + 1);
+        }
+        return super.getRegionName(name);
+    }
+
 }
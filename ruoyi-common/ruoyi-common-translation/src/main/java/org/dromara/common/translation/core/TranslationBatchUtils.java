@@ -0,0 +1,80 @@
+package org.dromara.common.translation.core;
+
+import cn.hutool.core.convert.Convert;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.dromara.common.core.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量翻译工具 处理 Long 或逗号分隔字符串形式的 id 键
+ *
+ * @author Lion Li
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TranslationBatchUtils {
+
+    /**
+     * 拆分所有键中的 id 并去重
+     *
+     * @param keys Long 或逗号分隔的 id 字符串
+     * @return 去重后的 id
+     */
+    public static List<Long> splitIds(Collection<Object> keys) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object key : keys) {
+            if (key instanceof Long id) {
+                ids.add(id);
+            } else if (key instanceof String str) {
+                ids.addAll(StringUtils.splitTo(str, Convert::toLong));
+            }
+        }
+        ids.remove(null);
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * 按键组装翻译结果 多个 id 的键用逗号拼接
+     * <p>
+     * 只返回所有 id 都已翻译的键, 其余键由调用方回退到单个翻译, 保持与单个翻译一致的结果
+     *
+     * @param keys   Long 或逗号分隔的 id 字符串
+     * @param values id 与翻译结果的映射
+     * @return 键与翻译结果的映射
+     */
+    public static Map<Object, String> joinByKey(Collection<Object> keys, Map<Long, String> values) {
+        Map<Object, String> map = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            if (key instanceof Long id) {
+                if (values.containsKey(id)) {
+                    map.put(key, values.get(id));
+                }
+            } else if (key instanceof String str) {
+                List<String> list = new ArrayList<>();
+                boolean complete = true;
+                for (Long id : StringUtils.splitTo(str, Convert::toLong)) {
+                    String value = values.get(id);
+                    if (value == null) {
+                        complete = false;
+                        break;
+                    }
+                    if (StringUtils.isNotBlank(value)) {
+                        list.add(value);
+                    }
+                }
+                if (complete) {
+                    map.put(key, StringUtils.joinComma(list));
+                }
+            }
+        }
+        return map;
+    }
+
+}
@@ -2,10 +2,12 @@ package org.dromara.common.translation.core.handler;
 
 import cn.hutool.core.util.ObjectUtil;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.reflect.ReflectUtils;
@@ -14,12 +16,21 @@ import org.dromara.common.translation.core.TranslationInterface;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 翻译处理器
+ * <p>
+ * 对象处于列表中时 首次序列化该字段会收集整个列表的键并调用
+ * {@link TranslationInterface#translationBatch} 一次性翻译, 结果保存在本次序列化的上下文属性中供后续行使用
  *
  * @author Lion Li
  */
@@ -31,8 +42,26 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
      */
     public static final Map<String, TranslationInterface<?>> TRANSLATION_MAPPER = new ConcurrentHashMap<>();
 
+    /**
+     * 本次序列化的批量翻译结果 列表 -> 字段处理器 -> 键与翻译结果
+     */
+    private static final Object BATCH_ATTRIBUTE = TranslationHandler.class.getName() + ".batch";
+
     private Translation translation;
 
+    /**
+     * 注解所在的字段或方法 用于批量收集同一列表中其他对象的键
+     */
+    private AnnotatedMember member;
+
+    public TranslationHandler() {
+    }
+
+    public TranslationHandler(Translation translation, AnnotatedMember member) {
+        this.translation = translation;
+        this.member = member;
+    }
+
     @Override
     public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         TranslationInterface<?> trans = TRANSLATION_MAPPER.get(translation.type());
@@ -47,7 +76,9 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
                 return;
             }
             try {
-                Object result = trans.translation(value, translation.other());
+                Map<Object, ?> batch = getBatch(trans, gen, serializers);
+                Object result = batch != null && batch.containsKey(value)
+                    ? batch.get(value) : trans.translation(value, translation.other());
                 gen.writeObject(result);
             } catch (Exception e) {
                 log.error("翻译处理异常，type: {}, value: {}", translation.type(), value, e);
@@ -59,12 +90,73 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
         }
     }
 
+    /**
+     * 获取当前对象所在列表的批量翻译结果 不在列表中返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Object, ?> getBatch(TranslationInterface<?> trans, JsonGenerator gen, SerializerProvider serializers) {
+        if (member == null) {
+            return null;
+        }
+        JsonStreamContext parent = gen.getOutputContext().getParent();
+        if (parent == null || !parent.inArray()) {
+            return null;
+        }
+        Collection<?> rows = toRows(parent.getCurrentValue());
+        if (rows == null || rows.size() < 2) {
+            return null;
+        }
+        Map<Object, Map<TranslationHandler, Map<Object, ?>>> cache =
+            (Map<Object, Map<TranslationHandler, Map<Object, ?>>>) serializers.getAttribute(BATCH_ATTRIBUTE);
+        if (cache == null) {
+            cache = new IdentityHashMap<>();
+            serializers.setAttribute(BATCH_ATTRIBUTE, cache);
+        }
+        Map<TranslationHandler, Map<Object, ?>> handlers = cache.computeIfAbsent(parent.getCurrentValue(), k -> new IdentityHashMap<>());
+        Map<Object, ?> batch = handlers.get(this);
+        if (batch == null) {
+            Set<Object> keys = collectKeys(rows);
+            batch = keys.isEmpty() ? Collections.emptyMap() : trans.translationBatch(keys, translation.other());
+            handlers.put(this, batch);
+        }
+        return batch;
+    }
+
+    /**
+     * 收集列表中所有对象的去重键
+     */
+    private Set<Object> collectKeys(Collection<?> rows) {
+        Set<Object> keys = new LinkedHashSet<>();
+        Class<?> declaringClass = member.getDeclaringClass();
+        for (Object row : rows) {
+            if (row == null || !declaringClass.isInstance(row)) {
+                continue;
+            }
+            Object key = StringUtils.isNotBlank(translation.mapper())
+                ? ReflectUtils.invokeGetter(row, translation.mapper())
+                : member.getValue(row);
+            if (ObjectUtil.isNotNull(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static Collection<?> toRows(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection;
+        }
+        if (value instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        return null;
+    }
+
     @Override
     public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
         Translation translation = property.getAnnotation(Translation.class);
         if (Objects.nonNull(translation)) {
-            this.translation = translation;
-            return this;
+            return new TranslationHandler(translation, property.getMember());
         }
         return prov.findValueSerializer(property.getType(), property);
     }
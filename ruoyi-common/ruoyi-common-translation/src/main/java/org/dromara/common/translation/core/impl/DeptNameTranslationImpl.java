@@ -4,8 +4,12 @@ import org.dromara.common.core.service.DeptService;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.translation.core.TranslationBatchUtils;
 import lombok.AllArgsConstructor;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * 部门翻译实现
  *
@@ -26,4 +30,9 @@ public class DeptNameTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        return TranslationBatchUtils.joinByKey(keys, deptService.selectDeptNamesByIds(TranslationBatchUtils.splitIds(keys)));
+    }
 }
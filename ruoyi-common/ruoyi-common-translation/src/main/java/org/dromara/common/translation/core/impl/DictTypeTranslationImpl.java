@@ -7,6 +7,11 @@ import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 import lombok.AllArgsConstructor;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
 /**
  * 字典翻译实现
  *
@@ -25,4 +30,30 @@ public class DictTypeTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    /**
+     * 同一字典类型只取一次字典数据 多值按分隔符逐个翻译 与 {@link DictService#getDictLabel} 结果一致
+     */
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        Map<Object, String> map = new HashMap<>(keys.size());
+        if (StringUtils.isBlank(other)) {
+            return map;
+        }
+        Map<String, String> labels = dictService.getAllDictByDictType(other);
+        for (Object key : keys) {
+            if (key instanceof String dictValue) {
+                if (StringUtils.containsAny(dictValue, DictService.SEPARATOR)) {
+                    StringJoiner joiner = new StringJoiner(DictService.SEPARATOR);
+                    for (String value : dictValue.split(DictService.SEPARATOR)) {
+                        joiner.add(labels.getOrDefault(value, StringUtils.EMPTY));
+                    }
+                    map.put(key, joiner.toString());
+                } else {
+                    map.put(key, labels.getOrDefault(dictValue, StringUtils.EMPTY));
+                }
+            }
+        }
+        return map;
+    }
 }
@@ -5,6 +5,13 @@ import org.dromara.common.core.service.UserService;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.core.domain.dto.UserDTO;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.translation.core.TranslationBatchUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 用户名称翻译实现
@@ -26,4 +33,10 @@ public class NicknameTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        List<UserDTO> users = userService.selectListByIds(TranslationBatchUtils.splitIds(keys));
+        return TranslationBatchUtils.joinByKey(keys, StreamUtils.toMap(users, UserDTO::getUserId, UserDTO::getNickName));
+    }
 }
@@ -4,8 +4,16 @@ import org.dromara.common.core.service.OssService;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.core.domain.dto.OssDTO;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.translation.core.TranslationBatchUtils;
 import lombok.AllArgsConstructor;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * OSS翻译实现
  *
@@ -26,4 +34,14 @@ public class OssUrlTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        List<OssDTO> list = ossService.selectByIds(StringUtils.joinComma(TranslationBatchUtils.splitIds(keys)));
+        Map<Long, String> urls = new HashMap<>(list.size());
+        for (OssDTO oss : list) {
+            urls.put(oss.getOssId(), StringUtils.blankToDefault(oss.getUrl(), StringUtils.EMPTY));
+        }
+        return TranslationBatchUtils.joinByKey(keys, urls);
+    }
 }
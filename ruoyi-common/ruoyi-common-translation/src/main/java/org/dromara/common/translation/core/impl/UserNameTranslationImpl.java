@@ -5,8 +5,15 @@ import org.dromara.common.core.service.UserService;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.core.domain.dto.UserDTO;
+import org.dromara.common.core.utils.StreamUtils;
 import lombok.AllArgsConstructor;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 用户名翻译实现
  *
@@ -22,4 +29,18 @@ public class UserNameTranslationImpl implements TranslationInterface<String> {
     public String translation(Object key, String other) {
         return userService.selectUserNameById(Convert.toLong(key));
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Collection<Object> keys, String other) {
+        List<Long> ids = StreamUtils.toList(keys, Convert::toLong);
+        Map<Long, String> names = StreamUtils.toMap(userService.selectListByIds(ids), UserDTO::getUserId, UserDTO::getUserName);
+        Map<Object, String> map = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            Long id = Convert.toLong(key);
+            if (names.containsKey(id)) {
+                map.put(key, names.get(id));
+            }
+        }
+        return map;
+    }
 }
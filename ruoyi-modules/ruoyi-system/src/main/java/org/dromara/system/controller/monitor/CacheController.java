@@ -1,10 +1,13 @@
 package org.dromara.system.controller.monitor;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.domain.R;
 import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.manager.PlusSpringCacheManager;
 import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisConnectionUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +27,7 @@ import java.util.*;
 public class CacheController {
 
     private final RedissonConnectionFactory connectionFactory;
+    private final CacheManager cacheManager;
 
     /**
      * 获取缓存监控列表
@@ -53,6 +57,19 @@ public class CacheController {
         }
     }
 
+    /**
+     * 获取一级缓存(Caffeine)各区域命中统计
+     */
+    @SaCheckPermission("monitor:cache:list")
+    @GetMapping("/local")
+    public R<List<LocalCacheInfoVo>> getLocalInfo() {
+        List<LocalCacheInfoVo> list = new ArrayList<>();
+        if (cacheManager instanceof PlusSpringCacheManager manager) {
+            manager.getLocalCacheStats().forEach((name, stats) -> list.add(LocalCacheInfoVo.of(name, manager.getLocalCacheSize(name), stats)));
+        }
+        return R.ok(list);
+    }
+
     /**
      * 缓存监控列表信息
      *
@@ -62,4 +79,25 @@ public class CacheController {
      */
     public record CacheListInfoVo(Properties info, Long dbSize, List<Map<String, String>> commandStats) {}
 
+    /**
+     * 一级缓存区域统计信息
+     *
+     * @param cacheName          缓存名称
+     * @param size               当前条数
+     * @param hitCount           命中次数
+     * @param missCount          未命中次数
+     * @param hitRate            命中率
+     * @param evictionCount      容量/过期淘汰次数
+     * @param loadCount          回源加载次数
+     * @param averageLoadPenalty 平均回源耗时(毫秒)
+     */
+    public record LocalCacheInfoVo(String cacheName, Long size, Long hitCount, Long missCount, Double hitRate,
+                                   Long evictionCount, Long loadCount, Double averageLoadPenalty) {
+
+        static LocalCacheInfoVo of(String cacheName, long size, CacheStats stats) {
+            return new LocalCacheInfoVo(cacheName, size, stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), stats.loadCount(), stats.averageLoadPenalty() / 1_000_000D);
+        }
+    }
+
 }
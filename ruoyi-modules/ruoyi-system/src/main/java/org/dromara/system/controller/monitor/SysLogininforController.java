@@ -16,12 +16,11 @@ import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.web.core.BaseController;
 import org.dromara.system.domain.bo.SysLogininforBo;
 import org.dromara.system.domain.vo.SysLogininforVo;
+import org.dromara.system.service.ISysExportService;
 import org.dromara.system.service.ISysLogininforService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 系统访问记录
  *
@@ -34,6 +33,7 @@ import java.util.List;
 public class SysLogininforController extends BaseController {
 
     private final ISysLogininforService logininforService;
+    private final ISysExportService exportService;
 
     /**
      * 获取系统访问记录列表
@@ -51,8 +51,20 @@ public class SysLogininforController extends BaseController {
     @SaCheckPermission("monitor:logininfor:export")
     @PostMapping("/export")
     public void export(SysLogininforBo logininfor, HttpServletResponse response) {
-        List<SysLogininforVo> list = logininforService.selectLogininforList(logininfor);
-        ExcelUtil.exportExcel(list, "登录日志", SysLogininforVo.class, response);
+        ExcelUtil.exportExcelByPage(last -> logininforService.selectLogininforList(logininfor, last, ExcelUtil.EXPORT_PAGE_SIZE),
+            "登录日志", SysLogininforVo.class, response);
+    }
+
+    /**
+     * 异步导出登录日志列表 完成后通过消息通知
+     */
+    @Log(title = "登录日志", businessType = BusinessType.EXPORT)
+    @SaCheckPermission("monitor:logininfor:export")
+    @PostMapping("/exportAsync")
+    public R<Void> exportAsync(SysLogininforBo logininfor) {
+        exportService.exportAsync(last -> logininforService.selectLogininforList(logininfor, last, ExcelUtil.EXPORT_PAGE_SIZE),
+            "登录日志", SysLogininforVo.class);
+        return R.ok("导出任务已提交，完成后将通过消息通知");
     }
 
     /**
@@ -13,12 +13,11 @@ import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.web.core.BaseController;
 import org.dromara.system.domain.bo.SysOperLogBo;
 import org.dromara.system.domain.vo.SysOperLogVo;
+import org.dromara.system.service.ISysExportService;
 import org.dromara.system.service.ISysOperLogService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 操作日志记录
  *
@@ -31,6 +30,7 @@ import java.util.List;
 public class SysOperlogController extends BaseController {
 
     private final ISysOperLogService operLogService;
+    private final ISysExportService exportService;
 
     /**
      * 获取操作日志记录列表
@@ -48,8 +48,20 @@ public class SysOperlogController extends BaseController {
     @SaCheckPermission("monitor:operlog:export")
     @PostMapping("/export")
     public void export(SysOperLogBo operLog, HttpServletResponse response) {
-        List<SysOperLogVo> list = operLogService.selectOperLogList(operLog);
-        ExcelUtil.exportExcel(list, "操作日志", SysOperLogVo.class, response);
+        ExcelUtil.exportExcelByPage(last -> operLogService.selectOperLogList(operLog, last, ExcelUtil.EXPORT_PAGE_SIZE),
+            "操作日志", SysOperLogVo.class, response);
+    }
+
+    /**
+     * 异步导出操作日志记录列表 完成后通过消息通知
+     */
+    @Log(title = "操作日志", businessType = BusinessType.EXPORT)
+    @SaCheckPermission("monitor:operlog:export")
+    @PostMapping("/exportAsync")
+    public R<Void> exportAsync(SysOperLogBo operLog) {
+        exportService.exportAsync(last -> operLogService.selectOperLogList(operLog, last, ExcelUtil.EXPORT_PAGE_SIZE),
+            "操作日志", SysOperLogVo.class);
+        return R.ok("导出任务已提交，完成后将通过消息通知");
     }
 
     /**
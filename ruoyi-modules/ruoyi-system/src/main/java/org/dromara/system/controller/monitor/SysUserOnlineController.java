@@ -4,26 +4,23 @@ import cn.dev33.satoken.annotation.SaCheckPermission;
 import cn.dev33.satoken.exception.NotLoginException;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.ObjectUtil;
 import lombok.RequiredArgsConstructor;
-import org.dromara.common.core.constant.CacheConstants;
 import org.dromara.common.core.domain.R;
 import org.dromara.common.core.domain.dto.UserOnlineDTO;
 import org.dromara.common.core.utils.StreamUtils;
-import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.idempotent.annotation.RepeatSubmit;
 import org.dromara.common.log.annotation.Log;
 import org.dromara.common.log.enums.BusinessType;
+import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
-import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.satoken.utils.OnlineUserHelper;
 import org.dromara.common.web.core.BaseController;
 import org.dromara.system.domain.SysUserOnline;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 在线用户监控
@@ -36,7 +33,7 @@ import java.util.stream.Collectors;
 public class SysUserOnlineController extends BaseController {
 
     /**
-     * 获取在线用户监控列表
+     * 获取在线用户监控列表 返回全部 由前端分页
      *
      * @param ipaddr   IP地址
      * @param userName 用户名
@@ -44,37 +41,36 @@ public class SysUserOnlineController extends BaseController {
     @SaCheckPermission("monitor:online:list")
     @GetMapping("/list")
     public TableDataInfo<SysUserOnline> list(String ipaddr, String userName) {
-        // 获取所有未过期的 token
-        Collection<String> keys = RedisUtils.keys(CacheConstants.ONLINE_TOKEN_KEY + "*");
-        List<UserOnlineDTO> userOnlineDTOList = new ArrayList<>();
-        for (String key : keys) {
-            String token = StringUtils.substringAfterLast(key, ":");
-            // 如果已经过期则跳过
-            if (StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) < -1) {
-                continue;
-            }
-            userOnlineDTOList.add(RedisUtils.getCacheObject(CacheConstants.ONLINE_TOKEN_KEY + token));
-        }
-        if (StringUtils.isNotEmpty(ipaddr) && StringUtils.isNotEmpty(userName)) {
-            userOnlineDTOList = StreamUtils.filter(userOnlineDTOList, userOnline ->
-                StringUtils.equals(ipaddr, userOnline.getIpaddr()) &&
-                    StringUtils.equals(userName, userOnline.getUserName())
-            );
-        } else if (StringUtils.isNotEmpty(ipaddr)) {
-            userOnlineDTOList = StreamUtils.filter(userOnlineDTOList, userOnline ->
-                StringUtils.equals(ipaddr, userOnline.getIpaddr())
-            );
-        } else if (StringUtils.isNotEmpty(userName)) {
-            userOnlineDTOList = StreamUtils.filter(userOnlineDTOList, userOnline ->
-                StringUtils.equals(userName, userOnline.getUserName())
-            );
-        }
-        Collections.reverse(userOnlineDTOList);
-        userOnlineDTOList.removeAll(Collections.singleton(null));
-        List<SysUserOnline> userOnlineList = BeanUtil.copyToList(userOnlineDTOList, SysUserOnline.class);
+        List<SysUserOnline> userOnlineList = toUserOnlineList(OnlineUserHelper.page(ipaddr, userName, 0, 0).rows());
         return TableDataInfo.build(userOnlineList);
     }
 
+    /**
+     * 分页获取在线用户监控列表
+     * <p>
+     * 基于在线用户索引在服务端分页 只获取当前页的在线信息
+     *
+     * @param ipaddr   IP地址
+     * @param userName 用户名
+     */
+    @SaCheckPermission("monitor:online:list")
+    @GetMapping("/page")
+    public TableDataInfo<SysUserOnline> page(String ipaddr, String userName, PageQuery pageQuery) {
+        int pageNum = Math.max(ObjectUtil.defaultIfNull(pageQuery.getPageNum(), PageQuery.DEFAULT_PAGE_NUM), 1);
+        int pageSize = Math.max(ObjectUtil.defaultIfNull(pageQuery.getPageSize(), PageQuery.DEFAULT_PAGE_SIZE), 1);
+        int offset = (int) Math.min((long) (pageNum - 1) * pageSize, Integer.MAX_VALUE);
+        OnlineUserHelper.OnlinePage page = OnlineUserHelper.page(ipaddr, userName, offset, pageSize);
+        return new TableDataInfo<>(toUserOnlineList(page.rows()), page.total());
+    }
+
+    private List<SysUserOnline> toUserOnlineList(List<UserOnlineDTO> rows) {
+        // 如果已经过期则跳过
+        List<UserOnlineDTO> userOnlineDTOList = StreamUtils.filter(rows, userOnline ->
+            StpUtil.stpLogic.getTokenActiveTimeoutByToken(userOnline.getTokenId()) >= -1
+        );
+        return BeanUtil.copyToList(userOnlineDTOList, SysUserOnline.class);
+    }
+
     /**
      * 强退用户
      *
@@ -99,13 +95,11 @@ public class SysUserOnlineController extends BaseController {
     public TableDataInfo<SysUserOnline> getInfo() {
         // 获取指定账号 id 的 token 集合
         List<String> tokenIds = StpUtil.getTokenValueListByLoginId(StpUtil.getLoginIdAsString());
-        List<UserOnlineDTO> userOnlineDTOList = tokenIds.stream()
-            .filter(token -> StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) >= -1)
-            .map(token -> (UserOnlineDTO) RedisUtils.getCacheObject(CacheConstants.ONLINE_TOKEN_KEY + token))
-            .collect(Collectors.toList());
+        List<String> activeTokens = StreamUtils.filter(tokenIds, token -> StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) >= -1);
+        Collections.reverse(activeTokens);
+        // 一次批量获取在线信息
+        List<UserOnlineDTO> userOnlineDTOList = OnlineUserHelper.getOnlineUsers(activeTokens);
         //复制和处理 SysUserOnline 对象列表
-        Collections.reverse(userOnlineDTOList);
-        userOnlineDTOList.removeAll(Collections.singleton(null));
         List<SysUserOnline> userOnlineList = BeanUtil.copyToList(userOnlineDTOList, SysUserOnline.class);
         return TableDataInfo.build(userOnlineList);
     }
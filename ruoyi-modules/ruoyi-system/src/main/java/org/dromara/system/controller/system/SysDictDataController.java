@@ -53,8 +53,8 @@ public class SysDictDataController extends BaseController {
     @SaCheckPermission("system:dict:export")
     @PostMapping("/export")
     public void export(SysDictDataBo dictData, HttpServletResponse response) {
-        List<SysDictDataVo> list = dictDataService.selectDictDataList(dictData);
-        ExcelUtil.exportExcel(list, "字典数据", SysDictDataVo.class, response);
+        ExcelUtil.exportExcelByPage(last -> dictDataService.selectDictDataList(dictData, last, ExcelUtil.EXPORT_PAGE_SIZE),
+            "字典数据", SysDictDataVo.class, response);
     }
 
     /**
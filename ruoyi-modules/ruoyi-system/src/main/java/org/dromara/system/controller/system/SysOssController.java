@@ -2,6 +2,7 @@ package org.dromara.system.controller.system;
 
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,8 @@ import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.web.core.BaseController;
 import org.dromara.system.domain.bo.SysOssBo;
+import org.dromara.system.domain.bo.SysOssMultipartBo;
+import org.dromara.system.domain.vo.SysOssMultipartVo;
 import org.dromara.system.domain.vo.SysOssUploadVo;
 import org.dromara.system.domain.vo.SysOssVo;
 import org.dromara.system.service.ISysOssService;
@@ -24,6 +27,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文件上传 控制层
@@ -77,6 +81,71 @@ public class SysOssController extends BaseController {
         return R.ok(uploadVo);
     }
 
+    /**
+     * 初始化分片上传 浏览器使用预签名URL直接上传分片
+     *
+     * @param bo 文件信息
+     */
+    @SaCheckPermission("system:oss:upload")
+    @PostMapping("/multipart")
+    public R<SysOssMultipartVo> initMultipart(@Validated @RequestBody SysOssMultipartBo bo) {
+        return R.ok(ossService.initMultipartUpload(bo));
+    }
+
+    /**
+     * 查询分片上传信息 用于断点续传
+     *
+     * @param uploadId 分片上传ID
+     */
+    @SaCheckPermission("system:oss:upload")
+    @GetMapping("/multipart/{uploadId}")
+    public R<SysOssMultipartVo> getMultipart(@PathVariable String uploadId) {
+        return R.ok(ossService.getMultipartUpload(uploadId));
+    }
+
+    /**
+     * 获取分片预签名上传URL
+     *
+     * @param uploadId    分片上传ID
+     * @param partNumbers 分片序号
+     */
+    @SaCheckPermission("system:oss:upload")
+    @GetMapping("/multipart/{uploadId}/urls")
+    public R<Map<Integer, String>> presignMultipartParts(@PathVariable String uploadId,
+                                                         @NotEmpty(message = "分片序号不能为空")
+                                                         @RequestParam List<Integer> partNumbers) {
+        return R.ok(ossService.presignMultipartParts(uploadId, partNumbers));
+    }
+
+    /**
+     * 合并分片 完成上传
+     *
+     * @param uploadId 分片上传ID
+     */
+    @SaCheckPermission("system:oss:upload")
+    @Log(title = "OSS对象存储", businessType = BusinessType.INSERT)
+    @PostMapping("/multipart/{uploadId}/complete")
+    public R<SysOssUploadVo> completeMultipart(@PathVariable String uploadId) {
+        SysOssVo oss = ossService.completeMultipartUpload(uploadId);
+        SysOssUploadVo uploadVo = new SysOssUploadVo();
+        uploadVo.setUrl(oss.getUrl());
+        uploadVo.setFileName(oss.getOriginalName());
+        uploadVo.setOssId(oss.getOssId().toString());
+        return R.ok(uploadVo);
+    }
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 分片上传ID
+     */
+    @SaCheckPermission("system:oss:upload")
+    @DeleteMapping("/multipart/{uploadId}")
+    public R<Void> abortMultipart(@PathVariable String uploadId) {
+        ossService.abortMultipartUpload(uploadId);
+        return R.ok();
+    }
+
     /**
      * 下载OSS对象
      *
@@ -84,8 +153,8 @@ public class SysOssController extends BaseController {
      */
     @SaCheckPermission("system:oss:download")
     @GetMapping("/download/{ossId}")
-    public void download(@PathVariable Long ossId, HttpServletResponse response) throws IOException {
-        ossService.download(ossId, response);
+    public void download(@PathVariable Long ossId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ossService.download(ossId, request, response);
     }
 
     /**
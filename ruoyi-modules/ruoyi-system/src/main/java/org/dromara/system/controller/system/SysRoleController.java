@@ -57,8 +57,8 @@ public class SysRoleController extends BaseController {
     @SaCheckPermission("system:role:export")
     @PostMapping("/export")
     public void export(SysRoleBo role, HttpServletResponse response) {
-        List<SysRoleVo> list = roleService.selectRoleList(role);
-        ExcelUtil.exportExcel(list, "角色数据", SysRoleVo.class, response);
+        ExcelUtil.exportExcelByPage(last -> roleService.selectRoleList(role, last, ExcelUtil.EXPORT_PAGE_SIZE),
+            "角色数据", SysRoleVo.class, response);
     }
 
     /**
@@ -0,0 +1,33 @@
+package org.dromara.system.domain;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 部门层级闭包 sys_dept_closure
+ * <p>
+ * 每个部门与其所有祖先(含自身)各一行, 子树查询走 ancestor_id 索引
+ *
+ * @author Lion Li
+ */
+
+@Data
+@TableName("sys_dept_closure")
+public class SysDeptClosure {
+
+    /**
+     * 祖先部门ID
+     */
+    private Long ancestorId;
+
+    /**
+     * 后代部门ID
+     */
+    private Long descendantId;
+
+    /**
+     * 层级距离 0 为自身
+     */
+    private Integer depth;
+
+}
@@ -0,0 +1,54 @@
+package org.dromara.system.domain;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 分片上传会话 以分片上传ID为键保存在 redis 中
+ *
+ * @author Lion Li
+ */
+@Data
+public class SysOssMultipartSession implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 分片上传ID
+     */
+    private String uploadId;
+
+    /**
+     * 服务商
+     */
+    private String configKey;
+
+    /**
+     * 对象键
+     */
+    private String fileName;
+
+    /**
+     * 原文件名
+     */
+    private String originalName;
+
+    /**
+     * 文件后缀名
+     */
+    private String fileSuffix;
+
+    /**
+     * 文件类型
+     */
+    private String contentType;
+
+    /**
+     * 文件大小
+     */
+    private Long fileSize;
+
+}
@@ -0,0 +1,34 @@
+package org.dromara.system.domain.bo;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * 分片上传初始化对象
+ *
+ * @author Lion Li
+ */
+@Data
+public class SysOssMultipartBo {
+
+    /**
+     * 原文件名
+     */
+    @NotBlank(message = "文件名不能为空")
+    private String fileName;
+
+    /**
+     * 文件类型
+     */
+    private String contentType;
+
+    /**
+     * 文件大小
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long fileSize;
+
+}
@@ -0,0 +1,35 @@
+package org.dromara.system.domain.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分片上传信息
+ *
+ * @author Lion Li
+ */
+@Data
+public class SysOssMultipartVo {
+
+    /**
+     * 分片上传ID
+     */
+    private String uploadId;
+
+    /**
+     * 分片大小
+     */
+    private Integer partSize;
+
+    /**
+     * 分片数量
+     */
+    private Integer partCount;
+
+    /**
+     * 已上传的分片序号 用于断点续传
+     */
+    private List<Integer> uploadedParts;
+
+}
@@ -1,36 +1,41 @@
 package org.dromara.system.listener;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.crypto.digest.BCrypt;
 import cn.hutool.http.HtmlUtil;
-import cn.idev.excel.context.AnalysisContext;
-import cn.idev.excel.event.AnalysisEventListener;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.ValidatorUtils;
-import org.dromara.common.excel.core.ExcelListener;
+import org.dromara.common.excel.core.ChunkedExcelListener;
+import org.dromara.common.excel.core.ExcelImportProgress;
 import org.dromara.common.excel.core.ExcelResult;
+import org.dromara.common.excel.core.ExcelRow;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.bo.SysUserBo;
 import org.dromara.system.domain.vo.SysUserImportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 import org.dromara.system.service.ISysConfigService;
 import org.dromara.system.service.ISysUserService;
-import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 系统用户自定义导入
+ * <p>
+ * 按批处理: 每批用一次 IN 查询已存在的账号与数据权限, 新增与更新分别批量保存,
+ * 批量保存失败时逐条保存以定位失败的行
  *
  * @author Lion Li
  */
 @Slf4j
-public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo> implements ExcelListener<SysUserImportVo> {
+public class SysUserImportListener extends ChunkedExcelListener<SysUserImportVo> {
 
     private final ISysUserService userService;
 
@@ -40,12 +45,17 @@ public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo
 
     private final Long operUserId;
 
-    private int successNum = 0;
-    private int failureNum = 0;
-    private final StringBuilder successMsg = new StringBuilder();
-    private final StringBuilder failureMsg = new StringBuilder();
+    /**
+     * 本次导入已处理的账号 用于识别文件内重复的账号
+     */
+    private final Set<String> importedUserNames = new HashSet<>();
 
     public SysUserImportListener(Boolean isUpdateSupport) {
+        this(isUpdateSupport, null);
+    }
+
+    public SysUserImportListener(Boolean isUpdateSupport, Consumer<ExcelImportProgress> progressListener) {
+        super(DEFAULT_CHUNK_SIZE, true, progressListener);
         String initPassword = SpringUtils.getBean(ISysConfigService.class).selectConfigByKey("sys.user.initPassword");
         this.userService = SpringUtils.getBean(ISysUserService.class);
         this.password = BCrypt.hashpw(initPassword);
@@ -54,74 +64,126 @@ public class SysUserImportListener extends AnalysisEventListener<SysUserImportVo
     }
 
     @Override
-    public void invoke(SysUserImportVo userVo, AnalysisContext context) {
-        SysUserVo sysUser = this.userService.selectUserByUserName(userVo.getUserName());
-        try {
-            // 验证是否存在这个用户
-            if (ObjectUtil.isNull(sysUser)) {
-                SysUserBo user = BeanUtil.toBean(userVo, SysUserBo.class);
-                ValidatorUtils.validate(user);
+    protected void validate(SysUserImportVo userVo) {
+        ValidatorUtils.validate(BeanUtil.toBean(userVo, SysUserBo.class));
+    }
+
+    @Override
+    protected void handleChunk(List<ExcelRow<SysUserImportVo>> rows) {
+        // 验证是否存在这些用户
+        Set<String> userNames = StreamUtils.toSet(rows, row -> row.data().getUserName());
+        Map<String, SysUserVo> existUsers = StreamUtils.toIdentityMap(
+            userService.selectUserByUserNames(userNames), SysUserVo::getUserName);
+        List<ExcelRow<SysUserImportVo>> insertRows = new ArrayList<>();
+        List<SysUserBo> inserts = new ArrayList<>();
+        List<ExcelRow<SysUserImportVo>> updateRows = new ArrayList<>();
+        List<SysUserBo> updates = new ArrayList<>();
+        for (ExcelRow<SysUserImportVo> row : rows) {
+            String userName = row.data().getUserName();
+            if (!importedUserNames.add(userName)) {
+                addFailure(row, "账号 " + HtmlUtil.cleanHtmlTag(userName) + " 在导入文件中重复");
+                continue;
+            }
+            SysUserVo sysUser = existUsers.get(userName);
+            SysUserBo user = BeanUtil.toBean(row.data(), SysUserBo.class);
+            if (sysUser == null) {
                 user.setPassword(password);
                 user.setCreateBy(operUserId);
-                userService.insertUser(user);
-                successNum++;
-                successMsg.append("<br/>").append(successNum).append("、账号 ").append(user.getUserName()).append(" 导入成功");
+                insertRows.add(row);
+                inserts.add(user);
             } else if (isUpdateSupport) {
-                Long userId = sysUser.getUserId();
-                SysUserBo user = BeanUtil.toBean(userVo, SysUserBo.class);
-                user.setUserId(userId);
-                ValidatorUtils.validate(user);
-                userService.checkUserAllowed(user.getUserId());
-                userService.checkUserDataScope(user.getUserId());
+                user.setUserId(sysUser.getUserId());
                 user.setUpdateBy(operUserId);
-                userService.updateUser(user);
-                successNum++;
-                successMsg.append("<br/>").append(successNum).append("、账号 ").append(user.getUserName()).append(" 更新成功");
+                updateRows.add(row);
+                updates.add(user);
             } else {
-                failureNum++;
-                failureMsg.append("<br/>").append(failureNum).append("、账号 ").append(sysUser.getUserName()).append(" 已存在");
+                addFailure(row, "账号 " + HtmlUtil.cleanHtmlTag(sysUser.getUserName()) + " 已存在");
             }
-        } catch (Exception e) {
-            failureNum++;
-            String msg = "<br/>" + failureNum + "、账号 " + HtmlUtil.cleanHtmlTag(userVo.getUserName()) + " 导入失败：";
-            String message = e.getMessage();
-            if (e instanceof ConstraintViolationException cvException) {
-                message = StreamUtils.join(cvException.getConstraintViolations(), ConstraintViolation::getMessage, ", ");
-            }
-            failureMsg.append(msg).append(message);
-            log.error(msg, e);
         }
+        filterUpdatable(updateRows, updates);
+        save(insertRows, inserts, userService::insertUserBatch, userService::insertUser);
+        save(updateRows, updates, userService::updateUserBatch, userService::updateUser);
     }
 
-    @Override
-    public void doAfterAllAnalysed(AnalysisContext context) {
+    /**
+     * 移除不允许修改或没有数据权限的用户 数据权限一次查询完成
+     */
+    private void filterUpdatable(List<ExcelRow<SysUserImportVo>> rows, List<SysUserBo> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Set<Long> scopedIds = userService.selectUserIdsInDataScope(StreamUtils.toList(users, SysUserBo::getUserId));
+        for (int i = users.size() - 1; i >= 0; i--) {
+            SysUserBo user = users.get(i);
+            String message = null;
+            try {
+                userService.checkUserAllowed(user.getUserId());
+                if (!scopedIds.contains(user.getUserId())) {
+                    message = "没有权限访问用户数据！";
+                }
+            } catch (ServiceException e) {
+                message = e.getMessage();
+            }
+            if (message != null) {
+                addFailure(rows.get(i), "账号 " + HtmlUtil.cleanHtmlTag(user.getUserName()) + " 导入失败：" + message);
+                rows.remove(i);
+                users.remove(i);
+            }
+        }
+    }
 
+    /**
+     * 批量保存 失败时逐条保存以定位失败的行
+     */
+    private void save(List<ExcelRow<SysUserImportVo>> rows, List<SysUserBo> users,
+                      Consumer<List<SysUserBo>> batchSaver, Consumer<SysUserBo> saver) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            batchSaver.accept(users);
+            addSuccess(users.size());
+            return;
+        } catch (Exception e) {
+            log.warn("用户批量导入失败 改为逐条导入: {}", e.getMessage());
+        }
+        for (int i = 0; i < users.size(); i++) {
+            SysUserBo user = users.get(i);
+            try {
+                saver.accept(user);
+                addSuccess(1);
+            } catch (Exception e) {
+                String msg = "账号 " + HtmlUtil.cleanHtmlTag(user.getUserName()) + " 导入失败：";
+                addFailure(rows.get(i), msg + e.getMessage());
+                log.error(msg, e);
+            }
+        }
     }
 
     @Override
     public ExcelResult<SysUserImportVo> getExcelResult() {
+        ExcelResult<SysUserImportVo> result = super.getExcelResult();
         return new ExcelResult<>() {
 
             @Override
             public String getAnalysis() {
-                if (failureNum > 0) {
-                    failureMsg.insert(0, "很抱歉，导入失败！共 " + failureNum + " 条数据格式不正确，错误如下：");
-                    throw new ServiceException(failureMsg.toString());
-                } else {
-                    successMsg.insert(0, "恭喜您，数据已全部导入成功！共 " + successNum + " 条，数据如下：");
+                if (getFailureCount() > 0) {
+                    throw new ServiceException("很抱歉，导入失败！共 " + getFailureCount() + " 条数据格式不正确，错误如下：<br/>"
+                        + String.join("<br/>", result.getErrorList()));
                 }
-                return successMsg.toString();
+                return "恭喜您，数据已全部导入成功！共 " + getSuccessCount() + " 条";
             }
 
             @Override
             public List<SysUserImportVo> getList() {
-                return null;
+                return result.getList();
             }
 
             @Override
             public List<String> getErrorList() {
-                return null;
+                return result.getErrorList();
             }
         };
     }
+
 }
@@ -0,0 +1,109 @@
+package org.dromara.system.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import org.apache.ibatis.annotations.Param;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+import org.dromara.system.domain.SysDeptClosure;
+
+import java.util.List;
+
+/**
+ * 部门层级闭包表 数据层
+ *
+ * @author Lion Li
+ */
+public interface SysDeptClosureMapper extends BaseMapperPlus<SysDeptClosure, SysDeptClosure> {
+
+    /**
+     * 将父部门的所有祖先(含父部门)关联到新部门
+     *
+     * @param deptId   新部门ID
+     * @param parentId 父部门ID
+     * @return 插入行数
+     */
+    int insertPathFromParent(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 将子树(含根)关联到新父部门及其所有祖先
+     *
+     * @param deptId   子树根部门ID
+     * @param parentId 新父部门ID
+     * @return 插入行数
+     */
+    int insertSubtreeUnder(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 新增部门时写入闭包关系 (自身 + 父部门路径)
+     *
+     * @param deptId   新部门ID
+     * @param parentId 父部门ID
+     */
+    default void insertNode(Long deptId, Long parentId) {
+        SysDeptClosure self = new SysDeptClosure();
+        self.setAncestorId(deptId);
+        self.setDescendantId(deptId);
+        self.setDepth(0);
+        this.insert(self);
+        this.insertPathFromParent(deptId, parentId);
+    }
+
+    /**
+     * 移动子树到新父部门: 断开子树与原祖先的关联 再挂到新父部门路径下
+     *
+     * @param deptId   子树根部门ID
+     * @param parentId 新父部门ID
+     */
+    default void moveSubtree(Long deptId, Long parentId) {
+        List<Long> descendantIds = this.selectDescendantIds(deptId, true);
+        List<Long> ancestorIds = this.selectAncestorIds(deptId);
+        if (!ancestorIds.isEmpty()) {
+            this.delete(new LambdaQueryWrapper<SysDeptClosure>()
+                .in(SysDeptClosure::getDescendantId, descendantIds)
+                .in(SysDeptClosure::getAncestorId, ancestorIds));
+        }
+        this.insertSubtreeUnder(deptId, parentId);
+    }
+
+    /**
+     * 删除部门的所有闭包关系
+     *
+     * @param deptId 部门ID
+     */
+    default void deleteByDeptId(Long deptId) {
+        this.delete(new LambdaQueryWrapper<SysDeptClosure>()
+            .eq(SysDeptClosure::getDescendantId, deptId)
+            .or()
+            .eq(SysDeptClosure::getAncestorId, deptId));
+    }
+
+    /**
+     * 查询子孙部门ID
+     *
+     * @param deptId      部门ID
+     * @param includeSelf 是否包含自身
+     * @return 部门ID集合
+     */
+    default List<Long> selectDescendantIds(Long deptId, boolean includeSelf) {
+        List<SysDeptClosure> list = this.selectList(new LambdaQueryWrapper<SysDeptClosure>()
+            .select(SysDeptClosure::getDescendantId)
+            .eq(SysDeptClosure::getAncestorId, deptId)
+            .gt(!includeSelf, SysDeptClosure::getDepth, 0));
+        return StreamUtils.toList(list, SysDeptClosure::getDescendantId);
+    }
+
+    /**
+     * 查询所有祖先部门ID (不含自身)
+     *
+     * @param deptId 部门ID
+     * @return 部门ID集合
+     */
+    default List<Long> selectAncestorIds(Long deptId) {
+        List<SysDeptClosure> list = this.selectList(new LambdaQueryWrapper<SysDeptClosure>()
+            .select(SysDeptClosure::getAncestorId)
+            .eq(SysDeptClosure::getDescendantId, deptId)
+            .gt(SysDeptClosure::getDepth, 0));
+        return StreamUtils.toList(list, SysDeptClosure::getAncestorId);
+    }
+
+}
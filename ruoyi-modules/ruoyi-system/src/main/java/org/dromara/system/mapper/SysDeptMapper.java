@@ -7,7 +7,6 @@ import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.mybatis.annotation.DataColumn;
 import org.dromara.common.mybatis.annotation.DataPermission;
 import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
-import org.dromara.common.mybatis.helper.DataBaseHelper;
 import org.dromara.system.domain.SysDept;
 import org.dromara.system.domain.vo.SysDeptVo;
 
@@ -56,6 +55,16 @@ public interface SysDeptMapper extends BaseMapperPlus<SysDept, SysDeptVo> {
             """.formatted(roleId);
     }
 
+    /**
+     * 构建子孙部门ID(不含自身)的 SQL 查询语句 基于闭包表走 ancestor_id 索引
+     *
+     * @param deptId 部门ID
+     * @return 查询子孙部门ID的 SQL 语句字符串
+     */
+    default String buildDescendantSql(Long deptId) {
+        return "select descendant_id from sys_dept_closure where ancestor_id = %d and depth > 0".formatted(deptId);
+    }
+
     /**
      * 查询部门管理数据
      *
@@ -105,7 +114,7 @@ public interface SysDeptMapper extends BaseMapperPlus<SysDept, SysDeptVo> {
     default List<SysDept> selectListByParentId(Long parentId) {
         return this.selectList(new LambdaQueryWrapper<SysDept>()
             .select(SysDept::getDeptId)
-            .apply(DataBaseHelper.findInSet(parentId, "ancestors")));
+            .inSql(SysDept::getDeptId, buildDescendantSql(parentId)));
     }
 
     /**
@@ -1,5 +1,6 @@
 package org.dromara.system.mapper;
 
+import cn.hutool.core.convert.Convert;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
@@ -12,6 +13,7 @@ import org.dromara.system.domain.SysUser;
 import org.dromara.system.domain.vo.SysUserExportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -101,6 +103,21 @@ public interface SysUserMapper extends BaseMapperPlus<SysUser, SysUserVo> {
         return this.selectCount(new LambdaQueryWrapper<SysUser>().eq(SysUser::getUserId, userId));
     }
 
+    /**
+     * 根据用户ID查询有数据权限的用户ID
+     *
+     * @param userIds 用户ID集合
+     * @return 有数据权限的用户ID
+     */
+    @DataPermission({
+        @DataColumn(key = "deptName", value = "dept_id"),
+        @DataColumn(key = "userName", value = "create_by")
+    })
+    default List<Long> selectUserIdsByIds(Collection<Long> userIds) {
+        return this.selectObjs(new LambdaQueryWrapper<SysUser>()
+            .select(SysUser::getUserId).in(SysUser::getUserId, userIds), Convert::toLong);
+    }
+
     /**
      * 根据条件更新用户数据
      *
@@ -31,6 +31,16 @@ public interface ISysDictDataService {
      */
     List<SysDictDataVo> selectDictDataList(SysDictDataBo dictData);
 
+    /**
+     * 根据条件分页查询字典数据 用于大数据量导出
+     *
+     * @param dictData 字典数据信息
+     * @param last     上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize 每页条数
+     * @return 字典数据集合信息
+     */
+    List<SysDictDataVo> selectDictDataList(SysDictDataBo dictData, SysDictDataVo last, int pageSize);
+
     /**
      * 根据字典类型和字典键值查询字典数据信息
      *
@@ -0,0 +1,22 @@
+package org.dromara.system.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 异步导出 服务层
+ *
+ * @author Lion Li
+ */
+public interface ISysExportService {
+
+    /**
+     * 异步分页导出excel 完成后上传到文件存储并通过 SSE 通知当前用户
+     *
+     * @param pageLoader 分页加载函数 参数为上一页最后一条数据(首页为 null) 返回空集合时结束
+     * @param sheetName  工作表的名称
+     * @param clazz      实体类
+     */
+    <T> void exportAsync(Function<T, List<T>> pageLoader, String sheetName, Class<T> clazz);
+
+}
@@ -38,6 +38,16 @@ public interface ISysLogininforService {
      */
     List<SysLogininforVo> selectLogininforList(SysLogininforBo logininfor);
 
+    /**
+     * 按访问ID倒序分页查询系统登录日志 用于大数据量导出
+     *
+     * @param logininfor 访问日志对象
+     * @param last       上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize   每页条数
+     * @return 登录记录集合
+     */
+    List<SysLogininforVo> selectLogininforList(SysLogininforBo logininfor, SysLogininforVo last, int pageSize);
+
     /**
      * 批量删除系统登录日志
      *
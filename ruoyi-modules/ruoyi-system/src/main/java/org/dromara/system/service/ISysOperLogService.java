@@ -38,6 +38,16 @@ public interface ISysOperLogService {
      */
     List<SysOperLogVo> selectOperLogList(SysOperLogBo operLog);
 
+    /**
+     * 按操作ID倒序分页查询系统操作日志 用于大数据量导出
+     *
+     * @param operLog  操作日志对象
+     * @param last     上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize 每页条数
+     * @return 操作日志集合
+     */
+    List<SysOperLogVo> selectOperLogList(SysOperLogBo operLog, SysOperLogVo last, int pageSize);
+
     /**
      * 批量删除系统操作日志
      *
@@ -3,7 +3,10 @@ package org.dromara.system.service;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.system.domain.bo.SysOssBo;
+import org.dromara.system.domain.bo.SysOssMultipartBo;
+import org.dromara.system.domain.vo.SysOssMultipartVo;
 import org.dromara.system.domain.vo.SysOssVo;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -11,6 +14,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文件上传 服务层
@@ -61,12 +65,64 @@ public interface ISysOssService {
     SysOssVo upload(File file);
 
     /**
-     * 文件下载方法，支持一次性下载完整文件
+     * 上传文件到对象存储服务，并以指定用户保存文件信息到数据库
+     * 用于没有登录上下文的后台线程
+     *
+     * @param file       要上传的文件对象
+     * @param createBy   创建者 为空时取当前登录用户
+     * @param createDept 创建部门 为空时取当前登录用户部门
+     * @return 上传成功后的 SysOssVo 对象，包含文件信息
+     */
+    SysOssVo upload(File file, Long createBy, Long createDept);
+
+    /**
+     * 初始化分片上传 由浏览器通过预签名URL直接上传分片到存储桶
+     *
+     * @param bo 文件信息
+     * @return 分片上传信息
+     */
+    SysOssMultipartVo initMultipartUpload(SysOssMultipartBo bo);
+
+    /**
+     * 查询分片上传信息 包含已上传的分片 用于断点续传
+     *
+     * @param uploadId 分片上传ID
+     * @return 分片上传信息
+     */
+    SysOssMultipartVo getMultipartUpload(String uploadId);
+
+    /**
+     * 生成分片的预签名上传URL
+     *
+     * @param uploadId    分片上传ID
+     * @param partNumbers 分片序号
+     * @return 分片序号 -> 预签名URL
+     */
+    Map<Integer, String> presignMultipartParts(String uploadId, List<Integer> partNumbers);
+
+    /**
+     * 合并分片 并保存文件信息到数据库
+     *
+     * @param uploadId 分片上传ID
+     * @return 上传成功后的 SysOssVo 对象，包含文件信息
+     */
+    SysOssVo completeMultipartUpload(String uploadId);
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 分片上传ID
+     */
+    void abortMultipartUpload(String uploadId);
+
+    /**
+     * 文件下载方法，支持 Range 断点续传与 If-None-Match 条件请求
      *
      * @param ossId    OSS对象ID
+     * @param request  HttpServletRequest对象，用于读取 Range 与 If-None-Match 请求头
      * @param response HttpServletResponse对象，用于设置响应头和向客户端发送文件内容
      */
-    void download(Long ossId, HttpServletResponse response) throws IOException;
+    void download(Long ossId, HttpServletRequest request, HttpServletResponse response) throws IOException;
 
     /**
      * 删除OSS对象存储
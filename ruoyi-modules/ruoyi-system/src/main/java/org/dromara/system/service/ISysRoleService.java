@@ -33,6 +33,16 @@ public interface ISysRoleService {
      */
     List<SysRoleVo> selectRoleList(SysRoleBo role);
 
+    /**
+     * 根据条件分页查询角色数据 用于大数据量导出
+     *
+     * @param role     角色信息
+     * @param last     上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize 每页条数
+     * @return 角色数据集合信息
+     */
+    List<SysRoleVo> selectRoleList(SysRoleBo role, SysRoleVo last, int pageSize);
+
     /**
      * 根据用户ID查询角色列表
      *
@@ -6,7 +6,9 @@ import org.dromara.system.domain.bo.SysUserBo;
 import org.dromara.system.domain.vo.SysUserExportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户 业务层
@@ -59,6 +61,14 @@ public interface ISysUserService {
      */
     SysUserVo selectUserByUserName(String userName);
 
+    /**
+     * 通过用户名批量查询用户
+     *
+     * @param userNames 用户名集合
+     * @return 用户对象信息集合
+     */
+    List<SysUserVo> selectUserByUserNames(Collection<String> userNames);
+
     /**
      * 通过手机号查询用户
      *
@@ -138,6 +148,14 @@ public interface ISysUserService {
      */
     void checkUserDataScope(Long userId);
 
+    /**
+     * 批量校验用户数据权限
+     *
+     * @param userIds 用户id集合
+     * @return 有数据权限的用户id
+     */
+    Set<Long> selectUserIdsInDataScope(Collection<Long> userIds);
+
     /**
      * 新增用户信息
      *
@@ -146,6 +164,13 @@ public interface ISysUserService {
      */
     int insertUser(SysUserBo user);
 
+    /**
+     * 批量新增用户信息(不包含角色与岗位关联) 用于导入
+     *
+     * @param users 用户信息 新增后回填用户ID
+     */
+    void insertUserBatch(List<SysUserBo> users);
+
     /**
      * 注册用户信息
      *
@@ -162,6 +187,13 @@ public interface ISysUserService {
      */
     int updateUser(SysUserBo user);
 
+    /**
+     * 批量修改用户信息(不包含角色与岗位关联) 用于导入
+     *
+     * @param users 用户信息
+     */
+    void updateUserBatch(List<SysUserBo> users);
+
     /**
      * 用户授权角色
      *
@@ -18,7 +18,7 @@ import org.dromara.common.core.service.DeptService;
 import org.dromara.common.core.utils.*;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
-import org.dromara.common.mybatis.helper.DataBaseHelper;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.SysDept;
@@ -26,6 +26,7 @@ import org.dromara.system.domain.SysRole;
 import org.dromara.system.domain.SysUser;
 import org.dromara.system.domain.bo.SysDeptBo;
 import org.dromara.system.domain.vo.SysDeptVo;
+import org.dromara.system.mapper.SysDeptClosureMapper;
 import org.dromara.system.mapper.SysDeptMapper;
 import org.dromara.system.mapper.SysRoleMapper;
 import org.dromara.system.mapper.SysUserMapper;
@@ -48,6 +49,7 @@ import java.util.*;
 public class SysDeptServiceImpl implements ISysDeptService, DeptService {
 
     private final SysDeptMapper baseMapper;
+    private final SysDeptClosureMapper deptClosureMapper;
     private final SysRoleMapper roleMapper;
     private final SysUserMapper userMapper;
 
@@ -230,7 +232,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     public long selectNormalChildrenDeptById(Long deptId) {
         return baseMapper.selectCount(new LambdaQueryWrapper<SysDept>()
             .eq(SysDept::getStatus, SystemConstants.NORMAL)
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            .inSql(SysDept::getDeptId, baseMapper.buildDescendantSql(deptId)));
     }
 
     /**
@@ -298,6 +300,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, allEntries = true)
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int insertDept(SysDeptBo bo) {
         SysDept info = baseMapper.selectById(bo.getParentId());
         // 如果父节点不为正常状态,则不允许新增子节点
@@ -306,7 +309,10 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         }
         SysDept dept = MapstructUtils.convert(bo, SysDept.class);
         dept.setAncestors(info.getAncestors() + StringUtils.SEPARATOR + dept.getParentId());
-        return baseMapper.insert(dept);
+        int rows = baseMapper.insert(dept);
+        deptClosureMapper.insertNode(dept.getDeptId(), dept.getParentId());
+        PlusDataPermissionHandler.invalidateCache();
+        return rows;
     }
 
     /**
@@ -336,6 +342,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
                 String oldAncestors = oldDept.getAncestors();
                 dept.setAncestors(newAncestors);
                 updateDeptChildren(dept.getDeptId(), newAncestors, oldAncestors);
+                deptClosureMapper.moveSubtree(dept.getDeptId(), newParentDept.getDeptId());
+                PlusDataPermissionHandler.invalidateCache();
             }
         } else {
             dept.setAncestors(oldDept.getAncestors());
@@ -373,7 +381,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     private void updateDeptChildren(Long deptId, String newAncestors, String oldAncestors) {
         List<SysDept> children = baseMapper.selectList(new LambdaQueryWrapper<SysDept>()
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            .select(SysDept::getDeptId, SysDept::getAncestors)
+            .inSql(SysDept::getDeptId, baseMapper.buildDescendantSql(deptId)));
         List<SysDept> list = new ArrayList<>();
         for (SysDept child : children) {
             SysDept dept = new SysDept();
@@ -383,7 +392,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         }
         if (CollUtil.isNotEmpty(list)) {
             if (baseMapper.updateBatchById(list)) {
-                list.forEach(dept -> CacheUtils.evict(CacheNames.SYS_DEPT, dept.getDeptId()));
+                // 整棵子树的缓存一次清空 避免逐条删除并逐条广播
+                CacheUtils.clear(CacheNames.SYS_DEPT);
             }
         }
     }
@@ -399,7 +409,10 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, key = "#deptId")
     })
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int deleteDeptById(Long deptId) {
+        deptClosureMapper.deleteByDeptId(deptId);
+        PlusDataPermissionHandler.invalidateCache();
         return baseMapper.deleteById(deptId);
     }
 
@@ -59,6 +59,25 @@ public class SysDictDataServiceImpl implements ISysDictDataService {
         return baseMapper.selectVoList(lqw);
     }
 
+    /**
+     * 根据条件分页查询字典数据 按排序与字典编码定位上一页的位置 避免深分页
+     *
+     * @param dictData 字典数据信息
+     * @param last     上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize 每页条数
+     * @return 字典数据集合信息
+     */
+    @Override
+    public List<SysDictDataVo> selectDictDataList(SysDictDataBo dictData, SysDictDataVo last, int pageSize) {
+        LambdaQueryWrapper<SysDictData> lqw = buildQueryWrapper(dictData);
+        if (last != null) {
+            lqw.and(w -> w.gt(SysDictData::getDictSort, last.getDictSort())
+                .or(o -> o.eq(SysDictData::getDictSort, last.getDictSort()).gt(SysDictData::getDictCode, last.getDictCode())));
+        }
+        Page<SysDictDataVo> page = baseMapper.selectVoPage(new Page<>(1, pageSize, false), lqw);
+        return page.getRecords();
+    }
+
     private LambdaQueryWrapper<SysDictData> buildQueryWrapper(SysDictDataBo bo) {
         LambdaQueryWrapper<SysDictData> lqw = Wrappers.lambdaQuery();
         lqw.eq(bo.getDictSort() != null, SysDictData::getDictSort, bo.getDictSort());
@@ -0,0 +1,96 @@
+package org.dromara.system.service.impl;
+
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.system.domain.vo.SysDictDataVo;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字典索引 (不可变)
+ * <p>
+ * 由同一字典类型的字典数据一次性构建 值->标签 与 标签->值 两个映射,
+ * 多值按分隔符逐段查找 不使用正则拆分
+ *
+ * @author Lion Li
+ */
+final class SysDictIndex {
+
+    static final SysDictIndex EMPTY = new SysDictIndex(Collections.emptyList());
+
+    /**
+     * 字典值 -> 字典标签 (保持字典排序)
+     */
+    private final Map<String, String> valueToLabel;
+
+    /**
+     * 字典标签 -> 字典值
+     */
+    private final Map<String, String> labelToValue;
+
+    SysDictIndex(List<SysDictDataVo> datas) {
+        Map<String, String> labels = new LinkedHashMap<>(datas.size() * 4 / 3 + 1);
+        Map<String, String> values = new LinkedHashMap<>(datas.size() * 4 / 3 + 1);
+        for (SysDictDataVo data : datas) {
+            labels.putIfAbsent(data.getDictValue(), data.getDictLabel());
+            values.putIfAbsent(data.getDictLabel(), data.getDictValue());
+        }
+        this.valueToLabel = Collections.unmodifiableMap(labels);
+        this.labelToValue = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 字典值 -> 字典标签 (只读)
+     */
+    Map<String, String> getValueToLabel() {
+        return valueToLabel;
+    }
+
+    /**
+     * 根据字典值获取标签 多个值按分隔符拼接
+     */
+    String getLabel(String dictValue, String separator) {
+        return translate(dictValue, separator, valueToLabel);
+    }
+
+    /**
+     * 根据字典标签获取字典值 多个标签按分隔符拼接
+     */
+    String getValue(String dictLabel, String separator) {
+        return translate(dictLabel, separator, labelToValue);
+    }
+
+    /**
+     * 逐段查找并拼接 与 String.split 一致忽略末尾的空段, 未匹配的段输出空字符串
+     */
+    private static String translate(String text, String separator, Map<String, String> map) {
+        if (text == null) {
+            return StringUtils.EMPTY;
+        }
+        if (StringUtils.isEmpty(separator) || !text.contains(separator)) {
+            return map.getOrDefault(text, StringUtils.EMPTY);
+        }
+        int step = separator.length();
+        int end = text.length();
+        while (end >= step && text.startsWith(separator, end - step)) {
+            end -= step;
+        }
+        StringBuilder sb = new StringBuilder(end + 16);
+        int start = 0;
+        while (start <= end) {
+            int next = text.indexOf(separator, start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            if (start > 0) {
+                sb.append(separator);
+            }
+            sb.append(map.getOrDefault(text.substring(start, next), StringUtils.EMPTY));
+            start = next + step;
+        }
+        return sb.toString();
+    }
+
+}
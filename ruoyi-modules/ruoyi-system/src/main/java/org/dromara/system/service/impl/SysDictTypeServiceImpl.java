@@ -7,6 +7,9 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.domain.dto.DictDataDTO;
@@ -15,10 +18,10 @@ import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.service.DictService;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.SpringUtils;
-import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.redis.manager.PlusSpringCacheManager;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.system.domain.SysDictData;
 import org.dromara.system.domain.SysDictType;
@@ -28,13 +31,14 @@ import org.dromara.system.domain.vo.SysDictTypeVo;
 import org.dromara.system.mapper.SysDictDataMapper;
 import org.dromara.system.mapper.SysDictTypeMapper;
 import org.dromara.system.service.ISysDictTypeService;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 字典 业务层处理
@@ -47,6 +51,28 @@ public class SysDictTypeServiceImpl implements ISysDictTypeService, DictService
 
     private final SysDictTypeMapper baseMapper;
     private final SysDictDataMapper dictDataMapper;
+    private final CacheManager cacheManager;
+
+    /**
+     * 字典索引 以 sys_dict 缓存名(含租户前缀):字典类型 为键
+     * <p>
+     * sys_dict 缓存在本节点或其他节点写入、删除、清空时通过一级缓存失效监听移除对应索引,
+     * 过期时间只用于兜底错过的失效消息
+     */
+    private final Cache<String, SysDictIndex> dictIndexCache = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfterWrite(Duration.ofHours(1))
+        .build();
+
+    /**
+     * 注册字典缓存失效监听
+     */
+    @PostConstruct
+    public void registerDictIndexListener() {
+        if (cacheManager instanceof PlusSpringCacheManager plusCacheManager) {
+            plusCacheManager.addLocalInvalidateListener(this::invalidateDictIndex);
+        }
+    }
 
     /**
      * 分页查询字典类型列表
@@ -228,15 +254,7 @@ public class SysDictTypeServiceImpl implements ISysDictTypeService, DictService
      */
     @Override
     public String getDictLabel(String dictType, String dictValue, String separator) {
-        List<SysDictDataVo> datas = SpringUtils.getAopProxy(this).selectDictDataByType(dictType);
-        Map<String, String> map = StreamUtils.toMap(datas, SysDictDataVo::getDictValue, SysDictDataVo::getDictLabel);
-        if (StringUtils.containsAny(dictValue, separator)) {
-            return Arrays.stream(dictValue.split(separator))
-                .map(v -> map.getOrDefault(v, StringUtils.EMPTY))
-                .collect(Collectors.joining(separator));
-        } else {
-            return map.getOrDefault(dictValue, StringUtils.EMPTY);
-        }
+        return getDictIndex(dictType).getLabel(dictValue, separator);
     }
 
     /**
@@ -249,32 +267,51 @@ public class SysDictTypeServiceImpl implements ISysDictTypeService, DictService
      */
     @Override
     public String getDictValue(String dictType, String dictLabel, String separator) {
-        List<SysDictDataVo> datas = SpringUtils.getAopProxy(this).selectDictDataByType(dictType);
-        Map<String, String> map = StreamUtils.toMap(datas, SysDictDataVo::getDictLabel, SysDictDataVo::getDictValue);
-        if (StringUtils.containsAny(dictLabel, separator)) {
-            return Arrays.stream(dictLabel.split(separator))
-                .map(l -> map.getOrDefault(l, StringUtils.EMPTY))
-                .collect(Collectors.joining(separator));
-        } else {
-            return map.getOrDefault(dictLabel, StringUtils.EMPTY);
-        }
+        return getDictIndex(dictType).getValue(dictLabel, separator);
     }
 
     /**
      * 获取字典下所有的字典值与标签
      *
      * @param dictType 字典类型
-     * @return dictValue为key，dictLabel为值组成的Map
+     * @return dictValue为key，dictLabel为值组成的Map (只读 保持字典排序)
      */
     @Override
     public Map<String, String> getAllDictByDictType(String dictType) {
-        List<SysDictDataVo> list = SpringUtils.getAopProxy(this).selectDictDataByType(dictType);
-        // 保证顺序
-        LinkedHashMap<String, String> map = new LinkedHashMap<>();
-        for (SysDictDataVo vo : list) {
-            map.put(vo.getDictValue(), vo.getDictLabel());
+        return getDictIndex(dictType).getValueToLabel();
+    }
+
+    /**
+     * 获取字典类型对应的索引 字典未变更时复用同一索引
+     *
+     * @param dictType 字典类型
+     * @return 字典索引
+     */
+    private SysDictIndex getDictIndex(String dictType) {
+        String key = CacheUtils.getCacheName(CacheNames.SYS_DICT) + ":" + dictType;
+        return dictIndexCache.get(key, k -> {
+            List<SysDictDataVo> datas = SpringUtils.getAopProxy(this).selectDictDataByType(dictType);
+            return CollUtil.isEmpty(datas) ? SysDictIndex.EMPTY : new SysDictIndex(datas);
+        });
+    }
+
+    /**
+     * sys_dict 缓存变更时移除对应的字典索引
+     *
+     * @param cacheName 缓存名 多租户时包含租户前缀
+     * @param key       字典类型 为 null 时表示清空
+     */
+    private void invalidateDictIndex(String cacheName, String key) {
+        if (!StringUtils.equals(cacheName, CacheNames.SYS_DICT)
+            && !StringUtils.endsWith(cacheName, ":" + CacheNames.SYS_DICT)) {
+            return;
+        }
+        if (key == null) {
+            String prefix = cacheName + ":";
+            dictIndexCache.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+        } else {
+            dictIndexCache.invalidate(cacheName + ":" + key);
         }
-        return map;
     }
 
     /**
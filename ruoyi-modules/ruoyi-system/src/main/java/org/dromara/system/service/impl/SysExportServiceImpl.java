@@ -0,0 +1,153 @@
+package org.dromara.system.service.impl;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.IdUtil;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.excel.utils.ExcelUtil;
+import org.dromara.common.json.utils.JsonUtils;
+import org.dromara.common.satoken.utils.LoginHelper;
+import org.dromara.common.sse.dto.SseMessageDto;
+import org.dromara.common.sse.utils.SseMessageUtils;
+import org.dromara.common.tenant.helper.TenantHelper;
+import org.dromara.system.domain.vo.SysOssVo;
+import org.dromara.system.service.ISysExportService;
+import org.dromara.system.service.ISysOssService;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 异步导出 服务层处理
+ * <p>
+ * 在后台线程中分页写出到临时文件, 上传到文件存储后通过 SSE 推送文件信息;
+ * 后台线程没有登录上下文, 分页加载函数不能依赖数据权限, 租户通过动态租户传递;
+ * 导出运行在独立的有界线程池中, 不占用公共调度线程池, 并限制单个用户同时进行的导出数
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SysExportServiceImpl implements ISysExportService {
+
+    /**
+     * 导出线程数
+     */
+    private static final int EXPORT_THREADS = 2;
+
+    /**
+     * 等待队列容量 超出后拒绝新的导出
+     */
+    private static final int EXPORT_QUEUE_CAPACITY = 20;
+
+    /**
+     * 单个用户同时进行(含排队)的导出数上限
+     */
+    private static final int MAX_EXPORTS_PER_USER = 2;
+
+    private final ISysOssService ossService;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(EXPORT_THREADS, EXPORT_THREADS,
+        0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(EXPORT_QUEUE_CAPACITY),
+        new BasicThreadFactory.Builder().namingPattern("export-pool-%d").daemon(true).build(),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * 各用户进行中的导出数
+     */
+    private final Map<Long, Integer> running = new ConcurrentHashMap<>();
+
+    /**
+     * 异步分页导出excel 完成后上传到文件存储并通过 SSE 通知当前用户
+     *
+     * @param pageLoader 分页加载函数 参数为上一页最后一条数据(首页为 null) 返回空集合时结束
+     * @param sheetName  工作表的名称
+     * @param clazz      实体类
+     */
+    @Override
+    public <T> void exportAsync(Function<T, List<T>> pageLoader, String sheetName, Class<T> clazz) {
+        Long userId = LoginHelper.getUserId();
+        Long deptId = LoginHelper.getDeptId();
+        String tenantId = TenantHelper.getTenantId();
+        if (!tryAcquire(userId)) {
+            throw new ServiceException("已有" + MAX_EXPORTS_PER_USER + "个导出任务正在进行，请稍后再试");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    TenantHelper.dynamic(tenantId, () -> export(pageLoader, sheetName, clazz, userId, deptId));
+                } finally {
+                    release(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release(userId);
+            throw new ServiceException("导出任务过多，请稍后再试");
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private boolean tryAcquire(Long userId) {
+        boolean[] acquired = {false};
+        running.compute(userId, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= MAX_EXPORTS_PER_USER) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(Long userId) {
+        running.computeIfPresent(userId, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private <T> void export(Function<T, List<T>> pageLoader, String sheetName, Class<T> clazz, Long userId, Long deptId) {
+        File dir = FileUtil.file(FileUtil.getTmpDir(), IdUtil.fastSimpleUUID());
+        File file = FileUtil.file(dir, sheetName + ".xlsx");
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "export");
+        message.put("title", sheetName);
+        try {
+            try (OutputStream os = FileUtil.getOutputStream(file)) {
+                ExcelUtil.exportExcelByPage(pageLoader, sheetName, clazz, false, os, null);
+            }
+            SysOssVo oss = ossService.upload(file, userId, deptId);
+            message.put("success", true);
+            message.put("ossId", oss.getOssId());
+            message.put("fileName", oss.getOriginalName());
+            message.put("url", oss.getUrl());
+        } catch (Exception e) {
+            log.error("异步导出失败: {}", sheetName, e);
+            message.put("success", false);
+            message.put("message", sheetName + "导出失败");
+        } finally {
+            FileUtil.del(dir);
+        }
+        SseMessageDto dto = new SseMessageDto();
+        dto.setUserIds(List.of(userId));
+        dto.setMessage(JsonUtils.toJsonString(message));
+        SseMessageUtils.publishMessage(dto);
+    }
+
+}
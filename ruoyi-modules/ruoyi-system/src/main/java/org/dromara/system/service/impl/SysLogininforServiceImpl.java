@@ -5,9 +5,14 @@ import cn.hutool.http.useragent.UserAgent;
 import cn.hutool.http.useragent.UserAgentUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.batch.BatchBuffer;
 import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.ServletUtils;
@@ -17,6 +22,7 @@ import org.dromara.common.log.event.LogininforEvent;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.satoken.utils.LoginHelper;
+import org.dromara.common.tenant.helper.TenantHelper;
 import org.dromara.system.domain.SysLogininfor;
 import org.dromara.system.domain.bo.SysLogininforBo;
 import org.dromara.system.domain.vo.SysClientVo;
@@ -24,12 +30,15 @@ import org.dromara.system.domain.vo.SysLogininforVo;
 import org.dromara.system.mapper.SysLogininforMapper;
 import org.dromara.system.service.ISysClientService;
 import org.dromara.system.service.ISysLogininforService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,62 +52,118 @@ import java.util.Map;
 @Service
 public class SysLogininforServiceImpl implements ISysLogininforService {
 
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+
     private final SysLogininforMapper baseMapper;
 
     private final ISysClientService clientService;
 
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * 登录日志写后缓冲 队列满时丢弃并计数 不阻塞登录请求
+     */
+    private BatchBuffer<LoginLog> logininforBuffer;
+
     /**
      * 记录登录信息
+     * <p>
+     * 请求对象在请求结束后会被回收 在发布线程上取出所需的请求头与IP后放入缓冲区
      *
      * @param logininforEvent 登录事件
      */
-    @Async
     @EventListener
     public void recordLogininfor(LogininforEvent logininforEvent) {
         HttpServletRequest request = logininforEvent.getRequest();
-        final UserAgent userAgent = UserAgentUtil.parse(request.getHeader("User-Agent"));
-        final String ip = ServletUtils.getClientIP(request);
-        // 客户端信息
-        String clientId = request.getHeader(LoginHelper.CLIENT_KEY);
-        SysClientVo client = null;
-        if (StringUtils.isNotBlank(clientId)) {
-            client = clientService.queryByClientId(clientId);
-        }
+        logininforBuffer.offer(new LoginLog(logininforEvent,
+            request.getHeader("User-Agent"),
+            ServletUtils.getClientIP(request),
+            request.getHeader(LoginHelper.CLIENT_KEY),
+            new Date()));
+    }
 
-        String address = AddressUtils.getRealAddressByIP(ip);
-        StringBuilder s = new StringBuilder();
-        s.append(getBlock(ip));
-        s.append(address);
-        s.append(getBlock(logininforEvent.getUsername()));
-        s.append(getBlock(logininforEvent.getStatus()));
-        s.append(getBlock(logininforEvent.getMessage()));
-        // 打印信息到日志
-        log.info(s.toString(), logininforEvent.getArgs());
-        // 获取客户端操作系统
-        String os = userAgent.getOs().getName();
-        // 获取客户端浏览器
-        String browser = userAgent.getBrowser().getName();
-        // 封装对象
-        SysLogininforBo logininfor = new SysLogininforBo();
-        logininfor.setTenantId(logininforEvent.getTenantId());
-        logininfor.setUserName(logininforEvent.getUsername());
-        if (ObjectUtil.isNotNull(client)) {
-            logininfor.setClientKey(client.getClientKey());
-            logininfor.setDeviceType(client.getDeviceType());
-        }
-        logininfor.setIpaddr(ip);
-        logininfor.setLoginLocation(address);
-        logininfor.setBrowser(browser);
-        logininfor.setOs(os);
-        logininfor.setMsg(logininforEvent.getMessage());
-        // 日志状态
-        if (StringUtils.equalsAny(logininforEvent.getStatus(), Constants.LOGIN_SUCCESS, Constants.LOGOUT, Constants.REGISTER)) {
-            logininfor.setStatus(Constants.SUCCESS);
-        } else if (Constants.LOGIN_FAIL.equals(logininforEvent.getStatus())) {
-            logininfor.setStatus(Constants.FAIL);
+    /**
+     * 批量写入登录日志 同一批次内相同的 User-Agent、IP 与客户端只解析一次
+     */
+    private void insertLogininforBatch(List<LoginLog> logs) {
+        Map<String, UserAgent> userAgents = new HashMap<>();
+        Map<String, String> locations = new HashMap<>();
+        Map<String, SysClientVo> clients = new HashMap<>();
+        List<SysLogininfor> list = new ArrayList<>(logs.size());
+        for (LoginLog loginLog : logs) {
+            LogininforEvent logininforEvent = loginLog.event();
+            final UserAgent userAgent = userAgents.computeIfAbsent(StringUtils.blankToDefault(loginLog.userAgent(), StringUtils.EMPTY),
+                UserAgentUtil::parse);
+            final String ip = loginLog.ip();
+            // 客户端信息
+            SysClientVo client = null;
+            if (StringUtils.isNotBlank(loginLog.clientId())) {
+                client = clients.computeIfAbsent(loginLog.clientId(), clientService::queryByClientId);
+            }
+
+            String address = locations.computeIfAbsent(ip, AddressUtils::getRealAddressByIP);
+            StringBuilder s = new StringBuilder();
+            s.append(getBlock(ip));
+            s.append(address);
+            s.append(getBlock(logininforEvent.getUsername()));
+            s.append(getBlock(logininforEvent.getStatus()));
+            s.append(getBlock(logininforEvent.getMessage()));
+            // 打印信息到日志
+            log.info(s.toString(), logininforEvent.getArgs());
+            // 封装对象
+            SysLogininfor logininfor = new SysLogininfor();
+            logininfor.setTenantId(logininforEvent.getTenantId());
+            logininfor.setUserName(logininforEvent.getUsername());
+            if (ObjectUtil.isNotNull(client)) {
+                logininfor.setClientKey(client.getClientKey());
+                logininfor.setDeviceType(client.getDeviceType());
+            }
+            logininfor.setIpaddr(ip);
+            logininfor.setLoginLocation(address);
+            if (userAgent != null) {
+                // 获取客户端浏览器与操作系统
+                logininfor.setBrowser(userAgent.getBrowser().getName());
+                logininfor.setOs(userAgent.getOs().getName());
+            }
+            logininfor.setMsg(logininforEvent.getMessage());
+            // 日志状态
+            if (StringUtils.equalsAny(logininforEvent.getStatus(), Constants.LOGIN_SUCCESS, Constants.LOGOUT, Constants.REGISTER)) {
+                logininfor.setStatus(Constants.SUCCESS);
+            } else if (Constants.LOGIN_FAIL.equals(logininforEvent.getStatus())) {
+                logininfor.setStatus(Constants.FAIL);
+            }
+            logininfor.setLoginTime(loginLog.loginTime());
+            list.add(logininfor);
         }
-        // 插入数据
-        insertLogininfor(logininfor);
+        // 租户ID已在事件中 后台线程无租户上下文
+        TenantHelper.ignore(() -> baseMapper.insertBatch(list, BATCH_SIZE));
+    }
+
+    /**
+     * 依赖注入完成后再创建缓冲区 启动后台线程 并导出排队与丢弃条数
+     */
+    @PostConstruct
+    public void init() {
+        logininforBuffer = new BatchBuffer<>("logininfor-writer",
+            QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL, BatchBuffer.OverflowPolicy.DROP, this::insertLogininforBatch);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("batch.buffer.size", logininforBuffer, BatchBuffer::size)
+                .tag("name", "logininfor-writer").register(registry);
+            Gauge.builder("batch.buffer.dropped", logininforBuffer, BatchBuffer::getDropped)
+                .tag("name", "logininfor-writer").register(registry);
+        });
+    }
+
+    /**
+     * 停止时写完缓冲中的登录日志
+     */
+    @PreDestroy
+    public void destroy() {
+        logininforBuffer.close();
     }
 
     private String getBlock(Object msg) {
@@ -151,14 +216,36 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
      */
     @Override
     public List<SysLogininforVo> selectLogininforList(SysLogininforBo logininfor) {
+        return baseMapper.selectVoList(buildQueryWrapper(logininfor).orderByDesc(SysLogininfor::getInfoId));
+    }
+
+    /**
+     * 按访问ID倒序分页查询系统登录日志 使用上一页最后的ID定位 避免深分页
+     *
+     * @param logininfor 访问日志对象
+     * @param last       上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize   每页条数
+     * @return 登录记录集合
+     */
+    @Override
+    public List<SysLogininforVo> selectLogininforList(SysLogininforBo logininfor, SysLogininforVo last, int pageSize) {
+        LambdaQueryWrapper<SysLogininfor> lqw = buildQueryWrapper(logininfor);
+        if (last != null) {
+            lqw.lt(SysLogininfor::getInfoId, last.getInfoId());
+        }
+        lqw.orderByDesc(SysLogininfor::getInfoId);
+        Page<SysLogininforVo> page = baseMapper.selectVoPage(new Page<>(1, pageSize, false), lqw);
+        return page.getRecords();
+    }
+
+    private LambdaQueryWrapper<SysLogininfor> buildQueryWrapper(SysLogininforBo logininfor) {
         Map<String, Object> params = logininfor.getParams();
-        return baseMapper.selectVoList(new LambdaQueryWrapper<SysLogininfor>()
+        return new LambdaQueryWrapper<SysLogininfor>()
             .like(StringUtils.isNotBlank(logininfor.getIpaddr()), SysLogininfor::getIpaddr, logininfor.getIpaddr())
             .eq(StringUtils.isNotBlank(logininfor.getStatus()), SysLogininfor::getStatus, logininfor.getStatus())
             .like(StringUtils.isNotBlank(logininfor.getUserName()), SysLogininfor::getUserName, logininfor.getUserName())
             .between(params.get("beginTime") != null && params.get("endTime") != null,
-                SysLogininfor::getLoginTime, params.get("beginTime"), params.get("endTime"))
-            .orderByDesc(SysLogininfor::getInfoId));
+                SysLogininfor::getLoginTime, params.get("beginTime"), params.get("endTime"));
     }
 
     /**
@@ -179,4 +266,10 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
     public void cleanLogininfor() {
         baseMapper.delete(new LambdaQueryWrapper<>());
     }
+
+    /**
+     * 待写入的登录日志 只包含发布线程上从请求中取出的信息
+     */
+    private record LoginLog(LogininforEvent event, String userAgent, String ip, String clientId, Date loginTime) {
+    }
 }
@@ -3,24 +3,33 @@ package org.dromara.system.service.impl;
 import cn.hutool.core.util.ArrayUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.dromara.common.core.batch.BatchBuffer;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.ip.AddressUtils;
 import org.dromara.common.log.event.OperLogEvent;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.tenant.helper.TenantHelper;
 import org.dromara.system.domain.SysOperLog;
 import org.dromara.system.domain.bo.SysOperLogBo;
 import org.dromara.system.domain.vo.SysOperLogVo;
 import org.dromara.system.mapper.SysOperLogMapper;
 import org.dromara.system.service.ISysOperLogService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,20 +42,72 @@ import java.util.Map;
 @Service
 public class SysOperLogServiceImpl implements ISysOperLogService {
 
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+
     private final SysOperLogMapper baseMapper;
 
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     /**
-     * 操作日志记录
+     * 操作日志写后缓冲 队列满时丢弃并计数 不阻塞业务请求
+     */
+    private BatchBuffer<OperLogEvent> operLogBuffer;
+
+    /**
+     * 操作日志记录 放入缓冲区后由后台线程批量写入
      *
      * @param operLogEvent 操作日志事件
      */
-    @Async
     @EventListener
     public void recordOper(OperLogEvent operLogEvent) {
-        SysOperLogBo operLog = MapstructUtils.convert(operLogEvent, SysOperLogBo.class);
-        // 远程查询操作地点
-        operLog.setOperLocation(AddressUtils.getRealAddressByIP(operLog.getOperIp()));
-        insertOperlog(operLog);
+        if (operLogEvent.getOperTime() == null) {
+            operLogEvent.setOperTime(new Date());
+        }
+        operLogBuffer.offer(operLogEvent);
+    }
+
+    /**
+     * 批量写入操作日志 同一批次内相同 IP 只查询一次操作地点
+     */
+    private void insertOperlogBatch(List<OperLogEvent> events) {
+        Map<String, String> locations = new HashMap<>();
+        List<SysOperLog> list = new ArrayList<>(events.size());
+        for (OperLogEvent event : events) {
+            SysOperLogBo bo = MapstructUtils.convert(event, SysOperLogBo.class);
+            SysOperLog operLog = MapstructUtils.convert(bo, SysOperLog.class);
+            // 远程查询操作地点
+            operLog.setOperLocation(locations.computeIfAbsent(operLog.getOperIp(), AddressUtils::getRealAddressByIP));
+            list.add(operLog);
+        }
+        // 租户ID已在事件中 后台线程无租户上下文
+        TenantHelper.ignore(() -> baseMapper.insertBatch(list, BATCH_SIZE));
+    }
+
+    /**
+     * 依赖注入完成后再创建缓冲区 启动后台线程 并导出排队与丢弃条数
+     */
+    @PostConstruct
+    public void init() {
+        operLogBuffer = new BatchBuffer<>("oper-log-writer",
+            QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL, BatchBuffer.OverflowPolicy.DROP, this::insertOperlogBatch);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("batch.buffer.size", operLogBuffer, BatchBuffer::size)
+                .tag("name", "oper-log-writer").register(registry);
+            Gauge.builder("batch.buffer.dropped", operLogBuffer, BatchBuffer::getDropped)
+                .tag("name", "oper-log-writer").register(registry);
+        });
+    }
+
+    /**
+     * 停止时写完缓冲中的操作日志
+     */
+    @PreDestroy
+    public void destroy() {
+        operLogBuffer.close();
     }
 
     /**
@@ -109,6 +170,25 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
         return baseMapper.selectVoList(lqw.orderByDesc(SysOperLog::getOperId));
     }
 
+    /**
+     * 按操作ID倒序分页查询系统操作日志 使用上一页最后的ID定位 避免深分页
+     *
+     * @param operLog  操作日志对象
+     * @param last     上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize 每页条数
+     * @return 操作日志集合
+     */
+    @Override
+    public List<SysOperLogVo> selectOperLogList(SysOperLogBo operLog, SysOperLogVo last, int pageSize) {
+        LambdaQueryWrapper<SysOperLog> lqw = buildQueryWrapper(operLog);
+        if (last != null) {
+            lqw.lt(SysOperLog::getOperId, last.getOperId());
+        }
+        lqw.orderByDesc(SysOperLog::getOperId);
+        Page<SysOperLogVo> page = baseMapper.selectVoPage(new Page<>(1, pageSize, false), lqw);
+        return page.getRecords();
+    }
+
     /**
      * 批量删除系统操作日志
      *
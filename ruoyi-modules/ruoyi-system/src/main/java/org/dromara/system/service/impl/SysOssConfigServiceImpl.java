@@ -17,6 +17,7 @@ import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.oss.constant.OssConstant;
+import org.dromara.common.oss.factory.OssFactory;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.system.domain.SysOssConfig;
@@ -90,7 +91,10 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         if (flag) {
             // 从数据库查询完整的数据做缓存
             config = baseMapper.selectById(config.getOssConfigId());
-            CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), JsonUtils.toJsonString(config));
+            String json = JsonUtils.toJsonString(config);
+            CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), json);
+            // 通知各节点更新已解析的配置与客户端
+            OssFactory.publishConfig(config.getConfigKey(), json);
         }
         return flag;
     }
@@ -109,7 +113,10 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         if (flag) {
             // 从数据库查询完整的数据做缓存
             config = baseMapper.selectById(config.getOssConfigId());
-            CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), JsonUtils.toJsonString(config));
+            String json = JsonUtils.toJsonString(config);
+            CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), json);
+            // 通知各节点更新已解析的配置与客户端
+            OssFactory.publishConfig(config.getConfigKey(), json);
         }
         return flag;
     }
@@ -138,8 +145,10 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         }
         boolean flag = baseMapper.deleteByIds(ids) > 0;
         if (flag) {
-            list.forEach(sysOssConfig ->
-                CacheUtils.evict(CacheNames.SYS_OSS_CONFIG, sysOssConfig.getConfigKey()));
+            list.forEach(sysOssConfig -> {
+                CacheUtils.evict(CacheNames.SYS_OSS_CONFIG, sysOssConfig.getConfigKey());
+                OssFactory.publishConfig(sysOssConfig.getConfigKey(), null);
+            });
         }
         return flag;
     }
@@ -170,6 +179,7 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         row += baseMapper.updateById(sysOssConfig);
         if (row > 0) {
             RedisUtils.setCacheObject(OssConstant.DEFAULT_CONFIG_KEY, sysOssConfig.getConfigKey());
+            OssFactory.publishDefault(sysOssConfig.getConfigKey());
         }
         return row;
     }
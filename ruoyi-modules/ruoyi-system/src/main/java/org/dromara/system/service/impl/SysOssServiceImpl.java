@@ -1,13 +1,16 @@
 package org.dromara.system.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.dromara.common.core.constant.CacheConstants;
 import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.domain.dto.OssDTO;
 import org.dromara.common.core.exception.ServiceException;
@@ -20,27 +23,48 @@ import org.dromara.common.core.utils.file.FileUtils;
 import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.oss.constant.OssConstant;
 import org.dromara.common.oss.core.OssClient;
+import org.dromara.common.oss.core.OssLocalCache;
 import org.dromara.common.oss.entity.UploadResult;
 import org.dromara.common.oss.enums.AccessPolicyType;
 import org.dromara.common.oss.factory.OssFactory;
+import org.dromara.common.redis.utils.CacheUtils;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.system.domain.SysOss;
 import org.dromara.system.domain.SysOssExt;
+import org.dromara.system.domain.SysOssMultipartSession;
 import org.dromara.system.domain.bo.SysOssBo;
+import org.dromara.system.domain.bo.SysOssMultipartBo;
+import org.dromara.system.domain.vo.SysOssMultipartVo;
 import org.dromara.system.domain.vo.SysOssVo;
 import org.dromara.system.mapper.SysOssMapper;
 import org.dromara.system.service.ISysOssService;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.Part;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -53,8 +77,24 @@ import java.util.Map;
 @Service
 public class SysOssServiceImpl implements ISysOssService, OssService {
 
+    /**
+     * 分片上传会话有效期
+     */
+    private static final Duration MULTIPART_SESSION_TIMEOUT = Duration.ofHours(24);
+
+    /**
+     * 分片预签名上传URL有效期
+     */
+    private static final Duration MULTIPART_PART_URL_TIMEOUT = Duration.ofHours(1);
+
     private final SysOssMapper baseMapper;
 
+    /**
+     * 分片上传单个文件最大大小 预签名直传不经过 servlet 上传限制
+     */
+    @Value("${oss.multipart.max-file-size:2GB}")
+    private DataSize multipartMaxFileSize;
+
     /**
      * 查询OSS对象存储列表
      *
@@ -80,16 +120,12 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     @Override
     public List<SysOssVo> listByIds(Collection<Long> ossIds) {
         List<SysOssVo> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : ossIds) {
-            SysOssVo vo = ossService.getById(id);
-            if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    list.add(this.matchingUrl(vo));
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(vo);
-                }
+        for (SysOssVo vo : queryByIds(ossIds)) {
+            try {
+                list.add(this.matchingUrl(vo));
+            } catch (Exception ignored) {
+                // 如果oss异常无法连接则将数据直接返回
+                list.add(vo);
             }
         }
         return list;
@@ -104,16 +140,12 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     @Override
     public String selectUrlByIds(String ossIds) {
         List<String> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = ossService.getById(id);
-            if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    list.add(this.matchingUrl(vo).getUrl());
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(vo.getUrl());
-                }
+        for (SysOssVo vo : queryByIds(StringUtils.splitTo(ossIds, Convert::toLong))) {
+            try {
+                list.add(this.matchingUrl(vo).getUrl());
+            } catch (Exception ignored) {
+                // 如果oss异常无法连接则将数据直接返回
+                list.add(vo.getUrl());
             }
         }
         return StringUtils.joinComma(list);
@@ -122,16 +154,41 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     @Override
     public List<OssDTO> selectByIds(String ossIds) {
         List<OssDTO> list = new ArrayList<>();
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = SpringUtils.getAopProxy(this).getById(id);
+        for (SysOssVo vo : queryByIds(StringUtils.splitTo(ossIds, Convert::toLong))) {
+            try {
+                vo.setUrl(this.matchingUrl(vo).getUrl());
+                list.add(BeanUtil.toBean(vo, OssDTO.class));
+            } catch (Exception ignored) {
+                // 如果oss异常无法连接则将数据直接返回
+                list.add(BeanUtil.toBean(vo, OssDTO.class));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 批量查询 OSS 对象 先一次性批量读取 sys_oss 缓存, 未命中的再一次查询数据库并回填缓存
+     *
+     * @param ossIds OSS对象ID集合
+     * @return 按入参顺序排列的 SysOssVo 列表(忽略不存在的ID)
+     */
+    private List<SysOssVo> queryByIds(Collection<Long> ossIds) {
+        if (CollUtil.isEmpty(ossIds)) {
+            return new ArrayList<>();
+        }
+        Map<Long, SysOssVo> cached = CacheUtils.getAll(CacheNames.SYS_OSS, ossIds);
+        List<Long> missing = ossIds.stream().filter(id -> !cached.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            // 只回填数据库中查到的数据 一次批量写入缓存
+            Map<Long, SysOssVo> loaded = StreamUtils.toIdentityMap(baseMapper.selectVoByIds(missing), SysOssVo::getOssId);
+            CacheUtils.putAll(CacheNames.SYS_OSS, loaded);
+            cached.putAll(loaded);
+        }
+        List<SysOssVo> list = new ArrayList<>(ossIds.size());
+        for (Long id : ossIds) {
+            SysOssVo vo = cached.get(id);
             if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    vo.setUrl(this.matchingUrl(vo).getUrl());
-                    list.add(BeanUtil.toBean(vo, OssDTO.class));
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(BeanUtil.toBean(vo, OssDTO.class));
-                }
+                list.add(vo);
             }
         }
         return list;
@@ -166,21 +223,106 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
 
 
     /**
-     * 文件下载方法，支持一次性下载完整文件
+     * 文件下载方法，支持 Range 断点续传与 If-None-Match 条件请求
+     * <p>
+     * 热点文件从本地磁盘缓存读取 其余文件按请求条件从存储服务流式读取
      *
      * @param ossId    OSS对象ID
+     * @param request  HttpServletRequest对象，用于读取 Range 与 If-None-Match 请求头
      * @param response HttpServletResponse对象，用于设置响应头和向客户端发送文件内容
      */
     @Override
-    public void download(Long ossId, HttpServletResponse response) throws IOException {
+    public void download(Long ossId, HttpServletRequest request, HttpServletResponse response) throws IOException {
         SysOssVo sysOss = SpringUtils.getAopProxy(this).getById(ossId);
         if (ObjectUtil.isNull(sysOss)) {
             throw new ServiceException("文件数据不存在!");
         }
         FileUtils.setAttachmentResponseHeader(response, sysOss.getOriginalName());
         response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE + "; charset=UTF-8");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
         OssClient storage = OssFactory.instance(sysOss.getService());
-        storage.download(sysOss.getFileName(), response.getOutputStream(), response::setContentLengthLong);
+        OssLocalCache.Entry entry = storage.getLocalCache(sysOss.getFileName());
+        if (entry != null) {
+            if (downloadLocal(entry, request, response)) {
+                return;
+            }
+            // 本地文件已不存在 移除缓存记录 之后的请求重新统计热点
+            storage.evictLocalCache(sysOss.getFileName(), entry);
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // 多段范围与 If-Range 不转发给存储服务 直接返回完整内容
+        if (StringUtils.isNotBlank(ifRange) || StringUtils.contains(range, ",")) {
+            range = null;
+        }
+        int status = storage.download(sysOss.getFileName(), range, ifNoneMatch, object -> {
+            response.setHeader(HttpHeaders.ETAG, object.eTag());
+            response.setContentLengthLong(object.contentLength());
+            if (StringUtils.isNotBlank(object.contentRange())) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, object.contentRange());
+            }
+        }, Channels.newChannel(response.getOutputStream()));
+        if (status == HttpServletResponse.SC_NOT_MODIFIED || status == HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+            response.setStatus(status);
+        }
+    }
+
+    /**
+     * 从本地缓存文件写出 使用 FileChannel.transferTo 由内核直接复制文件内容
+     *
+     * @return false 表示本地文件已被淘汰 需要改为从存储服务读取
+     */
+    private boolean downloadLocal(OssLocalCache.Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(entry.file(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        try (channel) {
+            long length = entry.length();
+            String eTag = entry.eTag();
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (StringUtils.isNotBlank(ifNoneMatch)
+                && Arrays.stream(ifNoneMatch.split(",")).map(String::trim).anyMatch(tag -> "*".equals(tag) || tag.equals(eTag))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+            long start = 0;
+            long count = length;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            // 仅支持单个范围 If-Range 与当前 ETag 不一致时返回完整内容
+            if (StringUtils.isNotBlank(range) && !range.contains(",")
+                && (StringUtils.isBlank(ifRange) || StringUtils.equals(ifRange, eTag))) {
+                try {
+                    HttpRange httpRange = HttpRange.parseRanges(range).get(0);
+                    start = httpRange.getRangeStart(length);
+                    count = httpRange.getRangeEnd(length) - start + 1;
+                } catch (IllegalArgumentException e) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return true;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+            }
+            response.setContentLengthLong(count);
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+        return true;
     }
 
     /**
@@ -199,16 +341,22 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
         String suffix = StringUtils.substring(originalfileName, originalfileName.lastIndexOf("."), originalfileName.length());
         OssClient storage = OssFactory.instance();
         UploadResult uploadResult;
-        try {
-            uploadResult = storage.uploadSuffix(file.getBytes(), suffix, file.getContentType());
+        // 边读边传 大文件使用分片上传 不把整个文件读入内存
+        try (InputStream inputStream = file.getInputStream()) {
+            if (file.getSize() > OssConstant.MULTIPART_THRESHOLD) {
+                uploadResult = storage.uploadMultipartSuffix(inputStream, suffix, file.getContentType());
+            } else {
+                uploadResult = storage.uploadSuffix(inputStream, suffix, file.getSize(), file.getContentType());
+            }
         } catch (IOException e) {
             throw new ServiceException(e.getMessage());
         }
         SysOssExt ext1 = new SysOssExt();
         ext1.setFileSize(file.getSize());
         ext1.setContentType(file.getContentType());
+        ext1.setMd5(uploadResult.getMd5());
         // 保存文件信息
-        return buildResultEntity(originalfileName, suffix, storage.getConfigKey(), uploadResult, ext1);
+        return buildResultEntity(originalfileName, suffix, storage.getConfigKey(), uploadResult, ext1, null, null);
     }
 
     /**
@@ -219,6 +367,19 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
      */
     @Override
     public SysOssVo upload(File file) {
+        return upload(file, null, null);
+    }
+
+    /**
+     * 上传文件到对象存储服务，并以指定用户保存文件信息到数据库
+     *
+     * @param file       要上传的文件对象
+     * @param createBy   创建者 为空时取当前登录用户
+     * @param createDept 创建部门 为空时取当前登录用户部门
+     * @return 上传成功后的 SysOssVo 对象，包含文件信息
+     */
+    @Override
+    public SysOssVo upload(File file, Long createBy, Long createDept) {
         if (ObjectUtil.isNull(file) || !file.isFile() || file.length() <= 0) {
             throw new ServiceException("上传文件不能为空");
         }
@@ -230,12 +391,150 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
         SysOssExt ext1 = new SysOssExt();
         ext1.setFileSize(length);
         // 保存文件信息
-        return buildResultEntity(originalfileName, suffix, storage.getConfigKey(), uploadResult, ext1);
+        return buildResultEntity(originalfileName, suffix, storage.getConfigKey(), uploadResult, ext1, createBy, createDept);
+    }
+
+    /**
+     * 初始化分片上传 由浏览器通过预签名URL直接上传分片到存储桶
+     *
+     * @param bo 文件信息
+     * @return 分片上传信息
+     */
+    @Override
+    public SysOssMultipartVo initMultipartUpload(SysOssMultipartBo bo) {
+        if (bo.getFileSize() > multipartMaxFileSize.toBytes()) {
+            throw new ServiceException("文件大小超出限制, 最大 " + multipartMaxFileSize.toMegabytes() + "MB");
+        }
+        String originalfileName = bo.getFileName();
+        String suffix = StringUtils.substring(originalfileName, originalfileName.lastIndexOf("."), originalfileName.length());
+        String contentType = StringUtils.blankToDefault(bo.getContentType(), FileUtils.getMimeType(suffix));
+        OssClient storage = OssFactory.instance();
+        String key = storage.getPath(storage.getPrefix(), suffix);
+        String uploadId = storage.createMultipartUpload(key, contentType);
+        SysOssMultipartSession session = new SysOssMultipartSession();
+        session.setUploadId(uploadId);
+        session.setConfigKey(storage.getConfigKey());
+        session.setFileName(key);
+        session.setOriginalName(originalfileName);
+        session.setFileSuffix(suffix);
+        session.setContentType(contentType);
+        session.setFileSize(bo.getFileSize());
+        RedisUtils.setCacheObject(CacheConstants.SYS_OSS_MULTIPART_KEY + uploadId, session, MULTIPART_SESSION_TIMEOUT);
+        return buildMultipartVo(session, List.of());
+    }
+
+    /**
+     * 查询分片上传信息 包含已上传的分片 用于断点续传
+     *
+     * @param uploadId 分片上传ID
+     * @return 分片上传信息
+     */
+    @Override
+    public SysOssMultipartVo getMultipartUpload(String uploadId) {
+        SysOssMultipartSession session = getMultipartSession(uploadId);
+        OssClient storage = OssFactory.instance(session.getConfigKey());
+        List<Integer> uploadedParts = StreamUtils.toList(storage.listParts(session.getFileName(), uploadId), CompletedPart::partNumber);
+        return buildMultipartVo(session, uploadedParts);
+    }
+
+    /**
+     * 生成分片的预签名上传URL
+     *
+     * @param uploadId    分片上传ID
+     * @param partNumbers 分片序号
+     * @return 分片序号 -> 预签名URL
+     */
+    @Override
+    public Map<Integer, String> presignMultipartParts(String uploadId, List<Integer> partNumbers) {
+        SysOssMultipartSession session = getMultipartSession(uploadId);
+        int partCount = getPartCount(session.getFileSize());
+        OssClient storage = OssFactory.instance(session.getConfigKey());
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        for (Integer partNumber : partNumbers) {
+            if (partNumber == null || partNumber < 1 || partNumber > partCount) {
+                throw new ServiceException("分片序号超出范围: " + partNumber);
+            }
+            urls.put(partNumber, storage.createPresignedUploadPartUrl(session.getFileName(), uploadId, partNumber, MULTIPART_PART_URL_TIMEOUT));
+        }
+        return urls;
+    }
+
+    /**
+     * 合并分片 并保存文件信息到数据库
+     *
+     * @param uploadId 分片上传ID
+     * @return 上传成功后的 SysOssVo 对象，包含文件信息
+     */
+    @Override
+    public SysOssVo completeMultipartUpload(String uploadId) {
+        SysOssMultipartSession session = getMultipartSession(uploadId);
+        OssClient storage = OssFactory.instance(session.getConfigKey());
+        List<Part> uploaded = storage.listUploadedParts(session.getFileName(), uploadId);
+        if (uploaded.size() != getPartCount(session.getFileSize())) {
+            throw new ServiceException("分片未全部上传, 已上传 " + uploaded.size() + " 个");
+        }
+        // 以存储桶中实际的分片大小为准 与声明的文件大小不一致时拒绝合并
+        long fileSize = 0;
+        for (Part part : uploaded) {
+            fileSize += part.size();
+        }
+        if (fileSize != session.getFileSize()) {
+            throw new ServiceException("分片总大小 " + fileSize + " 与文件大小 " + session.getFileSize() + " 不一致");
+        }
+        List<CompletedPart> parts = StreamUtils.toList(uploaded,
+            part -> CompletedPart.builder().partNumber(part.partNumber()).eTag(part.eTag()).build());
+        UploadResult uploadResult = storage.completeMultipartUpload(session.getFileName(), uploadId, parts);
+        RedisUtils.deleteObject(CacheConstants.SYS_OSS_MULTIPART_KEY + uploadId);
+        SysOssExt ext1 = new SysOssExt();
+        ext1.setFileSize(fileSize);
+        ext1.setContentType(session.getContentType());
+        // 保存文件信息
+        return buildResultEntity(session.getOriginalName(), session.getFileSuffix(), session.getConfigKey(), uploadResult, ext1, null, null);
+    }
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 分片上传ID
+     */
+    @Override
+    public void abortMultipartUpload(String uploadId) {
+        SysOssMultipartSession session = getMultipartSession(uploadId);
+        OssFactory.instance(session.getConfigKey()).abortMultipartUpload(session.getFileName(), uploadId);
+        RedisUtils.deleteObject(CacheConstants.SYS_OSS_MULTIPART_KEY + uploadId);
+    }
+
+    private SysOssMultipartSession getMultipartSession(String uploadId) {
+        SysOssMultipartSession session = RedisUtils.getCacheObject(CacheConstants.SYS_OSS_MULTIPART_KEY + uploadId);
+        if (ObjectUtil.isNull(session)) {
+            throw new ServiceException("分片上传不存在或已过期");
+        }
+        return session;
+    }
+
+    private SysOssMultipartVo buildMultipartVo(SysOssMultipartSession session, List<Integer> uploadedParts) {
+        SysOssMultipartVo vo = new SysOssMultipartVo();
+        vo.setUploadId(session.getUploadId());
+        vo.setPartSize(OssConstant.MULTIPART_PART_SIZE);
+        vo.setPartCount(getPartCount(session.getFileSize()));
+        vo.setUploadedParts(uploadedParts);
+        return vo;
+    }
+
+    private static int getPartCount(long fileSize) {
+        return (int) Math.max(1, (fileSize + OssConstant.MULTIPART_PART_SIZE - 1) / OssConstant.MULTIPART_PART_SIZE);
     }
 
     @NotNull
-    private SysOssVo buildResultEntity(String originalfileName, String suffix, String configKey, UploadResult uploadResult, SysOssExt ext1) {
+    private SysOssVo buildResultEntity(String originalfileName, String suffix, String configKey, UploadResult uploadResult, SysOssExt ext1,
+                                        Long createBy, Long createDept) {
         SysOss oss = new SysOss();
+        // 后台线程没有登录上下文 显式指定创建者 避免自动填充为默认用户
+        if (ObjectUtil.isNotNull(createBy)) {
+            oss.setCreateBy(createBy);
+            oss.setUpdateBy(createBy);
+            oss.setCreateDept(createDept);
+        }
         oss.setUrl(uploadResult.getUrl());
         oss.setFileSuffix(suffix);
         oss.setFileName(uploadResult.getFilename());
@@ -268,16 +567,16 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     }
 
     /**
-     * 桶类型为 private 的URL 修改为临时URL时长为120s
+     * 桶类型为 private 的URL 修改为临时URL 剩余有效期至少120s
      *
      * @param oss OSS对象
      * @return oss 匹配Url的OSS对象
      */
     private SysOssVo matchingUrl(SysOssVo oss) {
         OssClient storage = OssFactory.instance(oss.getService());
-        // 仅修改桶类型为 private 的URL，临时URL时长为120s
+        // 仅修改桶类型为 private 的URL，同一对象复用未临近过期的临时URL
         if (AccessPolicyType.PRIVATE == storage.getAccessPolicy()) {
-            oss.setUrl(storage.createPresignedGetUrl(oss.getFileName(), Duration.ofSeconds(120)));
+            oss.setUrl(storage.getPresignedGetUrl(oss.getFileName()));
         }
         return oss;
     }
@@ -5,7 +5,6 @@ import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
-import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
@@ -22,6 +21,7 @@ import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.SysRole;
 import org.dromara.system.domain.SysRoleDept;
@@ -78,7 +78,29 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         return baseMapper.selectRoleList(this.buildQueryWrapper(role));
     }
 
-    private Wrapper<SysRole> buildQueryWrapper(SysRoleBo bo) {
+    /**
+     * 根据条件分页查询角色数据 按排序、创建时间与角色ID定位上一页的位置 避免深分页
+     *
+     * @param role     角色信息
+     * @param last     上一页最后一条数据 为 null 时查询第一页
+     * @param pageSize 每页条数
+     * @return 角色数据集合信息
+     */
+    @Override
+    public List<SysRoleVo> selectRoleList(SysRoleBo role, SysRoleVo last, int pageSize) {
+        LambdaQueryWrapper<SysRole> wrapper = this.buildQueryWrapper(role);
+        if (last != null) {
+            wrapper.and(w -> w.gt(SysRole::getRoleSort, last.getRoleSort())
+                .or(o -> o.eq(SysRole::getRoleSort, last.getRoleSort()).gt(SysRole::getCreateTime, last.getCreateTime()))
+                .or(o -> o.eq(SysRole::getRoleSort, last.getRoleSort()).eq(SysRole::getCreateTime, last.getCreateTime())
+                    .gt(SysRole::getRoleId, last.getRoleId())));
+        }
+        wrapper.orderByAsc(SysRole::getRoleId);
+        Page<SysRoleVo> page = baseMapper.selectPageRoleList(new Page<>(1, pageSize, false), wrapper);
+        return page.getRecords();
+    }
+
+    private LambdaQueryWrapper<SysRole> buildQueryWrapper(SysRoleBo bo) {
         Map<String, Object> params = bo.getParams();
         LambdaQueryWrapper<SysRole> wrapper = Wrappers.lambdaQuery();
         wrapper.eq(ObjectUtil.isNotNull(bo.getRoleId()), SysRole::getRoleId, bo.getRoleId())
@@ -355,7 +377,9 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         // 删除角色与部门关联
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().eq(SysRoleDept::getRoleId, role.getRoleId()));
         // 新增角色和部门信息（数据权限）
-        return insertRoleDept(bo);
+        int rows = insertRoleDept(bo);
+        PlusDataPermissionHandler.invalidateCache();
+        return rows;
     }
 
     /**
@@ -414,6 +438,7 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>().eq(SysRoleMenu::getRoleId, roleId));
         // 删除角色与部门关联
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().eq(SysRoleDept::getRoleId, roleId));
+        PlusDataPermissionHandler.invalidateCache();
         return baseMapper.deleteById(roleId);
     }
 
@@ -439,6 +464,7 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>().in(SysRoleMenu::getRoleId, roleIds));
         // 删除角色与部门关联
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().in(SysRoleDept::getRoleId, roleIds));
+        PlusDataPermissionHandler.invalidateCache();
         return baseMapper.deleteByIds(roleIds);
     }
 
@@ -50,6 +50,7 @@ public class SysTenantServiceImpl implements ISysTenantService {
     private final SysTenantPackageMapper tenantPackageMapper;
     private final SysUserMapper userMapper;
     private final SysDeptMapper deptMapper;
+    private final SysDeptClosureMapper deptClosureMapper;
     private final SysRoleMapper roleMapper;
     private final SysRoleMenuMapper roleMenuMapper;
     private final SysRoleDeptMapper roleDeptMapper;
@@ -144,6 +145,7 @@ public class SysTenantServiceImpl implements ISysTenantService {
         dept.setAncestors(Constants.TOP_PARENT_ID.toString());
         deptMapper.insert(dept);
         Long deptId = dept.getDeptId();
+        deptClosureMapper.insertNode(deptId, dept.getParentId());
 
         // 角色和部门关联表
         SysRoleDept roleDept = new SysRoleDept();
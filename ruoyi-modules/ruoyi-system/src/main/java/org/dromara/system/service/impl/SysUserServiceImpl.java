@@ -21,6 +21,7 @@ import org.dromara.common.core.service.UserService;
 import org.dromara.common.core.utils.*;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.SysUser;
 import org.dromara.system.domain.SysUserPost;
@@ -158,6 +159,20 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         return baseMapper.selectVoOne(new LambdaQueryWrapper<SysUser>().eq(SysUser::getUserName, userName));
     }
 
+    /**
+     * 通过用户名批量查询用户
+     *
+     * @param userNames 用户名集合
+     * @return 用户对象信息集合
+     */
+    @Override
+    public List<SysUserVo> selectUserByUserNames(Collection<String> userNames) {
+        if (CollUtil.isEmpty(userNames)) {
+            return new ArrayList<>();
+        }
+        return baseMapper.selectVoList(new LambdaQueryWrapper<SysUser>().in(SysUser::getUserName, userNames));
+    }
+
     /**
      * 通过手机号查询用户
      *
@@ -301,6 +316,23 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         }
     }
 
+    /**
+     * 批量校验用户数据权限
+     *
+     * @param userIds 用户id集合
+     * @return 有数据权限的用户id
+     */
+    @Override
+    public Set<Long> selectUserIdsInDataScope(Collection<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return new HashSet<>();
+        }
+        if (LoginHelper.isSuperAdmin()) {
+            return new HashSet<>(userIds);
+        }
+        return new HashSet<>(baseMapper.selectUserIdsByIds(userIds));
+    }
+
     /**
      * 新增保存用户信息
      *
@@ -321,6 +353,21 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         return rows;
     }
 
+    /**
+     * 批量新增用户信息(不包含角色与岗位关联) 用于导入
+     *
+     * @param users 用户信息 新增后回填用户ID
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void insertUserBatch(List<SysUserBo> users) {
+        List<SysUser> list = MapstructUtils.convert(users, SysUser.class);
+        baseMapper.insertBatch(list);
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setUserId(list.get(i).getUserId());
+        }
+    }
+
     /**
      * 注册用户信息
      *
@@ -359,6 +406,23 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         return flag;
     }
 
+    /**
+     * 批量修改用户信息(不包含角色与岗位关联) 用于导入
+     *
+     * @param users 用户信息
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void updateUserBatch(List<SysUserBo> users) {
+        List<SysUser> list = MapstructUtils.convert(users, SysUser.class);
+        if (!baseMapper.updateBatchById(list)) {
+            throw new ServiceException("批量修改用户信息失败");
+        }
+        for (SysUserBo user : users) {
+            CacheUtils.evict(CacheNames.SYS_NICKNAME, user.getUserId());
+        }
+    }
+
     /**
      * 用户授权角色
      *
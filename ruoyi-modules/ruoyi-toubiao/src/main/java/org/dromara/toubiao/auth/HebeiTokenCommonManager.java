@@ -10,10 +10,10 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.cookie.Cookie;
-import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
 import org.dromara.toubiao.client.HebeiHttpClientCommonFactory;
+import org.dromara.toubiao.source.TenderSourceHttpClient;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -121,7 +121,7 @@ public class HebeiTokenCommonManager {
      */
     private static void refreshAllTokens() {
         try {
-            CloseableHttpClient client = HebeiHttpClientCommonFactory.getClient();
+            TenderSourceHttpClient client = HebeiHttpClientCommonFactory.getSourceClient();
 
             // 环境初始化
             String homeUrl = "http://ssl.hebpr.cn/hbggfwpt/jydt/salesPlat.html";
@@ -220,7 +220,7 @@ public class HebeiTokenCommonManager {
     /**
      * 访问指定页面
      */
-    private static void accessPage(CloseableHttpClient client, String url, String pageName) {
+    private static void accessPage(TenderSourceHttpClient client, String url, String pageName) {
         try {
             HttpGet get = new HttpGet(url);
 
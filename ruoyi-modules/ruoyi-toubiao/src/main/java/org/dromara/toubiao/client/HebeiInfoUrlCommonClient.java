@@ -7,10 +7,10 @@ import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 
-import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
 import org.dromara.toubiao.auth.HebeiTokenCommonManager;
+import org.dromara.toubiao.source.TenderSourceHttpClient;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
@@ -49,7 +49,7 @@ public class HebeiInfoUrlCommonClient {
     }
 
     private String getInfoUrlWithRetry(String infoId, int retryCount) {
-        CloseableHttpClient client = HebeiHttpClientCommonFactory.getClient();
+        TenderSourceHttpClient client = HebeiHttpClientCommonFactory.getSourceClient();
         try {
             HttpPost post = buildRequest(infoId);
 
@@ -10,6 +10,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 /**
  * 功能：
  * 作者：张
@@ -26,4 +28,13 @@ public class GetMessageController {
     public String getData() {
         return getMessageService.WriteToDataBase();
     }
+
+    /**
+     * 并行抓取所有数据源的项目列表
+     */
+    @SaIgnore
+    @GetMapping("/getData/all")
+    public Map<String, Integer> getDataAllSources() {
+        return getMessageService.writeAllSourcesToDataBase();
+    }
 }
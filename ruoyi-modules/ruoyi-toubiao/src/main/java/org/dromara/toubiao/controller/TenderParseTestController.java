@@ -7,12 +7,15 @@ import org.dromara.toubiao.domain.TenderProjectDetailParsed;
 import org.dromara.toubiao.mapper.GetMessageMapper;
 import org.dromara.toubiao.mapper.TenderParsedMapper;
 import org.dromara.toubiao.parser.HebeiPageParser;
+import org.dromara.toubiao.persist.TenderParsedPersister;
+import org.dromara.toubiao.service.TenderParsedBatchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -38,6 +41,12 @@ public class TenderParseTestController {
     @Autowired
     private GetMessageMapper getMessageMapper;
 
+    @Autowired
+    private TenderParsedBatchService tenderParsedBatchService;
+
+    @Autowired
+    private TenderParsedPersister tenderParsedPersister;
+
 
 
     /**
@@ -334,17 +343,16 @@ public class TenderParseTestController {
                         // 检查是否已存在
                         TenderProjectDetailParsed existing = tenderParsedMapper.selectByInfoId(detail.getInfoid());
 
-                        int saveResult;
                         if (existing != null) {
                             // 更新
                             parsed.setId(existing.getId());
-                            saveResult = tenderParsedMapper.update(parsed);
                             attempt.put("数据库操作", "更新");
                         } else {
                             // 插入
-                            saveResult = tenderParsedMapper.insert(parsed);
                             attempt.put("数据库操作", "插入");
                         }
+                        // 解析结果与章节正文在同一事务内保存
+                        int saveResult = tenderParsedBatchService.save(parsed);
 
                         if (saveResult > 0) {
                             // 保存成功
@@ -1064,8 +1072,7 @@ public class TenderParseTestController {
                     result.put("失败原因", "关键字段缺失");
 
                 } else {
-                    if (saveToParsedTable(parsed)) {
-                        markAsSuccess(detail.getInfoid());
+                    if (saveToParsedTable(parsed, "1")) {
                         result.put("处理结果", "成功");
                         log.info("成功保存记录: {}", detail.getInfoid());
                     } else {
@@ -1155,8 +1162,7 @@ public class TenderParseTestController {
                     parsed.setParseStatus(3); // 改为解析失败
                     parsed.setParseErrorMsg("关键字段缺失");
                 }else {
-                    if(saveToParsedTable(parsed)) {
-                    markAsSuccess(detail.getInfoid());
+                    if(saveToParsedTable(parsed, "1")) {
                     result.put("处理结果", "成功");
                     log.info("成功保存记录: {}", detail.getInfoid());
                     }else {
@@ -1201,58 +1207,35 @@ public class TenderParseTestController {
     }
 
     /**
-     * 标记为成功
+     * 标记为跳过（写后批量提交）
      */
-    private boolean markAsSuccess(String infoid) {
-        try {
-            return getMessageMapper.updateParseStatus(infoid, "1") > 0;
-        } catch (Exception e) {
-            log.error("标记成功失败: {}", infoid, e);
-            return false;
-        }
+    private void markAsSkipped(String infoid) {
+        tenderParsedPersister.submitStatus(infoid, "3");
     }
 
     /**
-     * 标记为跳过
+     * 标记为失败（写后批量提交）
      */
-    private boolean markAsSkipped(String infoid) {
-        try {
-            return getMessageMapper.updateParseStatus(infoid, "3") > 0;
-        } catch (Exception e) {
-            log.error("标记跳过失败: {}", infoid, e);
-            return false;
-        }
+    private void markAsFailed(String infoid) {
+        tenderParsedPersister.submitStatus(infoid, "2");
     }
 
     /**
-     * 标记为失败
+     * 保存到parsed表，并在同一批次事务内更新主表解析状态
+     * 不等待刷盘，写入失败时由刷盘线程把主表标记为失败
+     * 回调运行在刷盘线程上，不能再向持久化器提交，否则队列已满时会阻塞在自己的队列上
+     *
+     * @return 是否已提交到写后持久化器
      */
-    private boolean markAsFailed(String infoid) {
-        try {
-            return getMessageMapper.updateParseStatus(infoid, "2") > 0;
-        } catch (Exception e) {
-            log.error("标记失败失败: {}", infoid, e);
-            return false;
-        }
-    }
-
-    /**
-     * 保存到parsed表
-     */
-    private boolean saveToParsedTable(TenderProjectDetailParsed parsed) {
-        try {
-            TenderProjectDetailParsed existing = tenderParsedMapper.selectByInfoId(parsed.getInfoid());
-
-            if (existing != null) {
-                parsed.setId(existing.getId());
-                return tenderParsedMapper.update(parsed) > 0;
-            } else {
-                return tenderParsedMapper.insert(parsed) > 0;
+    private boolean saveToParsedTable(TenderProjectDetailParsed parsed, String status) {
+        String infoid = parsed.getInfoid();
+        CompletableFuture<Boolean> future = tenderParsedPersister.submit(parsed, status, "2");
+        future.whenComplete((saved, e) -> {
+            if (e != null || !Boolean.TRUE.equals(saved)) {
+                log.error("保存到parsed表失败: {}", infoid, e);
             }
-        } catch (Exception e) {
-            log.error("保存到parsed表失败: {}", parsed.getInfoid(), e);
-            return false;
-        }
+        });
+        return isAccepted(future);
     }
 
     /**
@@ -1462,7 +1445,7 @@ public class TenderParseTestController {
 
         if (saved) {
             result.put("处理结果", "成功");
-            result.put("数据库操作", "已保存");
+            result.put("数据库操作", "已提交保存");
             result.put("解析数据", parsed);
             log.debug("成功保存记录: {}", detail.getInfoid());
         } else {
@@ -1494,7 +1477,7 @@ public class TenderParseTestController {
         if (saved) {
             result.put("处理结果", "跳过");
             result.put("跳过原因", parsed.getParseErrorMsg());
-            result.put("数据库操作", "已保存（跳过状态）");
+            result.put("数据库操作", "已提交保存（跳过状态）");
             result.put("解析数据", parsed);
             log.debug("跳过记录已保存: {}", detail.getInfoid());
         } else {
@@ -1522,7 +1505,7 @@ public class TenderParseTestController {
         if (saved) {
             result.put("处理结果", "失败");
             result.put("失败原因", parsed.getParseErrorMsg());
-            result.put("数据库操作", "已保存（失败状态）");
+            result.put("数据库操作", "已提交保存（失败状态）");
             result.put("解析数据", parsed);
             log.debug("失败记录已保存: {}", detail.getInfoid());
         } else {
@@ -1536,26 +1519,22 @@ public class TenderParseTestController {
      * 保存到数据库（统一方法）
      */
     private boolean saveToDatabase(TenderProjectDetailParsed parsed) {
-        try {
-            // 检查是否已存在
-            TenderProjectDetailParsed existing = tenderParsedMapper.selectByInfoId(parsed.getInfoid());
-
-            int saveResult;
-            if (existing != null) {
-                // 更新
-                parsed.setId(existing.getId());
-                saveResult = tenderParsedMapper.update(parsed);
-            } else {
-                // 插入
-                saveResult = tenderParsedMapper.insert(parsed);
+        String infoid = parsed.getInfoid();
+        // 交给写后持久化器，与其他解析线程的结果合并为一次批量写入，不等待刷盘
+        CompletableFuture<Boolean> future = tenderParsedPersister.submit(parsed, null);
+        future.whenComplete((saved, e) -> {
+            if (e != null || !Boolean.TRUE.equals(saved)) {
+                log.error("保存到数据库失败: {}", infoid, e);
             }
+        });
+        return isAccepted(future);
+    }
 
-            return saveResult > 0;
-
-        } catch (Exception e) {
-            log.error("保存到数据库失败: {}", parsed.getInfoid(), e);
-            return false;
-        }
+    /**
+     * 写入是否已被接收，提交时即失败（如线程被中断）返回 false
+     */
+    private boolean isAccepted(CompletableFuture<Boolean> future) {
+        return !future.isDone() || Boolean.TRUE.equals(future.getNow(false));
     }
 
 
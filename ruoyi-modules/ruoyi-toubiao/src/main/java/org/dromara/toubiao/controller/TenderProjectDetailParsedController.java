@@ -154,5 +154,21 @@ public class TenderProjectDetailParsedController {
         }
     }
 
+    /**
+     * 4. 迁移内联章节正文到压缩冷存储
+     * POST /api/tender-parsed/sections/migrate
+     *
+     * @param limit 单批数量，默认为500
+     */
+    @PostMapping("/sections/migrate")
+    public R<Integer> migrateSections(@RequestParam(defaultValue = "500") Integer limit) {
+        try {
+            return R.ok(tenderProjectDetailParsedService.migrateSections(limit));
+        } catch (Exception e) {
+            log.error("章节正文迁移失败", e);
+            return R.fail("迁移失败: " + e.getMessage());
+        }
+    }
+
 
 }
@@ -18,6 +18,11 @@ public class CategoryMessage implements Serializable {
      */
     private Integer id;
 
+    /**
+     * 项目唯一标识
+     */
+    private String infoid;
+
     /**
      * 项目名称
      */
@@ -0,0 +1,44 @@
+package org.dromara.toubiao.domain;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 招标项目章节正文冷存储实体类
+ * 对应数据库表：tender_project_detail_section
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Data
+public class TenderProjectDetailSection implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 项目唯一标识（关联tender_project_detail_parsed表）
+     */
+    private String infoid;
+
+    /**
+     * 章节正文压缩块，格式见 TenderSectionCodec
+     */
+    private byte[] content;
+
+    /**
+     * 压缩前的字符数
+     */
+    private Integer rawLength;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedTime;
+}
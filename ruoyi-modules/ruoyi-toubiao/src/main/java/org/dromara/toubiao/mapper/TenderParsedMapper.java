@@ -33,6 +33,14 @@ public interface TenderParsedMapper {
      */
     int update(TenderProjectDetailParsed parsed);
 
+    /**
+     * 批量插入或更新解析记录（按 infoid 去重）
+     *
+     * @param list 解析详情列表
+     * @return 影响行数
+     */
+    int batchUpsert(@Param("list") List<TenderProjectDetailParsed> list);
+
     /**
      * 根据infoid查询解析记录
      *
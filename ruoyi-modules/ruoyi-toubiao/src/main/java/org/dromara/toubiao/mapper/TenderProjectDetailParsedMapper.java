@@ -69,6 +69,22 @@ public interface TenderProjectDetailParsedMapper extends BaseMapper<TenderProjec
     @InterceptorIgnore(tenantLine = "true")  // 忽略多租户
     TenderProjectDetailParsed selectById(@Param("id") Integer id);
 
+    /**
+     * 查询仍存有内联章节正文的记录
+     * @param limit 查询数量限制
+     * @return 待迁移记录
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<TenderProjectDetailParsed> selectInlineSectionList(@Param("limit") int limit);
+
+    /**
+     * 清空内联章节正文
+     * @param ids 主键列表
+     * @return 影响行数
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    int clearInlineSections(@Param("ids") List<Integer> ids);
+
     /**
      * 查询分类信息
      * @return 分类信息列表
@@ -0,0 +1,58 @@
+package org.dromara.toubiao.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.dromara.toubiao.domain.TenderProjectDetailSection;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 招标项目章节正文冷存储 Mapper接口
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Mapper
+public interface TenderSectionMapper {
+
+    /**
+     * 插入或覆盖章节正文
+     *
+     * @param section 章节正文
+     * @return 影响行数
+     */
+    int upsert(TenderProjectDetailSection section);
+
+    /**
+     * 批量插入或覆盖章节正文
+     *
+     * @param list 章节正文列表
+     * @return 影响行数
+     */
+    int batchUpsert(@Param("list") List<TenderProjectDetailSection> list);
+
+    /**
+     * 根据infoid批量删除章节正文
+     *
+     * @param infoids 项目唯一标识列表
+     * @return 影响行数
+     */
+    int deleteByInfoIds(@Param("infoids") Collection<String> infoids);
+
+    /**
+     * 根据infoid查询章节正文
+     *
+     * @param infoid 项目唯一标识
+     * @return 章节正文
+     */
+    TenderProjectDetailSection selectByInfoId(@Param("infoid") String infoid);
+
+    /**
+     * 根据infoid批量查询章节正文
+     *
+     * @param infoids 项目唯一标识列表
+     * @return 章节正文列表
+     */
+    List<TenderProjectDetailSection> selectByInfoIds(@Param("infoids") Collection<String> infoids);
+}
@@ -3,11 +3,11 @@ package org.dromara.toubiao.parser;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.dromara.toubiao.auth.HebeiTokenCommonManager;
 import org.dromara.toubiao.client.HebeiHttpClientCommonFactory;
 import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+import org.dromara.toubiao.source.TenderSourceHttpClient;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -17,15 +17,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,19 +31,6 @@ public class HebeiPageParser {
     @Autowired
     private HebeiPageParserConfig config;
 
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm"),
-        DateTimeFormatter.ofPattern("yyyy/MM/dd"),
-        DateTimeFormatter.ofPattern("yyyy年MM月dd日HH时mm分"),
-        DateTimeFormatter.ofPattern("yyyy年MM月dd日"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS")
-    );
-
     private static final Pattern PATTERN_KEY_VALUE = Pattern.compile("^\\s*([^：:]+)[：:]\\s*(.+)$");
     private static final Pattern PATTERN_DEADLINE_IN_OVERVIEW = Pattern.compile("于\\s*(\\d{4}-\\d{2}-\\d{2}\\s+\\d{2}:\\d{2})\\(北京时间\\)前递交");
     private static final Pattern PATTERN_PUBLISH_TIME = Pattern.compile("发布时间[：:]\\s*(\\d{4}-\\d{2}-\\d{2}\\s+\\d{2}:\\d{2}:\\d{2})");
@@ -58,6 +40,12 @@ public class HebeiPageParser {
     private static final Pattern PATTERN_PROJECT_OVERVIEW_KEYWORD = Pattern.compile("(项目概况|项目基本情况|工程概况|采购需求|项目内容)");
     private static final Pattern PATTERN_BUDGET_GENERAL = Pattern.compile("(?:预算金额|总投资|最高投标限价|控制价|最高限价)[：:：]\\s*([\\d.,]+)\\s*(?:万元|元|万)?");
 
+    // 按br切分文本时的章节标题
+    private static final Pattern PATTERN_CHAPTER_TITLE = Pattern.compile(
+        "^\\s*[一二三四五六七八九十]、\\s*|" +
+            "^\\s*(项目基本情况|申请人资格要求|获取招标文件|提交投标文件截止时间、开标时间和地点|公告期限|其他补充事宜|对本次招标提出询问|联系方式|项目概况)"
+    );
+
     // 新增：Word风格HTML检测
     private static final Pattern PATTERN_WORD_STYLE = Pattern.compile("class=\"MsoNormal\"", Pattern.CASE_INSENSITIVE);
 
@@ -95,23 +83,26 @@ public class HebeiPageParser {
                 parsed.setParseErrorMsg("页面结构不符合预期，缺少 div.ewb-copy");
 
                 // 即使失败也尝试提取一些基本信息
-                extractBasicInfoFromNonStandard(doc.body(), parsed, originalProname);
+                extractBasicInfoFromNonStandard(HebeiPageStructure.analyze(doc.body()), parsed, originalProname);
                 return parsed;
             }
 
+            // 一次遍历完成结构分析，后续各阶段共享
+            HebeiPageStructure structure = HebeiPageStructure.analyze(ewbCopyDiv);
+
             // 2. 【重要】检查是否为标准格式招标文件，不是则跳过
-            if (!isStandardTenderPage(ewbCopyDiv)) {
+            if (!isStandardTenderPage(structure)) {
                 log.info("检测到非标准格式页面，标记为跳过，url: {}", infoUrl);
                 parsed.setParseStatus(4); // 4表示跳过解析（非标准格式）
                 parsed.setParseErrorMsg("非标准格式招标文件，跳过解析");
 
                 // 即使跳过，也尝试提取一些基本信息
-                extractBasicInfoFromNonStandard(ewbCopyDiv, parsed, originalProname);
+                extractBasicInfoFromNonStandard(structure, parsed, originalProname);
                 return parsed;
             }
 
             // 3. 执行解析
-            parseEnhanced(ewbCopyDiv, parsed);
+            parseEnhanced(structure, parsed);
 
             // 4. 验证和修复解析结果
             validateAndFixParsedData(parsed, originalProname);
@@ -149,23 +140,23 @@ public class HebeiPageParser {
     /**
      * 增强版解析方法
      */
-    private void parseEnhanced(Element ewbCopyDiv, TenderProjectDetailParsed parsed) {
+    private void parseEnhanced(HebeiPageStructure structure, TenderProjectDetailParsed parsed) {
         // 先检查是否是Word风格HTML
-        boolean isWordStyle = isWordStyleDocument(ewbCopyDiv);
+        boolean isWordStyle = isWordStyleDocument(structure);
 
         if (isWordStyle) {
             log.info("检测到Word风格HTML，使用专门解析方法");
-            parseWordStyleDocument(ewbCopyDiv, parsed);
+            parseWordStyleDocument(structure, parsed);
         } else {
             // 原有的解析逻辑
-            Map<String, String> sections = extractSections(ewbCopyDiv);
+            Map<String, String> sections = extractSections(structure);
 
             log.info("提取到 {} 个章节: {}", sections.size(), sections.keySet());
 
             // 如果没有提取到章节，尝试使用备用方法
             if (sections.isEmpty()) {
                 log.info("使用备用方法提取章节");
-                sections = extractSectionsByBr(ewbCopyDiv);
+                sections = extractSectionsByBr(structure);
                 log.info("备用方法提取到 {} 个章节: {}", sections.size(), sections.keySet());
             }
 
@@ -181,41 +172,28 @@ public class HebeiPageParser {
 
         // 全局兜底提取
         if (parsed.getProname() == null || parsed.getProno() == null) {
-            extractAllFieldsFallback(ewbCopyDiv.text(), parsed);
+            extractAllFieldsFallback(structure.text(), parsed);
         }
     }
 
     /**
      * 通过br标签分割的方式提取章节（处理没有strong标签的情况）
      */
-    private Map<String, String> extractSectionsByBr(Element ewbCopyDiv) {
+    private Map<String, String> extractSectionsByBr(HebeiPageStructure structure) {
         Map<String, String> sections = new LinkedHashMap<>();
 
         // 检查是否是表格结构
-        if (ewbCopyDiv.select("table").size() > 0) {
+        if (structure.hasTable()) {
             log.info("检测到表格结构，使用表格解析方法");
-            return extractSectionsFromTable(ewbCopyDiv);
+            return extractSectionsFromTable(structure.firstTable());
         }
 
-        // 获取所有文本节点，按br分割
-        String html = ewbCopyDiv.html();
-
-        // 清理HTML，将多个连续的br合并为一个换行符
-        html = html.replaceAll("(?i)<br\\s*/?>", "\n");
-        String text = Jsoup.parse(html).text();
-
-        // 按换行分割
-        String[] lines = text.split("\n");
+        // 结构分析时已按br切分为文本行，无需序列化后重新解析
+        List<String> lines = structure.getBrLines();
 
         StringBuilder currentSectionContent = new StringBuilder();
         String currentSectionTitle = null;
 
-        // 定义章节标题模式
-        Pattern chapterPattern = Pattern.compile(
-            "^\\s*[一二三四五六七八九十]、\\s*|" +
-                "^\\s*(项目基本情况|申请人资格要求|获取招标文件|提交投标文件截止时间、开标时间和地点|公告期限|其他补充事宜|对本次招标提出询问|联系方式|项目概况)"
-        );
-
         for (String line : lines) {
             line = line.trim();
             if (line.isEmpty()) {
@@ -223,7 +201,7 @@ public class HebeiPageParser {
             }
 
             // 检查是否是章节标题
-            Matcher matcher = chapterPattern.matcher(line);
+            Matcher matcher = PATTERN_CHAPTER_TITLE.matcher(line);
             if (matcher.find()) {
                 // 保存前一章节
                 if (currentSectionTitle != null) {
@@ -258,10 +236,9 @@ public class HebeiPageParser {
     /**
      * 从表格结构中提取章节
      */
-    private Map<String, String> extractSectionsFromTable(Element container) {
+    private Map<String, String> extractSectionsFromTable(Element table) {
         Map<String, String> sections = new LinkedHashMap<>();
 
-        Element table = container.selectFirst("table");
         if (table == null) {
             return sections;
         }
@@ -309,31 +286,27 @@ public class HebeiPageParser {
     /**
      * 判断是否为Word风格文档
      */
-    private boolean isWordStyleDocument(Element container) {
-        // 检查是否有Word特有的class
-        boolean hasMsoClass = container.select(".MsoNormal").size() > 0;
-        boolean hasTabStops = container.html().contains("tab-stops");
-        boolean hasMsoList = container.html().contains("mso-list");
-
-        log.debug("Word风格检测: MsoClass={}, TabStops={}, MsoList={}", hasMsoClass, hasTabStops, hasMsoList);
+    private boolean isWordStyleDocument(HebeiPageStructure structure) {
+        // Word特有的class或样式在结构分析时已统计
+        log.debug("Word风格检测: MsoNormal={}, WordStyle={}", structure.getMsoNormalCount(), structure.isWordStyle());
 
-        return hasMsoClass || hasTabStops || hasMsoList;
+        return structure.isWordStyle();
     }
 
     /**
      * 解析Word风格文档
      */
-    private void parseWordStyleDocument(Element container, TenderProjectDetailParsed parsed) {
+    private void parseWordStyleDocument(HebeiPageStructure structure, TenderProjectDetailParsed parsed) {
         log.info("开始解析Word风格文档");
 
         // 1. 解析基本情况章节
-        parseWordStyleBasicInfo(container, parsed);
+        parseWordStyleBasicInfo(structure, parsed);
 
         // 2. 解析其他章节（资格要求、获取招标文件等）
-        parseOtherWordSections(container, parsed);
+        parseOtherWordSections(structure, parsed);
 
         // 3. 解析联系信息
-        parseContactInfoFromWord(container, parsed);
+        parseContactInfoFromWord(structure, parsed);
 
         // 4. 验证和修复关键字段
         validateWordStyleFields(parsed);
@@ -342,13 +315,13 @@ public class HebeiPageParser {
     /**
      * 解析Word风格的基本情况章节
      */
-    private void parseWordStyleBasicInfo(Element container, TenderProjectDetailParsed parsed) {
+    private void parseWordStyleBasicInfo(HebeiPageStructure structure, TenderProjectDetailParsed parsed) {
         log.debug("开始解析Word风格的基本情况章节");
 
         // 查找包含"项目基本情况"的h2标签
         Element basicInfoSection = null;
 
-        for (Element h2 : container.select("h2")) {
+        for (Element h2 : structure.getH2s()) {
             String h2Text = h2.text().trim();
             if (h2Text.contains("项目基本情况") || h2Text.contains("一、")) {
                 basicInfoSection = h2;
@@ -604,9 +577,9 @@ public class HebeiPageParser {
     /**
      * 解析Word文档的其他章节
      */
-    private void parseOtherWordSections(Element container, TenderProjectDetailParsed parsed) {
-        // 查找所有h2标签
-        List<Element> h2Elements = container.select("h2");
+    private void parseOtherWordSections(HebeiPageStructure structure, TenderProjectDetailParsed parsed) {
+        // 所有h2标签
+        List<Element> h2Elements = structure.getH2s();
 
         Map<String, String> sections = new LinkedHashMap<>();
 
@@ -721,16 +694,17 @@ public class HebeiPageParser {
     /**
      * 从非标准格式页面提取基本信息
      */
-    private void extractBasicInfoFromNonStandard(Element element, TenderProjectDetailParsed parsed, String originalProname) {
+    private void extractBasicInfoFromNonStandard(HebeiPageStructure structure, TenderProjectDetailParsed parsed, String originalProname) {
+        Element element = structure.getRoot();
+        String fullText = structure.text();
+
         // 检查是否是表格结构
-        if (element.select("table").size() > 0) {
+        if (structure.hasTable()) {
             log.debug("检测到表格结构，使用表格解析逻辑");
-            extractInfoFromTableStructure(element, parsed, originalProname);
+            extractInfoFromTableStructure(fullText, parsed, originalProname);
             return;
         }
 
-        String fullText = element.text();
-
         // 优先使用原始项目名称
         if (originalProname != null && !originalProname.isEmpty()) {
             parsed.setProname(originalProname);
@@ -769,8 +743,7 @@ public class HebeiPageParser {
     /**
      * 从表格结构中提取信息
      */
-    private void extractInfoFromTableStructure(Element element, TenderProjectDetailParsed parsed, String originalProname) {
-        String fullText = element.text();
+    private void extractInfoFromTableStructure(String fullText, TenderProjectDetailParsed parsed, String originalProname) {
 
         // 提取项目名称
         if (originalProname != null && !originalProname.isEmpty()) {
@@ -990,11 +963,11 @@ public class HebeiPageParser {
      * 3. 不是单一来源采购、竞争性谈判、询价等非标准格式
      * 4. 不是表格结构（表格结构通常是简易公告）
      */
-    private boolean isStandardTenderPage(Element ewbCopyDiv) {
-        String fullText = ewbCopyDiv.text();
+    private boolean isStandardTenderPage(HebeiPageStructure structure) {
+        String fullText = structure.text();
 
         // 1. 检查是否是表格结构（非标准格式）
-        boolean hasTableStructure = ewbCopyDiv.select("table").size() > 0;
+        boolean hasTableStructure = structure.hasTable();
         if (hasTableStructure) {
             log.debug("检测到表格结构，可能为非标准格式");
             // 表格结构且没有标准章节标题，通常是非标准格式
@@ -1007,7 +980,7 @@ public class HebeiPageParser {
             fullText.contains("预算金额：");
 
         // 3. 必须有标准的章节结构（至少3个标准章节）
-        boolean hasStandardSections = hasStandardSectionStructure(ewbCopyDiv);
+        boolean hasStandardSections = hasStandardSectionStructure(structure);
 
         // 4. 排除非标准格式（单一来源、竞争性谈判、询价等）
         boolean isNonStandardFormat = isNonStandardFormat(fullText);
@@ -1022,7 +995,7 @@ public class HebeiPageParser {
     /**
      * 检查是否有标准章节结构
      */
-    private boolean hasStandardSectionStructure(Element ewbCopyDiv) {
+    private boolean hasStandardSectionStructure(HebeiPageStructure structure) {
         int standardSectionCount = 0;
 
         // 检查标准章节标题
@@ -1037,7 +1010,7 @@ public class HebeiPageParser {
             "七、对本次招标提出询问", "联系方式"
         };
 
-        String fullText = ewbCopyDiv.text();
+        String fullText = structure.text();
         for (String section : standardSections) {
             if (fullText.contains(section)) {
                 standardSectionCount++;
@@ -1045,7 +1018,7 @@ public class HebeiPageParser {
         }
 
         // 同时检查strong标签数量（标准格式通常有多个章节标题）
-        int strongCount = ewbCopyDiv.select("strong").size();
+        int strongCount = structure.getStrongs().size();
 
         log.debug("章节结构检测 - 标准章节数: {}, strong标签数: {}", standardSectionCount, strongCount);
 
@@ -1108,21 +1081,11 @@ public class HebeiPageParser {
     /**
      * 提取所有章节（增强版）- 支持两种页面结构
      */
-    private Map<String, String> extractSections(Element ewbCopyDiv) {
+    private Map<String, String> extractSections(HebeiPageStructure structure) {
         Map<String, String> sections = new LinkedHashMap<>();
 
-        // 策略1：查找包含strong标签的实际内容容器
-        Element contentContainer = ewbCopyDiv;
-
-        // 如果ewb-copy内部有div，并且这个div包含strong标签，则用这个div作为容器
-        Element innerDiv = ewbCopyDiv.selectFirst("div");
-        if (innerDiv != null && !innerDiv.select("strong").isEmpty()) {
-            contentContainer = innerDiv;
-            log.debug("使用内部div作为内容容器");
-        }
-
-        // 策略2：查找所有strong标签作为章节标题
-        List<Element> strongElements = contentContainer.select("strong");
+        // 所有strong标签作为章节标题（结构分析时已按文档顺序收集）
+        List<Element> strongElements = structure.getStrongs();
         if (strongElements.isEmpty()) {
             log.warn("未找到strong标签，无法提取章节");
             return sections;
@@ -1154,7 +1117,7 @@ public class HebeiPageParser {
             Node nextSibling = currentNode.nextSibling();
             while (nextSibling != null) {
                 // 检查是否遇到下一个章节标题
-                if (isNextSectionStart(nextSibling, strongElements, i)) {
+                if (isNextSectionStart(nextSibling, structure, i)) {
                     break;
                 }
 
@@ -1198,7 +1161,7 @@ public class HebeiPageParser {
         // 策略3：如果没有提取到章节，尝试降级解析
         if (sections.isEmpty()) {
             log.warn("通过strong标签未提取到章节，尝试备选方法");
-            return extractSectionsFallback(contentContainer);
+            return extractSectionsFallback(structure);
         }
 
         return sections;
@@ -1207,7 +1170,8 @@ public class HebeiPageParser {
     /**
      * 判断是否是下一个章节的开始
      */
-    private boolean isNextSectionStart(Node node, List<Element> strongElements, int currentIndex) {
+    private boolean isNextSectionStart(Node node, HebeiPageStructure structure, int currentIndex) {
+        List<Element> strongElements = structure.getStrongs();
         if (node instanceof Element) {
             Element el = (Element) node;
             if ("strong".equals(el.tagName())) {
@@ -1215,11 +1179,8 @@ public class HebeiPageParser {
             }
 
             // 检查是否是p标签包含strong标签
-            if ("p".equals(el.tagName())) {
-                Element strongInP = el.selectFirst("strong");
-                if (strongInP != null) {
-                    return true;
-                }
+            if ("p".equals(el.tagName()) && structure.containsStrong(el)) {
+                return true;
             }
         }
 
@@ -1231,11 +1192,8 @@ public class HebeiPageParser {
                 return true;
             }
             // 如果当前节点包含下一个strong标签，则停止
-            if (node instanceof Element) {
-                Element el = (Element) node;
-                if (el.children().contains(nextStrong)) {
-                    return true;
-                }
+            if (node instanceof Element && nextStrong.parent() == node) {
+                return true;
             }
         }
 
@@ -1271,26 +1229,27 @@ public class HebeiPageParser {
     /**
      * 备选章节提取方法（用于处理特殊结构）
      */
-    private Map<String, String> extractSectionsFallback(Element container) {
+    private Map<String, String> extractSectionsFallback(HebeiPageStructure structure) {
         Map<String, String> sections = new LinkedHashMap<>();
 
-        // 使用正则匹配章节标题和内容
-        String html = container.html();
+        // <p><strong>章节标题</strong></p> 段落在结构分析时已识别，内容为其后到下一个标题段落之间的兄弟节点
+        List<Element> headingParagraphs = structure.getHeadingParagraphs();
+        for (int i = 0; i < headingParagraphs.size(); i++) {
+            Element heading = headingParagraphs.get(i);
+            Element nextHeading = i + 1 < headingParagraphs.size() ? headingParagraphs.get(i + 1) : null;
+            String sectionTitle = heading.child(0).text().trim();
 
-        // 匹配模式：<p><strong>章节标题</strong></p>后面跟着的内容
-        Pattern pattern = Pattern.compile(
-            "<p>\\s*<strong>([^<]+)</strong>\\s*</p>\\s*(.*?)(?=<p>\\s*<strong>|$)",
-            Pattern.DOTALL
-        );
-
-        Matcher matcher = pattern.matcher(html);
-        while (matcher.find()) {
-            String sectionTitle = matcher.group(1).trim();
-            String rawContent = matcher.group(2);
+            StringBuilder contentBuilder = new StringBuilder();
+            for (Node node = heading.nextSibling(); node != null && node != nextHeading; node = node.nextSibling()) {
+                String text = node instanceof TextNode ? ((TextNode) node).text()
+                    : node instanceof Element ? ((Element) node).text() : "";
+                if (!text.isBlank()) {
+                    contentBuilder.append(text).append(' ');
+                }
+            }
 
-            // 清理HTML标签，只保留文本
-            String content = Jsoup.parse(rawContent).text()
-                .replaceAll("&nbsp;", " ")
+            String content = contentBuilder.toString()
+                .replace('\u00a0', ' ')
                 .replaceAll("\\s+", " ")
                 .trim();
 
@@ -1809,10 +1768,10 @@ public class HebeiPageParser {
     /**
      * 从Word文档中解析联系信息
      */
-    private void parseContactInfoFromWord(Element container, TenderProjectDetailParsed parsed) {
+    private void parseContactInfoFromWord(HebeiPageStructure structure, TenderProjectDetailParsed parsed) {
         // 查找"八、对本次招标提出询问"部分
         Element contactSection = null;
-        for (Element element : container.select("h2, h3")) {
+        for (Element element : structure.getHeadings()) {
             if (element.text().contains("对本次招标提出询问") || element.text().contains("联系方式") || element.text().contains("八、")) {
                 contactSection = element;
                 break;
@@ -2136,7 +2095,7 @@ public class HebeiPageParser {
     }
 
     private String fetchHtml(String url) throws Exception {
-        CloseableHttpClient client = HebeiHttpClientCommonFactory.getClient();
+        TenderSourceHttpClient client = HebeiHttpClientCommonFactory.getSourceClient();
         HttpGet request = new HttpGet(url);
         String token = HebeiTokenCommonManager.getToken();
         if (token != null && !token.isEmpty()) {
@@ -2173,83 +2132,15 @@ public class HebeiPageParser {
      * @return BigDecimal 类型，保留精确计算能力
      */
     private BigDecimal parseAmount(String text) {
-        if (text == null || text.isEmpty()) {
-            return null;
+        BigDecimal amount = TenderFieldNormalizer.parseAmount(text);
+        if (amount == null && text != null && !text.isEmpty()) {
+            log.debug("无法解析金额字符串: {}", text);
         }
-
-        try {
-            String originalText = text.trim();
-            log.debug("解析金额字符串: {}", originalText);
-
-            // 方案1：尝试匹配"预算金额：200万元"这种完整格式
-            Pattern fullPattern = Pattern.compile("预算金额[：:]\\s*([\\d,.]+)\\s*(万|万元|w|W)");
-            Matcher fullMatcher = fullPattern.matcher(originalText);
-            if (fullMatcher.find()) {
-                String numStr = fullMatcher.group(1).replaceAll(",", "");
-                BigDecimal amount = new BigDecimal(numStr).multiply(new BigDecimal("10000"));
-                log.info("完整格式万元转换: {} -> {}元", originalText, amount);
-                return amount.setScale(2, RoundingMode.HALF_UP);
-            }
-
-            // 方案2：尝试匹配"200万元"这种简单格式
-            Pattern simplePattern = Pattern.compile("([\\d,.]+)\\s*(万|万元|w|W|万千瓦|万千瓦时)");
-            Matcher simpleMatcher = simplePattern.matcher(originalText);
-            if (simpleMatcher.find()) {
-                String numStr = simpleMatcher.group(1).replaceAll(",", "");
-                BigDecimal amount = new BigDecimal(numStr).multiply(new BigDecimal("10000"));
-                log.info("简单格式万元转换: {} -> {}元", originalText, amount);
-                return amount.setScale(2, RoundingMode.HALF_UP);
-            }
-
-            // 方案3：处理"200元"或纯数字
-            Pattern yuanPattern = Pattern.compile("([\\d,.]+)\\s*(元|圆|RMB|￥|¥)?");
-            Matcher yuanMatcher = yuanPattern.matcher(originalText);
-            if (yuanMatcher.find()) {
-                String numStr = yuanMatcher.group(1).replaceAll(",", "");
-                BigDecimal amount = new BigDecimal(numStr);
-
-                // 如果是纯数字且小于10000，但原始文本包含"万"字，尝试再次检查
-                if (amount.compareTo(new BigDecimal("10000")) < 0 &&
-                    originalText.contains("万")) {
-                    // 可能是单位识别问题，强制转换
-                    amount = amount.multiply(new BigDecimal("10000"));
-                    log.warn("强制万元转换（疑似单位识别问题）: {} -> {}元", originalText, amount);
-                }
-
-                log.info("元格式解析: {} -> {}元", originalText, amount);
-                return amount.setScale(2, RoundingMode.HALF_UP);
-            }
-
-            log.warn("无法解析金额字符串: {}", originalText);
-        } catch (Exception e) {
-            log.warn("解析金额失败：{}，错误：{}", text, e.getMessage());
-        }
-        return null;
+        return amount;
     }
 
     private LocalDateTime parseDateTime(String text) {
-        if (text == null || text.isEmpty()) return null;
-
-        if (text.contains("阅读次数") || text.contains("信息来源")) {
-            return null;
-        }
-
-        try {
-            String normalized = text.trim();
-            normalized = normalized.replaceAll("[年月]", "-").replaceAll("[日号]", " ").replaceAll("[时分秒]", ":").replaceAll("[:\\s]+$", "");
-
-            for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-                try {
-                    if (normalized.length() == 10) {
-                        return LocalDateTime.of(LocalDate.parse(normalized, DateTimeFormatter.ISO_LOCAL_DATE), LocalTime.MIN);
-                    }
-                    return LocalDateTime.parse(normalized, formatter);
-                } catch (DateTimeParseException ignored) { }
-            }
-        } catch (Exception e) {
-            log.warn("解析日期时间失败：{}", text);
-        }
-        return null;
+        return TenderFieldNormalizer.parseDateTime(text);
     }
 
     /**
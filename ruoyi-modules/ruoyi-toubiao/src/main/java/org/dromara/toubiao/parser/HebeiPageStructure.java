@@ -0,0 +1,268 @@
+package org.dromara.toubiao.parser;
+
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 招标详情页结构分析结果
+ * 对 div.ewb-copy 只做一次 {@link NodeTraversor} 遍历，同时完成页面类型判定所需的统计、
+ * strong/h2/table 锚点收集、整体纯文本和按 br 切分的文本行，后续各解析阶段共享同一份结果，
+ * 不再对同一棵 DOM 反复 select 或序列化后重新解析
+ *
+ * @author
+ * @date 2026-10-19
+ */
+final class HebeiPageStructure {
+
+    private final Element root;
+
+    /** 文档顺序的 strong 标签 */
+    private final List<Element> strongs = new ArrayList<>();
+
+    /** 文档顺序的 h2 标签 */
+    private final List<Element> h2s = new ArrayList<>();
+
+    /** 文档顺序的 h2、h3 标签 */
+    private final List<Element> headings = new ArrayList<>();
+
+    /** 文档顺序的 table 标签 */
+    private final List<Element> tables = new ArrayList<>();
+
+    /** 形如 &lt;p&gt;&lt;strong&gt;标题&lt;/strong&gt;&lt;/p&gt; 的章节标题段落 */
+    private final List<Element> headingParagraphs = new ArrayList<>();
+
+    /** 包含 strong 后代的元素（含 strong 本身） */
+    private final Set<Element> strongHolders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** 按 br 切分、空白已归一化的文本行 */
+    private final List<String> brLines = new ArrayList<>();
+
+    private int msoNormalCount;
+
+    private boolean wordMarkup;
+
+    private String text;
+
+    private HebeiPageStructure(Element root) {
+        this.root = root;
+    }
+
+    /**
+     * 一次遍历分析页面结构
+     *
+     * @param root 内容区域，一般为 div.ewb-copy
+     * @return 结构分析结果
+     */
+    static HebeiPageStructure analyze(Element root) {
+        HebeiPageStructure structure = new HebeiPageStructure(root);
+        Collector collector = structure.new Collector();
+        NodeTraversor.traverse(collector, root);
+        collector.endLine();
+        structure.text = collector.fullText.toString();
+        return structure;
+    }
+
+    Element getRoot() {
+        return root;
+    }
+
+    /**
+     * 内容区域纯文本，空白归一化规则与 {@link Element#text()} 一致，在同一次遍历中收集
+     */
+    String text() {
+        return text;
+    }
+
+    List<Element> getStrongs() {
+        return strongs;
+    }
+
+    List<Element> getH2s() {
+        return h2s;
+    }
+
+    List<Element> getHeadings() {
+        return headings;
+    }
+
+    List<Element> getHeadingParagraphs() {
+        return headingParagraphs;
+    }
+
+    List<String> getBrLines() {
+        return brLines;
+    }
+
+    boolean hasTable() {
+        return !tables.isEmpty();
+    }
+
+    Element firstTable() {
+        return tables.isEmpty() ? null : tables.get(0);
+    }
+
+    /**
+     * 元素自身或其后代是否包含 strong 标签
+     */
+    boolean containsStrong(Element element) {
+        return strongHolders.contains(element);
+    }
+
+    /**
+     * 是否为 Word 导出的 HTML（MsoNormal 样式类或 tab-stops / mso-list 样式）
+     */
+    boolean isWordStyle() {
+        return msoNormalCount > 0 || wordMarkup;
+    }
+
+    int getMsoNormalCount() {
+        return msoNormalCount;
+    }
+
+    /**
+     * 遍历收集器
+     */
+    private final class Collector implements NodeVisitor {
+
+        private final StringBuilder line = new StringBuilder();
+
+        private final StringBuilder fullText = new StringBuilder();
+
+        private boolean pendingSpace;
+
+        private boolean fullTextPendingSpace;
+
+        @Override
+        public void head(Node node, int depth) {
+            if (node instanceof TextNode) {
+                appendText(((TextNode) node).getWholeText());
+                return;
+            }
+            if (!(node instanceof Element)) {
+                return;
+            }
+            Element element = (Element) node;
+            switch (element.normalName()) {
+                case "strong":
+                    strongs.add(element);
+                    for (Element e = element; e != null; e = e == root ? null : e.parent()) {
+                        if (!strongHolders.add(e)) {
+                            break;
+                        }
+                    }
+                    break;
+                case "h2":
+                    h2s.add(element);
+                    headings.add(element);
+                    break;
+                case "h3":
+                    headings.add(element);
+                    break;
+                case "table":
+                    tables.add(element);
+                    break;
+                case "br":
+                    endLine();
+                    fullTextPendingSpace = fullText.length() > 0;
+                    break;
+                case "p":
+                    if (isHeadingParagraph(element)) {
+                        headingParagraphs.add(element);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (element.isBlock()) {
+                blockBoundary();
+            }
+            if (element.attributesSize() > 0) {
+                if (element.hasClass("MsoNormal")) {
+                    msoNormalCount++;
+                }
+                if (!wordMarkup) {
+                    for (Attribute attribute : element.attributes()) {
+                        String value = attribute.getValue();
+                        if (value.contains("tab-stops") || value.contains("mso-list")) {
+                            wordMarkup = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void tail(Node node, int depth) {
+            if (node instanceof Element && ((Element) node).isBlock()) {
+                blockBoundary();
+            }
+        }
+
+        private void blockBoundary() {
+            pendingSpace = line.length() > 0;
+            fullTextPendingSpace = fullText.length() > 0;
+        }
+
+        /**
+         * 追加文本到当前行与整体纯文本并归一化空白（含 nbsp）
+         */
+        private void appendText(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isWhitespace(c) || c == '\u00a0') {
+                    pendingSpace = line.length() > 0;
+                    fullTextPendingSpace = fullText.length() > 0;
+                } else {
+                    if (pendingSpace) {
+                        line.append(' ');
+                        pendingSpace = false;
+                    }
+                    line.append(c);
+                    if (fullTextPendingSpace) {
+                        fullText.append(' ');
+                        fullTextPendingSpace = false;
+                    }
+                    fullText.append(c);
+                }
+            }
+        }
+
+        private void endLine() {
+            if (line.length() > 0) {
+                brLines.add(line.toString());
+                line.setLength(0);
+            }
+            pendingSpace = false;
+        }
+
+        /**
+         * 无属性 p 中只有一个无属性 strong，且 strong 只含文本
+         */
+        private boolean isHeadingParagraph(Element p) {
+            if (p.attributesSize() > 0 || p.childrenSize() != 1) {
+                return false;
+            }
+            Element strong = p.child(0);
+            if (!"strong".equals(strong.normalName()) || strong.attributesSize() > 0 || strong.childrenSize() > 0) {
+                return false;
+            }
+            for (TextNode textNode : p.textNodes()) {
+                if (!textNode.isBlank()) {
+                    return false;
+                }
+            }
+            return !strong.text().isBlank();
+        }
+    }
+}
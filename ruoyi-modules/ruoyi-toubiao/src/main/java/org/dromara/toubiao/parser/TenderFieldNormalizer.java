@@ -0,0 +1,286 @@
+package org.dromara.toubiao.parser;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * 招标字段归一化工具
+ * 金额与日期均采用手写单遍扫描，不编译正则、不依赖异常做流程控制，
+ * 供页面解析和批量重解析时高频调用
+ *
+ * @author
+ * @date 2026-10-19
+ */
+public final class TenderFieldNormalizer {
+
+    /** 单个数字最多保留的字符数，超长视为非金额 */
+    private static final int MAX_NUMBER_CHARS = 32;
+
+    /** 日期最多识别的字段数：年 月 日 时 分 秒 毫秒 */
+    private static final int MAX_DATE_FIELDS = 7;
+
+    private static final int UNIT_YUAN = 0;
+    private static final int UNIT_WAN = 4;
+    private static final int UNIT_YI = 8;
+
+    private static final BigDecimal TEN_THOUSAND = BigDecimal.valueOf(10000);
+
+    private TenderFieldNormalizer() {
+    }
+
+    // ==================== 金额 ====================
+
+    /**
+     * 解析金额字符串，统一换算为元并保留两位小数
+     * 支持格式: "100万元"、"100万"、"100w"、"1.5亿"、"100,000.00元"、"¥100"、全角数字等
+     * 优先取第一个带"万/亿"单位的数字；没有带单位的数字时取第一个数字，
+     * 若该数字小于一万且原文包含"万"字（如"预算金额（万元）：200"），按万元换算
+     *
+     * @param text 金额文本
+     * @return 金额（元），无法识别返回 null
+     */
+    public static BigDecimal parseAmount(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        char[] buf = new char[MAX_NUMBER_CHARS];
+
+        BigDecimal first = null;
+        boolean containsWan = false;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '万') {
+                containsWan = true;
+            }
+            if (digit(c) < 0) {
+                i++;
+                continue;
+            }
+
+            // 扫描一个数字：整数部分的半角逗号与原实现一样直接去掉，全角逗号只在千分位分组时视为分隔符，最多一个小数点
+            int len = 0;
+            boolean overflow = false;
+            boolean seenPoint = false;
+            while (i < length) {
+                c = text.charAt(i);
+                int d = digit(c);
+                if (d >= 0) {
+                    if (len < MAX_NUMBER_CHARS) {
+                        buf[len++] = (char) ('0' + d);
+                    } else {
+                        overflow = true;
+                    }
+                    i++;
+                } else if (c == ',' && !seenPoint && i + 1 < length && digit(text.charAt(i + 1)) >= 0) {
+                    i++;
+                } else if (c == '，' && !seenPoint && isThousandsGroup(text, i + 1)) {
+                    i++;
+                } else if ((c == '.' || c == '．') && !seenPoint && i + 1 < length && digit(text.charAt(i + 1)) >= 0) {
+                    seenPoint = true;
+                    if (len < MAX_NUMBER_CHARS) {
+                        buf[len++] = '.';
+                    } else {
+                        overflow = true;
+                    }
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (overflow) {
+                continue;
+            }
+
+            // 跳过数字与单位之间的空白
+            int j = i;
+            while (j < length && isBlank(text.charAt(j))) {
+                j++;
+            }
+            int unit = j < length ? unitOf(text.charAt(j)) : UNIT_YUAN;
+            BigDecimal value = new BigDecimal(buf, 0, len);
+            if (unit != UNIT_YUAN) {
+                return scale(value.movePointRight(unit));
+            }
+            if (first == null) {
+                first = value;
+            }
+        }
+
+        if (first == null) {
+            return null;
+        }
+        if (containsWan && first.compareTo(TEN_THOUSAND) < 0) {
+            return scale(first.movePointRight(UNIT_WAN));
+        }
+        return scale(first);
+    }
+
+    /**
+     * 逗号之后是否恰好是三位数字（千分位分组）
+     */
+    private static boolean isThousandsGroup(CharSequence text, int start) {
+        int length = text.length();
+        if (start + 3 > length) {
+            return false;
+        }
+        for (int k = start; k < start + 3; k++) {
+            if (digit(text.charAt(k)) < 0) {
+                return false;
+            }
+        }
+        return start + 3 == length || digit(text.charAt(start + 3)) < 0;
+    }
+
+    private static int unitOf(char c) {
+        switch (c) {
+            case '万':
+            case 'w':
+            case 'W':
+                return UNIT_WAN;
+            case '亿':
+                return UNIT_YI;
+            default:
+                return UNIT_YUAN;
+        }
+    }
+
+    private static BigDecimal scale(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ==================== 日期 ====================
+
+    /**
+     * 解析日期时间字符串
+     * 单遍切分出 年/月/日/时/分/秒/毫秒 数字字段，字段之间可以是 - / . 年 月 日 号 T 空格 : 时 分 秒 等任意分隔符，
+     * 按字段个数直接确定格式；遇到其他字符即停止，后缀文字（如"（北京时间）"）被忽略
+     *
+     * @param text 日期文本，如 "2025-01-02 09:30"、"2025年1月2日9时30分"、"2025/01/02"
+     * @return 日期时间，无法识别返回 null
+     */
+    public static LocalDateTime parseDateTime(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        int[] fields = new int[MAX_DATE_FIELDS];
+        int[] widths = new int[MAX_DATE_FIELDS];
+        int count = 0;
+        char lastSeparator = 0;
+
+        int i = 0;
+        while (i < length && isBlank(text.charAt(i))) {
+            i++;
+        }
+        while (i < length && count < MAX_DATE_FIELDS) {
+            char c = text.charAt(i);
+            int d = digit(c);
+            if (d >= 0) {
+                // 小数秒字段必须紧跟在小数点之后
+                if (count == MAX_DATE_FIELDS - 1 && lastSeparator != '.') {
+                    break;
+                }
+                int value = 0;
+                int width = 0;
+                while (i < length && (d = digit(text.charAt(i))) >= 0) {
+                    if (width < 9) {
+                        value = value * 10 + d;
+                    }
+                    width++;
+                    i++;
+                }
+                fields[count] = value;
+                widths[count] = width;
+                count++;
+            } else if (isDateSeparator(c)) {
+                lastSeparator = c;
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        if (count < 3 || widths[0] != 4) {
+            return null;
+        }
+        int year = fields[0];
+        int month = fields[1];
+        int day = fields[2];
+        int hour = count > 3 ? fields[3] : 0;
+        int minute = count > 4 ? fields[4] : 0;
+        int second = count > 5 ? fields[5] : 0;
+        int nano = count > 6 ? toNanos(fields[6], widths[6]) : 0;
+
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        if (hour > 23 || minute > 59 || second > 59 || nano < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    /**
+     * 小数秒字段换算为纳秒，超过9位视为非法
+     */
+    private static int toNanos(int value, int width) {
+        if (width > 9) {
+            return -1;
+        }
+        int nanos = value;
+        for (int k = width; k < 9; k++) {
+            nanos *= 10;
+        }
+        return nanos;
+    }
+
+    private static boolean isDateSeparator(char c) {
+        switch (c) {
+            case '-':
+            case '/':
+            case '.':
+            case ':':
+            case '：':
+            case 'T':
+            case ' ':
+            case '\u00a0':
+            case '\u3000':
+            case '\t':
+            case '年':
+            case '月':
+            case '日':
+            case '号':
+            case '时':
+            case '点':
+            case '分':
+            case '秒':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ==================== 公共 ====================
+
+    /**
+     * 半角/全角数字转数值，非数字返回 -1
+     */
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= '０' && c <= '９') {
+            return c - '０';
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\u00a0' || c == '\u3000';
+    }
+}
@@ -0,0 +1,38 @@
+package org.dromara.toubiao.persist;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 解析结果写后持久化配置
+ * <pre>
+ * tender:
+ *   persist:
+ *     batch-size: 200
+ *     flush-interval-ms: 500
+ * </pre>
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "tender.persist")
+public class TenderParsedPersistProperties {
+
+    /**
+     * 单批最多写入的记录数，达到即刷盘
+     */
+    private Integer batchSize = 200;
+
+    /**
+     * 最长缓冲时间（毫秒），超过即刷盘
+     */
+    private Long flushIntervalMs = 500L;
+
+    /**
+     * 缓冲队列容量，队列满时提交线程阻塞等待
+     */
+    private Integer queueCapacity = 5000;
+}
@@ -0,0 +1,237 @@
+package org.dromara.toubiao.persist;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+import org.dromara.toubiao.service.TenderParsedBatchService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 解析结果写后持久化器
+ * 解析线程只把结果放入缓冲队列，由单独的刷盘线程按数量或时间触发，
+ * 在一个事务内批量写入解析表、章节正文和主表解析状态，
+ * 多个解析线程的写入被合并为一次数据库往返
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class TenderParsedPersister {
+
+    private final TenderParsedBatchService tenderParsedBatchService;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final BlockingQueue<PendingWrite> queue;
+
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    public TenderParsedPersister(TenderParsedBatchService tenderParsedBatchService,
+                                 TenderParsedPersistProperties properties) {
+        this.tenderParsedBatchService = tenderParsedBatchService;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getFlushIntervalMs()));
+        this.queue = new ArrayBlockingQueue<>(Math.max(batchSize, properties.getQueueCapacity()));
+        this.flusher = new Thread(this::flushLoop, "tender-parsed-persister");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 提交解析结果，并在同一批次内更新主表解析状态
+     *
+     * @param parsed 解析详情
+     * @param status 主表解析状态（bak），为 null 时不更新
+     * @return 写入结果，true 表示已提交到数据库
+     */
+    public CompletableFuture<Boolean> submit(TenderProjectDetailParsed parsed, String status) {
+        return submit(parsed, status, null);
+    }
+
+    /**
+     * 提交解析结果，并在同一批次内更新主表解析状态；写入失败时由刷盘线程直接把主表更新为失败状态
+     *
+     * @param parsed       解析详情
+     * @param status       主表解析状态（bak），为 null 时不更新
+     * @param failedStatus 写入失败时的主表解析状态，为 null 时不更新
+     * @return 写入结果，true 表示已提交到数据库
+     */
+    public CompletableFuture<Boolean> submit(TenderProjectDetailParsed parsed, String status, String failedStatus) {
+        return enqueue(new PendingWrite(parsed.getInfoid(), parsed, status, failedStatus));
+    }
+
+    /**
+     * 仅提交主表解析状态
+     *
+     * @param infoid 项目唯一标识
+     * @param status 主表解析状态（bak）
+     * @return 写入结果
+     */
+    public CompletableFuture<Boolean> submitStatus(String infoid, String status) {
+        return enqueue(new PendingWrite(infoid, null, status, null));
+    }
+
+    private CompletableFuture<Boolean> enqueue(PendingWrite write) {
+        if (!running) {
+            // 已停止：直接同步写入，保证关闭过程中提交的数据不丢失
+            flush(Collections.singletonList(write));
+            return write.future;
+        }
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.future.complete(false);
+        }
+        return write.future;
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 从第一条开始计时，攒满一批或等到超时即刷盘
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    /**
+     * 批量刷盘，批量失败时逐条重试，避免一条坏数据拖垮整批
+     */
+    private void flush(List<PendingWrite> batch) {
+        try {
+            write(batch);
+            batch.forEach(w -> w.future.complete(true));
+        } catch (Exception e) {
+            log.error("解析结果批量写入失败，改为逐条写入: {} 条", batch.size(), e);
+            if (batch.size() == 1) {
+                fail(batch.get(0));
+                return;
+            }
+            for (PendingWrite write : batch) {
+                try {
+                    write(Collections.singletonList(write));
+                    write.future.complete(true);
+                } catch (Exception ex) {
+                    log.error("解析结果写入失败: {}", write.infoid, ex);
+                    fail(write);
+                }
+            }
+        }
+    }
+
+    /**
+     * 在刷盘线程内直接写入失败状态，不经过队列，避免队列已满时刷盘线程阻塞在自己的队列上
+     */
+    private void fail(PendingWrite write) {
+        if (write.failedStatus != null) {
+            try {
+                tenderParsedBatchService.saveBatch(Collections.emptyList(),
+                    Collections.singletonMap(write.failedStatus, Collections.singletonList(write.infoid)));
+            } catch (Exception e) {
+                log.error("主表失败状态写入失败: {}", write.infoid, e);
+            }
+        }
+        write.future.complete(false);
+    }
+
+    private void write(List<PendingWrite> batch) {
+        // 同一 infoid 在批次内多次提交时以最后一次为准
+        Map<String, TenderProjectDetailParsed> parsedMap = new LinkedHashMap<>();
+        Map<String, String> statusMap = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            if (write.parsed != null) {
+                parsedMap.put(write.infoid, write.parsed);
+            }
+            if (write.status != null) {
+                statusMap.put(write.infoid, write.status);
+            }
+        }
+        Map<String, List<String>> statusGroups = new LinkedHashMap<>();
+        statusMap.forEach((infoid, status) -> statusGroups.computeIfAbsent(status, k -> new ArrayList<>()).add(infoid));
+        tenderParsedBatchService.saveBatch(new ArrayList<>(parsedMap.values()), statusGroups);
+    }
+
+    /**
+     * 停止刷盘线程并写完缓冲中的数据
+     */
+    @PreDestroy
+    public void destroy() {
+        // 刷盘线程最长等待一个刷盘间隔就会发现已停止，不中断以免打断进行中的数据库写入
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingWrite> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+    }
+
+    /**
+     * 待写入的解析结果
+     */
+    private static final class PendingWrite {
+
+        private final String infoid;
+
+        private final TenderProjectDetailParsed parsed;
+
+        private final String status;
+
+        private final String failedStatus;
+
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        private PendingWrite(String infoid, TenderProjectDetailParsed parsed, String status, String failedStatus) {
+            this.infoid = infoid;
+            this.parsed = parsed;
+            this.status = status;
+            this.failedStatus = failedStatus;
+        }
+    }
+}
@@ -2,12 +2,14 @@ package org.dromara.toubiao.service;
 
 import org.dromara.toubiao.domain.TenderProjectDetail;
 import org.dromara.toubiao.mapper.GetMessageMapper;
+import org.dromara.toubiao.source.TenderSourceScheduler;
 import org.dromara.toubiao.utils.PaChong.GetMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 功能：
@@ -23,6 +25,9 @@ public class GetMessageService {
     @Autowired
     private GetMessageMapper getMessageMapper;
 
+    @Autowired
+    private TenderSourceScheduler tenderSourceScheduler;
+
 
     @Transactional
     public String WriteToDataBase() {
@@ -42,4 +47,19 @@ public class GetMessageService {
 
     }
 
+    /**
+     * 并行抓取所有已启用数据源的项目列表并入库
+     *
+     * @return 数据源编码 -> 入库条数，抓取失败的数据源为 null
+     */
+    public Map<String, Integer> writeAllSourcesToDataBase() {
+        return tenderSourceScheduler.runAll(adapter -> {
+            List<TenderProjectDetail> list = adapter.fetchProjectList();
+            if (list == null || list.isEmpty()) {
+                return 0;
+            }
+            return getMessageMapper.insertIntoTenderProjectList(list);
+        });
+    }
+
 }
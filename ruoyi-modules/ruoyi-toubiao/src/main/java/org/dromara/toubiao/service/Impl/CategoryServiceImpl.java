@@ -2,9 +2,11 @@ package org.dromara.toubiao.service.Impl;
 
 import org.dromara.toubiao.domain.CategoryMessage;
 import org.dromara.toubiao.domain.CategoryMessageDTO;
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
 import org.dromara.toubiao.mapper.TenderProjectDetailParsedMapper;
 import org.dromara.toubiao.service.CategoryService;
 import org.dromara.toubiao.service.CategoryUpdateService;
+import org.dromara.toubiao.service.TenderSectionStorageService;
 import org.dromara.toubiao.utils.AiCategory.CozeApiClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
@@ -13,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -29,6 +32,9 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     CategoryUpdateService categoryUpdateService;
 
+    @Autowired
+    TenderSectionStorageService tenderSectionStorageService;
+
     // 最大并发数：同时发10个API请求
     private static final int MAX_CONCURRENT = 10;
 
@@ -124,6 +130,22 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public List<CategoryMessage> getCategoryMessage() {
-        return tenderProjectDetailParsedMapper.selectCategoryMessage();
+        List<CategoryMessage> list = tenderProjectDetailParsedMapper.selectCategoryMessage();
+        // 采购需求与项目概况已迁移到冷存储，批量解压回填；未迁移的记录保留主表内联值
+        List<String> infoids = new ArrayList<>(list.size());
+        for (CategoryMessage message : list) {
+            if (message.getInfoid() != null) {
+                infoids.add(message.getInfoid());
+            }
+        }
+        Map<String, TenderProjectDetailParsed> sections = tenderSectionStorageService.loadSections(infoids);
+        for (CategoryMessage message : list) {
+            TenderProjectDetailParsed section = sections.get(message.getInfoid());
+            if (section != null) {
+                message.setSectionProjectNeed(section.getSectionProjectNeed());
+                message.setSectionProjectOverview(section.getSectionProjectOverview());
+            }
+        }
+        return list;
     }
 }
@@ -1,11 +1,12 @@
 package org.dromara.toubiao.service.Impl;
 
 import lombok.extern.slf4j.Slf4j;
-import org.dromara.toubiao.client.HebeiHttpClientCommonFactory;
 import org.dromara.toubiao.client.HebeiInfoUrlCommonClient;
 import org.dromara.toubiao.domain.TenderProjectDetail;
 import org.dromara.toubiao.mapper.GetMessageMapper;
 import org.dromara.toubiao.service.HebeiTenderService;
+import org.dromara.toubiao.source.Impl.HebeiTenderSourceAdapter;
+import org.dromara.toubiao.source.TenderSourceScheduler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +27,9 @@ public class HebeiTenderServiceImpl implements HebeiTenderService {
 
     @Autowired
     private HebeiInfoUrlCommonClient hebeiInfoUrlCommonClient;
+
+    @Autowired
+    private TenderSourceScheduler tenderSourceScheduler;
     //防止多个同步任务同时运行
     private static final AtomicBoolean isSyncing = new AtomicBoolean(false);
 
@@ -66,12 +70,10 @@ public class HebeiTenderServiceImpl implements HebeiTenderService {
 
             log.info("开始批量同步，共 {} 条记录", missingList.size());
 
-            // 2. 使用线程池并发处理实体对象
+            // 2. 在河北数据源的并发配额内提交到共享线程池
             List<CompletableFuture<Void>> futures = missingList.stream()
-                .map(detail -> CompletableFuture.runAsync(() -> {
-                    // 传入整个对象进行处理
-                    processSingleUrl(detail);
-                }, HebeiHttpClientCommonFactory.getExecutor()))
+                .map(detail -> tenderSourceScheduler.run(HebeiTenderSourceAdapter.SOURCE_CODE,
+                    () -> processSingleUrl(detail)))
                 .collect(Collectors.toList());
 
             // 3. 等待本批次所有任务完成
@@ -103,10 +105,6 @@ public class HebeiTenderServiceImpl implements HebeiTenderService {
             } else {
                 log.warn("未能获取到 ID: {} 的有效 URL", infoId);
             }
-
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("处理记录 ID: {} 时发生异常", infoId, e);
         }
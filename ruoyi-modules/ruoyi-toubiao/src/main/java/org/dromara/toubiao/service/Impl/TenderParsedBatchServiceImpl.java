@@ -0,0 +1,56 @@
+package org.dromara.toubiao.service.Impl;
+
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+import org.dromara.toubiao.mapper.GetMessageMapper;
+import org.dromara.toubiao.mapper.TenderParsedMapper;
+import org.dromara.toubiao.service.TenderParsedBatchService;
+import org.dromara.toubiao.service.TenderSectionStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 解析结果批量持久化 Service实现
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Service
+public class TenderParsedBatchServiceImpl implements TenderParsedBatchService {
+
+    @Autowired
+    private TenderParsedMapper tenderParsedMapper;
+
+    @Autowired
+    private GetMessageMapper getMessageMapper;
+
+    @Autowired
+    private TenderSectionStorageService tenderSectionStorageService;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void saveBatch(List<TenderProjectDetailParsed> parsedList, Map<String, List<String>> statusGroups) {
+        if (parsedList != null && !parsedList.isEmpty()) {
+            tenderParsedMapper.batchUpsert(parsedList);
+            tenderSectionStorageService.saveSections(parsedList);
+        }
+        if (statusGroups != null) {
+            statusGroups.forEach((status, infoids) -> {
+                if (!infoids.isEmpty()) {
+                    getMessageMapper.batchUpdateParseStatus(infoids, status);
+                }
+            });
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int save(TenderProjectDetailParsed parsed) {
+        int rows = parsed.getId() != null ? tenderParsedMapper.update(parsed) : tenderParsedMapper.insert(parsed);
+        tenderSectionStorageService.saveSections(parsed);
+        return rows;
+    }
+}
@@ -6,6 +6,7 @@ import org.dromara.toubiao.domain.TenderProjectDetailParsed;
 import org.dromara.toubiao.domain.TenderProjectDetailParsedVO;
 import org.dromara.toubiao.mapper.TenderProjectDetailParsedMapper;
 import org.dromara.toubiao.service.TenderProjectDetailParsedService;
+import org.dromara.toubiao.service.TenderSectionStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,9 @@ public class TenderProjectDetailParsedServiceImpl implements TenderProjectDetail
     @Autowired
     private TenderProjectDetailParsedMapper tenderProjectDetailParsedMapper;
 
+    @Autowired
+    private TenderSectionStorageService tenderSectionStorageService;
+
     /**
      * 查询所有数据
      * @return 所有解析详情列表
@@ -72,13 +76,23 @@ public class TenderProjectDetailParsedServiceImpl implements TenderProjectDetail
     }
 
     /**
-     * 根据ID查询
+     * 根据ID查询，章节正文从冷存储按需解压加载
      * @param id 主键ID
      * @return 解析详情
      */
     @Override
     public TenderProjectDetailParsed getById(Integer id) {
-        return tenderProjectDetailParsedMapper.selectById(id);
+        return tenderSectionStorageService.loadSections(tenderProjectDetailParsedMapper.selectById(id));
+    }
+
+    /**
+     * 迁移内联章节正文到冷存储
+     * @param limit 单批数量
+     * @return 本批迁移的记录数
+     */
+    @Override
+    public int migrateSections(int limit) {
+        return tenderSectionStorageService.migrateInlineSections(limit);
     }
 
 
@@ -0,0 +1,129 @@
+package org.dromara.toubiao.service.Impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+import org.dromara.toubiao.domain.TenderProjectDetailSection;
+import org.dromara.toubiao.mapper.TenderProjectDetailParsedMapper;
+import org.dromara.toubiao.mapper.TenderSectionMapper;
+import org.dromara.toubiao.service.TenderSectionStorageService;
+import org.dromara.toubiao.utils.TenderSectionCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 招标项目章节正文冷存储 Service实现
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+public class TenderSectionStorageServiceImpl implements TenderSectionStorageService {
+
+    @Autowired
+    private TenderSectionMapper tenderSectionMapper;
+
+    @Autowired
+    private TenderProjectDetailParsedMapper tenderProjectDetailParsedMapper;
+
+    @Override
+    public void saveSections(TenderProjectDetailParsed parsed) {
+        if (parsed == null || parsed.getInfoid() == null) {
+            return;
+        }
+        if (TenderSectionCodec.hasSections(parsed)) {
+            tenderSectionMapper.upsert(toSection(parsed));
+        } else {
+            // 重新解析没有章节时 删除上次解析留下的章节正文
+            tenderSectionMapper.deleteByInfoIds(List.of(parsed.getInfoid()));
+        }
+    }
+
+    @Override
+    public void saveSections(List<TenderProjectDetailParsed> parsedList) {
+        List<TenderProjectDetailSection> sections = new ArrayList<>(parsedList.size());
+        List<String> emptyInfoids = new ArrayList<>();
+        for (TenderProjectDetailParsed parsed : parsedList) {
+            if (parsed.getInfoid() == null) {
+                continue;
+            }
+            if (TenderSectionCodec.hasSections(parsed)) {
+                sections.add(toSection(parsed));
+            } else {
+                emptyInfoids.add(parsed.getInfoid());
+            }
+        }
+        if (!sections.isEmpty()) {
+            tenderSectionMapper.batchUpsert(sections);
+        }
+        if (!emptyInfoids.isEmpty()) {
+            tenderSectionMapper.deleteByInfoIds(emptyInfoids);
+        }
+    }
+
+    @Override
+    public TenderProjectDetailParsed loadSections(TenderProjectDetailParsed parsed) {
+        if (parsed == null || parsed.getInfoid() == null) {
+            return parsed;
+        }
+        TenderProjectDetailSection section = tenderSectionMapper.selectByInfoId(parsed.getInfoid());
+        if (section != null) {
+            TenderSectionCodec.decode(section.getContent(), parsed);
+        }
+        return parsed;
+    }
+
+    @Override
+    public Map<String, TenderProjectDetailParsed> loadSections(Collection<String> infoids) {
+        if (infoids == null || infoids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<TenderProjectDetailSection> sections = tenderSectionMapper.selectByInfoIds(infoids);
+        Map<String, TenderProjectDetailParsed> result = new HashMap<>(sections.size() * 2);
+        for (TenderProjectDetailSection section : sections) {
+            TenderProjectDetailParsed parsed = new TenderProjectDetailParsed();
+            parsed.setInfoid(section.getInfoid());
+            TenderSectionCodec.decode(section.getContent(), parsed);
+            result.put(section.getInfoid(), parsed);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int migrateInlineSections(int limit) {
+        List<TenderProjectDetailParsed> list = tenderProjectDetailParsedMapper.selectInlineSectionList(limit);
+        if (list.isEmpty()) {
+            return 0;
+        }
+        List<Integer> ids = new ArrayList<>(list.size());
+        long rawChars = 0;
+        long compressedBytes = 0;
+        for (TenderProjectDetailParsed parsed : list) {
+            TenderProjectDetailSection section = toSection(parsed);
+            tenderSectionMapper.upsert(section);
+            ids.add(parsed.getId());
+            rawChars += section.getRawLength();
+            compressedBytes += section.getContent().length;
+        }
+        tenderProjectDetailParsedMapper.clearInlineSections(ids);
+        log.info("章节正文迁移完成: {} 条, 原文 {} 字符, 压缩后 {} 字节", ids.size(), rawChars, compressedBytes);
+        return ids.size();
+    }
+
+    private TenderProjectDetailSection toSection(TenderProjectDetailParsed parsed) {
+        TenderProjectDetailSection section = new TenderProjectDetailSection();
+        section.setInfoid(parsed.getInfoid());
+        section.setContent(TenderSectionCodec.encode(parsed));
+        section.setRawLength(TenderSectionCodec.rawLength(parsed));
+        return section;
+    }
+}
@@ -0,0 +1,31 @@
+package org.dromara.toubiao.service;
+
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 解析结果批量持久化 Service
+ *
+ * @author
+ * @date 2026-10-19
+ */
+public interface TenderParsedBatchService {
+
+    /**
+     * 在同一事务内批量写入解析结果、章节正文和主表解析状态
+     *
+     * @param parsedList   解析详情列表，可为空
+     * @param statusGroups 解析状态 -> infoid 列表，可为空
+     */
+    void saveBatch(List<TenderProjectDetailParsed> parsedList, Map<String, List<String>> statusGroups);
+
+    /**
+     * 在同一事务内写入单条解析结果和章节正文 id 不为空时更新 否则插入
+     *
+     * @param parsed 解析详情
+     * @return 解析结果影响行数
+     */
+    int save(TenderProjectDetailParsed parsed);
+}
@@ -42,5 +42,12 @@ public interface TenderProjectDetailParsedService {
      */
     TenderProjectDetailParsed getById(Integer id);
 
+    /**
+     * 迁移内联章节正文到冷存储
+     * @param limit 单批数量
+     * @return 本批迁移的记录数
+     */
+    int migrateSections(int limit);
+
 
 }
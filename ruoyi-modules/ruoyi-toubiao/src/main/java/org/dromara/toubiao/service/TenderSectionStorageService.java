@@ -0,0 +1,55 @@
+package org.dromara.toubiao.service;
+
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 招标项目章节正文冷存储 Service
+ * 章节正文压缩后存放于 tender_project_detail_section，主表只保留摘要字段
+ *
+ * @author
+ * @date 2026-10-19
+ */
+public interface TenderSectionStorageService {
+
+    /**
+     * 压缩并保存章节正文，没有任何章节时不写入
+     *
+     * @param parsed 解析详情
+     */
+    void saveSections(TenderProjectDetailParsed parsed);
+
+    /**
+     * 批量压缩并保存章节正文
+     *
+     * @param parsedList 解析详情列表
+     */
+    void saveSections(List<TenderProjectDetailParsed> parsedList);
+
+    /**
+     * 按需解压章节正文并回填到解析详情，冷存储中没有记录时保留原值
+     *
+     * @param parsed 解析详情
+     * @return 回填后的解析详情
+     */
+    TenderProjectDetailParsed loadSections(TenderProjectDetailParsed parsed);
+
+    /**
+     * 批量解压章节正文
+     *
+     * @param infoids 项目唯一标识列表
+     * @return infoid -> 仅包含章节正文的解析详情
+     */
+    Map<String, TenderProjectDetailParsed> loadSections(Collection<String> infoids);
+
+    /**
+     * 把主表中仍内联存放的章节正文迁移到冷存储，并清空主表对应列
+     *
+     * @param limit 单批数量
+     * @return 本批迁移的记录数
+     */
+    int migrateInlineSections(int limit);
+}
@@ -0,0 +1,60 @@
+package org.dromara.toubiao.source.Impl;
+
+import lombok.RequiredArgsConstructor;
+import org.dromara.toubiao.auth.HebeiTokenCommonManager;
+import org.dromara.toubiao.client.HebeiHttpClientCommonFactory;
+import org.dromara.toubiao.domain.TenderProjectDetail;
+import org.dromara.toubiao.source.TenderSourceAdapter;
+import org.dromara.toubiao.utils.PaChong.GetMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 河北公共资源交易平台数据源适配器
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Component
+@RequiredArgsConstructor
+public class HebeiTenderSourceAdapter implements TenderSourceAdapter {
+
+    /**
+     * 数据源编码
+     */
+    public static final String SOURCE_CODE = "hebei";
+
+    private final GetMessage getMessage;
+
+    @Override
+    public String getSourceCode() {
+        return SOURCE_CODE;
+    }
+
+    @Override
+    public String getSourceName() {
+        return "河北公共资源交易平台";
+    }
+
+    @Override
+    public List<TenderProjectDetail> fetchProjectList() {
+        return getMessage.getTenderProjectList();
+    }
+
+    @Override
+    public String getAccessToken() {
+        return HebeiTokenCommonManager.getToken();
+    }
+
+    @Override
+    public void refreshToken() {
+        HebeiTokenCommonManager.forceRefresh();
+    }
+
+    @Override
+    public void clearToken() {
+        HebeiTokenCommonManager.clearTokens();
+        HebeiHttpClientCommonFactory.clearCookies();
+    }
+}
@@ -0,0 +1,54 @@
+package org.dromara.toubiao.source;
+
+import org.dromara.toubiao.domain.TenderProjectDetail;
+
+import java.util.List;
+
+/**
+ * 招标数据源适配器（SPI）
+ * 每个省级交易平台实现一个适配器并注册为 Spring Bean，
+ * 由 {@link TenderSourceRegistry} 统一发现，由 {@link TenderSourceScheduler} 并行调度。
+ * 适配器内部发起的 HTTP 请求应通过 {@link TenderSourceRegistry#getHttpClient(String)}
+ * 获取本数据源独立的连接池、Cookie 存储和限流配额。
+ *
+ * @author
+ * @date 2026-10-19
+ */
+public interface TenderSourceAdapter {
+
+    /**
+     * 数据源编码（唯一），如 hebei
+     */
+    String getSourceCode();
+
+    /**
+     * 数据源名称，如 河北公共资源交易平台
+     */
+    String getSourceName();
+
+    // ==================== 列表抓取 ====================
+
+    /**
+     * 抓取开标项目列表
+     *
+     * @return 项目列表，失败时返回空列表
+     */
+    List<TenderProjectDetail> fetchProjectList();
+
+    // ==================== 认证令牌 ====================
+
+    /**
+     * 获取当前可用的访问令牌，数据源不需要认证时返回 null
+     */
+    String getAccessToken();
+
+    /**
+     * 强制刷新访问令牌
+     */
+    void refreshToken();
+
+    /**
+     * 清除令牌及会话 Cookie
+     */
+    void clearToken();
+}
@@ -0,0 +1,149 @@
+package org.dromara.toubiao.source;
+
+import com.google.common.util.concurrent.RateLimiter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContextBuilder;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 数据源独立的 HTTP 客户端
+ * 每个数据源拥有自己的连接池、Cookie 存储和请求速率配额，互不影响
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Slf4j
+public class TenderSourceHttpClient implements Closeable {
+
+    /**
+     * 数据源编码
+     */
+    @Getter
+    private final String sourceCode;
+
+    /**
+     * 本数据源的 Cookie 存储
+     */
+    @Getter
+    private final CookieStore cookieStore = new BasicCookieStore();
+
+    /**
+     * 本数据源的 HttpClient
+     */
+    @Getter
+    private final CloseableHttpClient client;
+
+    /** 连接管理器 */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /** 请求速率配额 */
+    private final RateLimiter rateLimiter;
+
+    public TenderSourceHttpClient(String sourceCode, TenderSourceProperties.Quota quota) {
+        this.sourceCode = sourceCode;
+        this.connectionManager = createConnectionManager(quota);
+        this.rateLimiter = RateLimiter.create(quota.getPermitsPerSecond());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(quota.getConnectTimeout())
+            .setSocketTimeout(quota.getSocketTimeout())
+            .setConnectionRequestTimeout(10000)
+            .setCookieSpec(CookieSpecs.NETSCAPE)
+            .setRedirectsEnabled(true)
+            .setMaxRedirects(2)
+            .build();
+
+        this.client = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setDefaultCookieStore(cookieStore)
+            .setUserAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+            .build();
+    }
+
+    /**
+     * 创建连接管理器（信任所有证书）
+     */
+    private static PoolingHttpClientConnectionManager createConnectionManager(TenderSourceProperties.Quota quota) {
+        try {
+            SSLContext sslContext = SSLContextBuilder.create()
+                .loadTrustMaterial((chain, authType) -> true)
+                .build();
+
+            Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder
+                .<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE))
+                .build();
+
+            PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+            manager.setMaxTotal(quota.getMaxTotal());
+            manager.setDefaultMaxPerRoute(quota.getMaxPerRoute());
+            return manager;
+        } catch (Exception e) {
+            throw new IllegalStateException("HttpClient 初始化失败", e);
+        }
+    }
+
+    /**
+     * 在速率配额内执行请求，配额耗尽时阻塞等待
+     */
+    public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+        rateLimiter.acquire();
+        return client.execute(request);
+    }
+
+    /**
+     * 清空 Cookie
+     */
+    public void clearCookies() {
+        cookieStore.clear();
+        log.info("[{}] 已清空所有 Cookie", sourceCode);
+    }
+
+    /**
+     * 打印当前的 Cookie 信息
+     */
+    public void logCookies() {
+        cookieStore.getCookies().forEach(cookie ->
+            log.info("  [{}] {} = {} (Domain: {})",
+                sourceCode,
+                cookie.getName(),
+                cookie.getValue().substring(0, Math.min(30, cookie.getValue().length())),
+                cookie.getDomain())
+        );
+    }
+
+    /**
+     * 关闭 HttpClient 与连接池
+     */
+    @Override
+    public void close() {
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.error("[{}] 关闭 HttpClient 失败", sourceCode, e);
+        }
+        connectionManager.close();
+        log.info("[{}] HttpClient 已关闭", sourceCode);
+    }
+}
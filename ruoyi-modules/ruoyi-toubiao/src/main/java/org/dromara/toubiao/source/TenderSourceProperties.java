@@ -0,0 +1,98 @@
+package org.dromara.toubiao.source;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 多数据源抓取配置
+ * <pre>
+ * tender:
+ *   source:
+ *     worker-threads: 10
+ *     quotas:
+ *       hebei:
+ *         permits-per-second: 10
+ *         max-concurrent: 8
+ * </pre>
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "tender.source")
+public class TenderSourceProperties {
+
+    /**
+     * 所有数据源共享的工作线程数
+     */
+    private Integer workerThreads = 10;
+
+    /**
+     * 共享任务队列容量
+     */
+    private Integer queueCapacity = 1000;
+
+    /**
+     * 未单独配置的数据源使用的默认配额
+     */
+    private Quota defaults = new Quota();
+
+    /**
+     * 各数据源独立配额，key 为数据源编码
+     */
+    private Map<String, Quota> quotas = new HashMap<>();
+
+    /**
+     * 获取指定数据源的配额
+     */
+    public Quota getQuota(String sourceCode) {
+        return quotas.getOrDefault(sourceCode, defaults);
+    }
+
+    /**
+     * 单个数据源的连接池与限流配额
+     */
+    @Data
+    public static class Quota {
+
+        /**
+         * 是否启用
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 连接池最大连接数
+         */
+        private Integer maxTotal = 100;
+
+        /**
+         * 单路由最大连接数
+         */
+        private Integer maxPerRoute = 20;
+
+        /**
+         * 连接超时时间（毫秒）
+         */
+        private Integer connectTimeout = 30000;
+
+        /**
+         * 读取超时时间（毫秒）
+         */
+        private Integer socketTimeout = 60000;
+
+        /**
+         * 每秒允许发出的请求数
+         */
+        private Double permitsPerSecond = 10.0;
+
+        /**
+         * 在共享线程池中同时运行的最大任务数
+         */
+        private Integer maxConcurrent = 8;
+    }
+}
@@ -0,0 +1,89 @@
+package org.dromara.toubiao.source;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 招标数据源注册中心
+ * 收集所有 {@link TenderSourceAdapter} 实现，并为每个数据源维护独立的 {@link TenderSourceHttpClient}
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class TenderSourceRegistry {
+
+    private final TenderSourceProperties properties;
+
+    private final Map<String, TenderSourceAdapter> adapters = new LinkedHashMap<>();
+
+    private final Map<String, TenderSourceHttpClient> httpClients = new ConcurrentHashMap<>();
+
+    public TenderSourceRegistry(TenderSourceProperties properties, List<TenderSourceAdapter> adapterList) {
+        this.properties = properties;
+        for (TenderSourceAdapter adapter : adapterList) {
+            TenderSourceAdapter existing = adapters.putIfAbsent(adapter.getSourceCode(), adapter);
+            if (existing != null) {
+                throw new IllegalStateException("数据源编码重复: " + adapter.getSourceCode());
+            }
+        }
+        log.info("已注册招标数据源: {}", adapters.keySet());
+    }
+
+    /**
+     * 获取指定数据源适配器
+     */
+    public TenderSourceAdapter getAdapter(String sourceCode) {
+        TenderSourceAdapter adapter = adapters.get(sourceCode);
+        if (adapter == null) {
+            throw new IllegalArgumentException("未注册的数据源: " + sourceCode);
+        }
+        return adapter;
+    }
+
+    /**
+     * 获取所有已注册的数据源
+     */
+    public Collection<TenderSourceAdapter> getAdapters() {
+        return adapters.values();
+    }
+
+    /**
+     * 获取所有已启用的数据源
+     */
+    public List<TenderSourceAdapter> getEnabledAdapters() {
+        List<TenderSourceAdapter> enabled = new ArrayList<>();
+        for (TenderSourceAdapter adapter : adapters.values()) {
+            if (Boolean.TRUE.equals(properties.getQuota(adapter.getSourceCode()).getEnabled())) {
+                enabled.add(adapter);
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * 获取数据源独立的 HTTP 客户端，首次访问时按配额创建
+     */
+    public TenderSourceHttpClient getHttpClient(String sourceCode) {
+        return httpClients.computeIfAbsent(sourceCode,
+            code -> new TenderSourceHttpClient(code, properties.getQuota(code)));
+    }
+
+    /**
+     * 关闭所有数据源的 HTTP 客户端
+     */
+    @PreDestroy
+    public void destroy() {
+        httpClients.values().forEach(TenderSourceHttpClient::close);
+        httpClients.clear();
+    }
+}
@@ -0,0 +1,185 @@
+package org.dromara.toubiao.source;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 多数据源任务调度器
+ * 所有数据源共享一个工作线程池，每个数据源通过独立的通道限制同时运行的任务数，
+ * 超出配额的任务在通道内排队而不占用工作线程，避免单个数据源耗尽共享容量
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class TenderSourceScheduler {
+
+    private final TenderSourceRegistry registry;
+
+    private final TenderSourceProperties properties;
+
+    /** 共享工作线程池 */
+    private final ThreadPoolExecutor executor;
+
+    /** 各数据源的调度通道 */
+    private final Map<String, SourceLane> lanes = new ConcurrentHashMap<>();
+
+    public TenderSourceScheduler(TenderSourceRegistry registry, TenderSourceProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+        int threads = properties.getWorkerThreads();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+            new ThreadFactoryBuilder().setNameFormat("tender-source-%d").build(),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * 获取共享工作线程池
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * 在指定数据源的配额内提交任务
+     */
+    public <T> CompletableFuture<T> submit(String sourceCode, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        lane(sourceCode).offer(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 在指定数据源的配额内提交无返回值任务
+     */
+    public CompletableFuture<Void> run(String sourceCode, Runnable task) {
+        return submit(sourceCode, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 对所有已启用的数据源并行执行同一作业
+     *
+     * @param job 作业
+     * @return 数据源编码 -> 作业结果，失败的数据源结果为 null
+     */
+    public <T> Map<String, T> runAll(Function<TenderSourceAdapter, T> job) {
+        List<TenderSourceAdapter> adapters = registry.getEnabledAdapters();
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (TenderSourceAdapter adapter : adapters) {
+            futures.put(adapter.getSourceCode(), submit(adapter.getSourceCode(), () -> job.apply(adapter)));
+        }
+
+        Map<String, T> results = new LinkedHashMap<>();
+        futures.forEach((sourceCode, future) -> {
+            try {
+                results.put(sourceCode, future.join());
+            } catch (Exception e) {
+                log.error("数据源 {} 执行作业失败", sourceCode, e);
+                results.put(sourceCode, null);
+            }
+        });
+        return results;
+    }
+
+    private SourceLane lane(String sourceCode) {
+        return lanes.computeIfAbsent(sourceCode,
+            code -> new SourceLane(properties.getQuota(code).getMaxConcurrent()));
+    }
+
+    /**
+     * 关闭共享线程池
+     */
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 单个数据源的调度通道
+     */
+    private final class SourceLane {
+
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final int maxConcurrent;
+
+        private SourceLane(int maxConcurrent) {
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+        }
+
+        void offer(Runnable task) {
+            pending.offer(task);
+            drain();
+        }
+
+        /**
+         * 在配额允许的范围内把排队任务派发到共享线程池
+         */
+        void drain() {
+            while (!pending.isEmpty()) {
+                int current = running.get();
+                if (current >= maxConcurrent) {
+                    return;
+                }
+                if (!running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                Runnable task = pending.poll();
+                if (task == null) {
+                    running.decrementAndGet();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.dromara.toubiao.utils;
+
+import org.dromara.toubiao.domain.TenderProjectDetailParsed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 招标项目章节正文编解码
+ * 9 个 section_* 字段按固定顺序写成 [长度][UTF-8 字节] 序列后整体 Deflate 压缩为一个块，
+ * 首字节为格式版本，长度 -1 表示该章节为 null
+ *
+ * @author
+ * @date 2026-10-19
+ */
+public final class TenderSectionCodec {
+
+    /** 当前格式版本 */
+    private static final byte VERSION = 1;
+
+    private static final List<Function<TenderProjectDetailParsed, String>> GETTERS = List.of(
+        TenderProjectDetailParsed::getSectionProjectNeed,
+        TenderProjectDetailParsed::getSectionProjectOverview,
+        TenderProjectDetailParsed::getSectionBasicInfo,
+        TenderProjectDetailParsed::getSectionQualification,
+        TenderProjectDetailParsed::getSectionDocAcquisition,
+        TenderProjectDetailParsed::getSectionBiddingSchedule,
+        TenderProjectDetailParsed::getSectionAnnouncementPeriod,
+        TenderProjectDetailParsed::getSectionOtherMatters,
+        TenderProjectDetailParsed::getSectionContact
+    );
+
+    private static final List<BiConsumer<TenderProjectDetailParsed, String>> SETTERS = List.of(
+        TenderProjectDetailParsed::setSectionProjectNeed,
+        TenderProjectDetailParsed::setSectionProjectOverview,
+        TenderProjectDetailParsed::setSectionBasicInfo,
+        TenderProjectDetailParsed::setSectionQualification,
+        TenderProjectDetailParsed::setSectionDocAcquisition,
+        TenderProjectDetailParsed::setSectionBiddingSchedule,
+        TenderProjectDetailParsed::setSectionAnnouncementPeriod,
+        TenderProjectDetailParsed::setSectionOtherMatters,
+        TenderProjectDetailParsed::setSectionContact
+    );
+
+    private TenderSectionCodec() {
+    }
+
+    /**
+     * 是否包含任意非空章节
+     */
+    public static boolean hasSections(TenderProjectDetailParsed parsed) {
+        for (Function<TenderProjectDetailParsed, String> getter : GETTERS) {
+            if (getter.apply(parsed) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 章节正文总字符数
+     */
+    public static int rawLength(TenderProjectDetailParsed parsed) {
+        int length = 0;
+        for (Function<TenderProjectDetailParsed, String> getter : GETTERS) {
+            String section = getter.apply(parsed);
+            if (section != null) {
+                length += section.length();
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 清空对象上的章节正文，列表场景只保留摘要字段
+     */
+    public static void clearSections(TenderProjectDetailParsed parsed) {
+        for (BiConsumer<TenderProjectDetailParsed, String> setter : SETTERS) {
+            setter.accept(parsed, null);
+        }
+    }
+
+    /**
+     * 压缩章节正文
+     *
+     * @param parsed 解析详情
+     * @return 压缩块
+     */
+    public static byte[] encode(TenderProjectDetailParsed parsed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        bytes.write(VERSION);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (Function<TenderProjectDetailParsed, String> getter : GETTERS) {
+                String section = getter.apply(parsed);
+                if (section == null) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] utf8 = section.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("章节正文压缩失败", e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解压章节正文并回填到解析详情
+     *
+     * @param content 压缩块
+     * @param parsed  解析详情
+     */
+    public static void decode(byte[] content, TenderProjectDetailParsed parsed) {
+        if (content == null || content.length == 0) {
+            return;
+        }
+        if (content[0] != VERSION) {
+            throw new IllegalArgumentException("不支持的章节正文格式版本: " + content[0]);
+        }
+        ByteArrayInputStream bytes = new ByteArrayInputStream(content, 1, content.length - 1);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(bytes))) {
+            for (BiConsumer<TenderProjectDetailParsed, String> setter : SETTERS) {
+                int length = in.readInt();
+                if (length < 0) {
+                    setter.accept(parsed, null);
+                } else {
+                    byte[] utf8 = new byte[length];
+                    in.readFully(utf8);
+                    setter.accept(parsed, new String(utf8, StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("章节正文解压失败", e);
+        }
+    }
+}
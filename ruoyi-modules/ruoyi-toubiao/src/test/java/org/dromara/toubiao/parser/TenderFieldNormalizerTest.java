@@ -0,0 +1,164 @@
+package org.dromara.toubiao.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * 招标字段归一化测试
+ *
+ * @author
+ * @date 2026-10-19
+ */
+@DisplayName("招标字段归一化测试")
+public class TenderFieldNormalizerTest {
+
+    /** 固定种子，保证随机语料可复现 */
+    private static final long SEED = 20261019L;
+
+    private static final int ROUNDS = 2000;
+
+    @DisplayName("金额语料")
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "100万元|1000000.00",
+        "100万|1000000.00",
+        "100.5万|1005000.00",
+        "100w|1000000.00",
+        "预算金额：200万元|2000000.00",
+        "预算金额: 200 万元|2000000.00",
+        "100,000.00元|100000.00",
+        "¥1,234,567.5|1234567.50",
+        "1,23元|123.00",
+        "12,3456万元|1234560000.00",
+        "￥300|300.00",
+        "１２３万元|1230000.00",
+        "１２３．４５元|123.45",
+        "1.5亿元|150000000.00",
+        "预算金额（万元）：200|2000000.00",
+        "2025年项目预算100万元|1000000.00",
+        "300|300.00",
+        "人民币 88888.888 元|88888.89"
+    })
+    public void testAmountCorpus(String text, String expected) {
+        Assertions.assertEquals(new BigDecimal(expected), TenderFieldNormalizer.parseAmount(text));
+    }
+
+    @DisplayName("无法识别的金额")
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"详见招标文件", "元", "万元"})
+    public void testAmountInvalid(String text) {
+        Assertions.assertNull(TenderFieldNormalizer.parseAmount(text));
+    }
+
+    @DisplayName("日期语料")
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "2025-01-02 09:30:15|2025-01-02T09:30:15",
+        "2025-01-02 09:30|2025-01-02T09:30",
+        "2025-01-02|2025-01-02T00:00",
+        "2025/01/02 09:30:15|2025-01-02T09:30:15",
+        "2025/1/2|2025-01-02T00:00",
+        "2025年01月02日09时30分|2025-01-02T09:30",
+        "2025年1月2日|2025-01-02T00:00",
+        "2025-01-02T09:30:15|2025-01-02T09:30:15",
+        "2025-01-02T09:30:15.123|2025-01-02T09:30:15.123",
+        "2025-01-02 09:30(北京时间)|2025-01-02T09:30",
+        "  2025-01-02 09:30|2025-01-02T09:30",
+        "２０２５年１月２日|2025-01-02T00:00",
+        "2024-02-29|2024-02-29T00:00"
+    })
+    public void testDateCorpus(String text, String expected) {
+        Assertions.assertEquals(LocalDateTime.parse(expected), TenderFieldNormalizer.parseDateTime(text));
+    }
+
+    @DisplayName("无法识别的日期")
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"信息来源：河北", "阅读次数：12", "25-01-02", "2025-13-01", "2025-02-30", "2023-02-29", "2025-01-02 24:00"})
+    public void testDateInvalid(String text) {
+        Assertions.assertNull(TenderFieldNormalizer.parseDateTime(text));
+    }
+
+    @DisplayName("随机金额：任意格式化后解析结果不变")
+    @Test
+    public void testAmountProperty() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ROUNDS; i++) {
+            BigDecimal yuan = BigDecimal.valueOf(random.nextInt(Integer.MAX_VALUE), 2);
+            BigDecimal wan = BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(5));
+            BigDecimal expectedWan = wan.movePointRight(4).setScale(2, RoundingMode.HALF_UP);
+
+            Assertions.assertEquals(yuan, TenderFieldNormalizer.parseAmount(yuan.toPlainString() + "元"));
+            Assertions.assertEquals(yuan, TenderFieldNormalizer.parseAmount("¥" + grouped(yuan)));
+            Assertions.assertEquals(yuan, TenderFieldNormalizer.parseAmount(fullWidth(yuan.toPlainString()) + " 元"));
+            Assertions.assertEquals(expectedWan, TenderFieldNormalizer.parseAmount("预算金额：" + wan.toPlainString() + "万元"));
+            Assertions.assertEquals(expectedWan, TenderFieldNormalizer.parseAmount(fullWidth(wan.toPlainString()) + "万"));
+        }
+    }
+
+    @DisplayName("随机日期：任意布局格式化后解析结果不变")
+    @Test
+    public void testDateProperty() {
+        Random random = new Random(SEED);
+        String[] layouts = {
+            "yyyy-MM-dd HH:mm:ss", "yyyy/MM/dd HH:mm:ss", "yyyy年MM月dd日HH时mm分ss秒",
+            "yyyy-MM-dd'T'HH:mm:ss", "yyyy/M/d H:m:s", "yyyy年M月d日 HH:mm:ss"
+        };
+        LocalDateTime base = LocalDateTime.of(2000, 1, 1, 0, 0);
+        for (int i = 0; i < ROUNDS; i++) {
+            LocalDateTime expected = base.plusSeconds(random.nextInt(40 * 365 * 24 * 3600));
+            String layout = layouts[random.nextInt(layouts.length)];
+            String text = DateTimeFormatter.ofPattern(layout).format(expected);
+            Assertions.assertEquals(expected, TenderFieldNormalizer.parseDateTime(text), text);
+            Assertions.assertEquals(expected.toLocalDate().atStartOfDay(),
+                TenderFieldNormalizer.parseDateTime(expected.toLocalDate().toString()));
+        }
+    }
+
+    /**
+     * 整数部分加千分位分隔符
+     */
+    private static String grouped(BigDecimal amount) {
+        String plain = amount.toPlainString();
+        int point = plain.indexOf('.');
+        String integer = point < 0 ? plain : plain.substring(0, point);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < integer.length(); i++) {
+            if (i > 0 && (integer.length() - i) % 3 == 0) {
+                sb.append(',');
+            }
+            sb.append(integer.charAt(i));
+        }
+        return point < 0 ? sb.toString() : sb.append(plain.substring(point)).toString();
+    }
+
+    /**
+     * 半角数字与小数点转全角
+     */
+    private static String fullWidth(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append((char) ('０' + (c - '0')));
+            } else if (c == '.') {
+                sb.append('．');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -216,6 +216,35 @@ insert into sys_dept values(108, '000000', 102, '0,100,102',  '市场部门',
 insert into sys_dept values(109, '000000', 102, '0,100,102',  '财务部门',   null,2, null, '15888888888', 'xxx@qq.com', '0', '0', 103, 1, sysdate, null, null);
 
 
+-- ----------------------------
+-- 1.1、部门层级闭包表
+-- ----------------------------
+create table sys_dept_closure (
+  ancestor_id       number(20)      not null,
+  descendant_id     number(20)      not null,
+  depth             number(4)       not null
+);
+
+alter table sys_dept_closure add constraint pk_sys_dept_closure primary key (ancestor_id, descendant_id);
+create index idx_sys_dept_closure_d on sys_dept_closure (descendant_id);
+
+comment on table  sys_dept_closure               is '部门层级闭包表';
+comment on column sys_dept_closure.ancestor_id   is '祖先部门id';
+comment on column sys_dept_closure.descendant_id is '后代部门id';
+comment on column sys_dept_closure.depth         is '层级距离（0代表自身）';
+
+-- ----------------------------
+-- 初始化-部门层级闭包表数据
+-- ----------------------------
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id
+)
+select ancestor_id, descendant_id, depth from t;
+
+
 -- ----------------------------
 -- 2、用户信息表
 -- ----------------------------
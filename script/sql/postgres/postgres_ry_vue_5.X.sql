@@ -217,6 +217,36 @@ insert into sys_dept values(107, '000000', 101, '0,100,101',  '运维部门',
 insert into sys_dept values(108, '000000', 102, '0,100,102',  '市场部门',   null,1, null, '15888888888', 'xxx@qq.com', '0', '0', 103, 1, now(), null, null);
 insert into sys_dept values(109, '000000', 102, '0,100,102',  '财务部门',   null,2, null, '15888888888', 'xxx@qq.com', '0', '0', 103, 1, now(), null, null);
 
+
+-- ----------------------------
+-- 1.1、部门层级闭包表
+-- ----------------------------
+create table if not exists sys_dept_closure
+(
+    ancestor_id   int8 not null,
+    descendant_id int8 not null,
+    depth         int4 not null,
+    constraint "sys_dept_closure_pk" primary key (ancestor_id, descendant_id)
+);
+
+create index idx_sys_dept_closure_d on sys_dept_closure (descendant_id);
+
+comment on table sys_dept_closure                is '部门层级闭包表';
+comment on column sys_dept_closure.ancestor_id   is '祖先部门ID';
+comment on column sys_dept_closure.descendant_id is '后代部门ID';
+comment on column sys_dept_closure.depth         is '层级距离（0代表自身）';
+
+-- ----------------------------
+-- 初始化-部门层级闭包表数据
+-- ----------------------------
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with recursive t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id
+)
+select ancestor_id, descendant_id, depth from t;
+
 -- ----------------------------
 -- 2、用户信息表
 -- ----------------------------
@@ -133,6 +133,29 @@ insert into sys_dept values(108, '000000', 102, '0,100,102',  '市场部门',
 insert into sys_dept values(109, '000000', 102, '0,100,102',  '财务部门',   null,2, null, '15888888888', 'xxx@qq.com', '0', '0', 103, 1, sysdate(), null, null);
 
 
+-- ----------------------------
+-- 1.1、部门层级闭包表
+-- ----------------------------
+create table sys_dept_closure (
+    ancestor_id       bigint(20)      not null                   comment '祖先部门id',
+    descendant_id     bigint(20)      not null                   comment '后代部门id',
+    depth             int(4)          not null                   comment '层级距离（0代表自身）',
+    primary key (ancestor_id, descendant_id),
+    key idx_descendant (descendant_id)
+) engine=innodb comment = '部门层级闭包表';
+
+-- ----------------------------
+-- 初始化-部门层级闭包表数据
+-- ----------------------------
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with recursive t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id
+)
+select ancestor_id, descendant_id, depth from t;
+
+
 -- ----------------------------
 -- 2、用户信息表
 -- ----------------------------
@@ -1079,6 +1079,54 @@ GO
 INSERT sys_dept VALUES (109, N'000000', 102, N'0,100,102', N'财务部门', NULL, 2, NULL, N'15888888888', N'xxx@qq.com', N'0', N'0', 103, 1, getdate(), NULL, NULL)
 GO
 
+CREATE TABLE sys_dept_closure
+(
+    ancestor_id   bigint NOT NULL,
+    descendant_id bigint NOT NULL,
+    depth         int    NOT NULL,
+    CONSTRAINT PK__sys_dept_closure PRIMARY KEY CLUSTERED (ancestor_id, descendant_id)
+    WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+    ON [PRIMARY]
+)
+ON [PRIMARY]
+GO
+
+CREATE NONCLUSTERED INDEX idx_sys_dept_closure_d ON sys_dept_closure (descendant_id)
+GO
+
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'祖先部门id' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'ancestor_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'后代部门id' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'descendant_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'层级距离（0代表自身）' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'depth'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'部门层级闭包表' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure'
+GO
+
+WITH t (ancestor_id, descendant_id, depth) AS (
+    SELECT dept_id, dept_id, 0 FROM sys_dept
+    UNION ALL
+    SELECT t.ancestor_id, d.dept_id, t.depth + 1 FROM t JOIN sys_dept d ON d.parent_id = t.descendant_id
+)
+INSERT sys_dept_closure (ancestor_id, descendant_id, depth)
+SELECT ancestor_id, descendant_id, depth FROM t
+GO
+
 CREATE TABLE sys_dict_data
 (
     dict_code   bigint                      NOT NULL,
@@ -0,0 +1,23 @@
+-- 部门层级闭包表 替代 ancestors 字段上的 like 子树查询
+create table sys_dept_closure (
+  ancestor_id       number(20)      not null,
+  descendant_id     number(20)      not null,
+  depth             number(4)       not null
+);
+
+alter table sys_dept_closure add constraint pk_sys_dept_closure primary key (ancestor_id, descendant_id);
+create index idx_sys_dept_closure_d on sys_dept_closure (descendant_id);
+
+comment on table  sys_dept_closure               is '部门层级闭包表';
+comment on column sys_dept_closure.ancestor_id   is '祖先部门id';
+comment on column sys_dept_closure.descendant_id is '后代部门id';
+comment on column sys_dept_closure.depth         is '层级距离（0代表自身）';
+
+-- 根据现有 parent_id 初始化闭包关系
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id
+)
+select ancestor_id, descendant_id, depth from t;
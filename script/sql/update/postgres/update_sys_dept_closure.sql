@@ -0,0 +1,24 @@
+-- 部门层级闭包表 替代 ancestors 字段上的 like 子树查询
+create table if not exists sys_dept_closure
+(
+    ancestor_id   int8 not null,
+    descendant_id int8 not null,
+    depth         int4 not null,
+    constraint "sys_dept_closure_pk" primary key (ancestor_id, descendant_id)
+);
+
+create index idx_sys_dept_closure_d on sys_dept_closure (descendant_id);
+
+comment on table sys_dept_closure                is '部门层级闭包表';
+comment on column sys_dept_closure.ancestor_id   is '祖先部门ID';
+comment on column sys_dept_closure.descendant_id is '后代部门ID';
+comment on column sys_dept_closure.depth         is '层级距离（0代表自身）';
+
+-- 根据现有 parent_id 初始化闭包关系
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with recursive t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id
+)
+select ancestor_id, descendant_id, depth from t;
@@ -0,0 +1,49 @@
+-- 部门层级闭包表 替代 ancestors 字段上的 like 子树查询
+CREATE TABLE sys_dept_closure
+(
+    ancestor_id   bigint NOT NULL,
+    descendant_id bigint NOT NULL,
+    depth         int    NOT NULL,
+    CONSTRAINT PK__sys_dept_closure PRIMARY KEY CLUSTERED (ancestor_id, descendant_id)
+    WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+    ON [PRIMARY]
+)
+ON [PRIMARY]
+GO
+
+CREATE NONCLUSTERED INDEX idx_sys_dept_closure_d ON sys_dept_closure (descendant_id)
+GO
+
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'祖先部门id' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'ancestor_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'后代部门id' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'descendant_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'层级距离（0代表自身）' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'depth'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'部门层级闭包表' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure'
+GO
+
+-- 根据现有 parent_id 初始化闭包关系
+WITH t (ancestor_id, descendant_id, depth) AS (
+    SELECT dept_id, dept_id, 0 FROM sys_dept
+    UNION ALL
+    SELECT t.ancestor_id, d.dept_id, t.depth + 1 FROM t JOIN sys_dept d ON d.parent_id = t.descendant_id
+)
+INSERT sys_dept_closure (ancestor_id, descendant_id, depth)
+SELECT ancestor_id, descendant_id, depth FROM t
+GO
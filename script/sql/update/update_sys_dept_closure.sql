@@ -0,0 +1,17 @@
+-- 部门层级闭包表 替代 ancestors 字段上的 find_in_set 子树查询
+create table sys_dept_closure (
+    ancestor_id       bigint(20)      not null                   comment '祖先部门id',
+    descendant_id     bigint(20)      not null                   comment '后代部门id',
+    depth             int(4)          not null                   comment '层级距离（0代表自身）',
+    primary key (ancestor_id, descendant_id),
+    key idx_descendant (descendant_id)
+) engine=innodb comment = '部门层级闭包表';
+
+-- 根据现有 parent_id 初始化闭包关系（需要 MySQL 8.0 递归 CTE）
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with recursive t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id
+)
+select ancestor_id, descendant_id, depth from t;
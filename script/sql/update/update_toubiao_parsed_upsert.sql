@@ -0,0 +1,4 @@
+-- 解析结果批量写入使用 INSERT ... ON DUPLICATE KEY UPDATE，需要 infoid 唯一
+-- 执行前请先清理重复数据：
+-- select infoid, count(*) from tender_project_detail_parsed group by infoid having count(*) > 1;
+alter table tender_project_detail_parsed add unique key uk_infoid (infoid);
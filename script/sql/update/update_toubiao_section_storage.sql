@@ -0,0 +1,11 @@
+-- 招标项目章节正文冷存储
+-- section_* 章节正文压缩后存放于此表，tender_project_detail_parsed 只保留摘要字段
+-- 建表后调用 POST /api/tender-parsed/sections/migrate 分批迁移存量数据（迁移后主表对应列置空）
+create table tender_project_detail_section (
+    infoid          varchar(100) not null                   comment '项目唯一标识',
+    content         mediumblob   not null                   comment '章节正文压缩块',
+    raw_length      int(11)      not null default 0         comment '压缩前字符数',
+    created_time    datetime              default current_timestamp comment '创建时间',
+    updated_time    datetime              default current_timestamp on update current_timestamp comment '更新时间',
+    primary key (infoid)
+) engine=innodb comment ='招标项目章节正文冷存储表';